@@ -0,0 +1,150 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.gradle.eclipse.events.GradleBuildEventParser;
+import org.gradle.eclipse.launchConfigurations.StreamLineSplitter;
+import org.gradle.eclipse.ui.console.GradleConsoleLinkMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Hyperlink matching of console lines by {@link GradleConsoleLinkMatcher}, compared with the
+ * previous javac pattern match listener, which only linked "File to be compiled" lines.
+ * Scores are lines per millisecond.
+ *
+ * Synthetic output contains no links, so <code>linkPercent</code> of its lines are replaced by
+ * diagnostics, stack trace frames, failed tests and report URLs. A recorded log, see
+ * {@link RecordedGradleLog}, is matched as it is.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ConsoleLinkMatcherBenchmark {
+
+	private static final int LINES = 10000;
+
+	private static final String[] LINK_LINES = new String[] {
+		"[ant:javac] /home/user/project/src/main/java/org/example/Foo.java:42: warning: [unchecked] unchecked call to add(E)\n",
+		"[ant:javac] File to be compiled: /home/user/project/src/main/java/org/example/Foo.java\n",
+		"/home/user/project/src/main/groovy/org/example/Bar.groovy: 12: unable to resolve class Baz\n",
+		"\tat org.example.FooTest.testFoo(FooTest.java:17)\n",
+		"org.example.FooTest > testFoo FAILED\n",
+		"There were failing tests. See the report at file:///home/user/project/build/reports/tests/index.html\n"
+	};
+
+	/**
+	 * qualifier and regular expression of the javac pattern match listener before the link matcher
+	 */
+	private static final Pattern JAVAC_QUALIFIER = Pattern.compile("javac");
+	private static final Pattern JAVAC_PATTERN = Pattern.compile("\\[ant:javac*\\] File to be compiled:\\s.*(\\.java:.*:.*|.*\\.java)");
+
+	private static final Pattern LINE_QUALIFIER = Pattern.compile(GradleConsoleLinkMatcher.LINE_QUALIFIER);
+
+	@Param({ SyntheticDebugLog.LIFECYCLE, SyntheticDebugLog.DEBUG })
+	public String levelMix;
+
+	@Param({ "0", "5" })
+	public int linkPercent;
+
+	private String[] lines;
+
+	@Setup
+	public void createLines() throws IOException {
+		RecordedGradleLog recorded = RecordedGradleLog.fromSystemProperty(8192, 42);
+		String[] chunks = recorded != null ? recorded.getChunks() : new SyntheticDebugLog(120, 8192, levelMix, 42).getChunks();
+		final List<String> lineList = new ArrayList<String>();
+		StreamLineSplitter splitter = new StreamLineSplitter(new StreamLineSplitter.ILineHandler() {
+			public void handleLine(String line) {
+				lineList.add(line);
+			}
+		});
+		for (String chunk : chunks) {
+			splitter.append(chunk);
+			if (lineList.size() >= LINES) {
+				break;
+			}
+		}
+		splitter.flush();
+		lines = new String[LINES];
+		Random random = new Random(42);
+		for (int i = 0; i < LINES; i++) {
+			// short recorded logs are repeated
+			lines[i] = lineList.get(i % lineList.size());
+			if (recorded == null && random.nextInt(100) < linkPercent) {
+				lines[i] = LINK_LINES[random.nextInt(LINK_LINES.length)];
+			}
+		}
+	}
+
+	/**
+	 * all links of every line, as the paged console matches every received line
+	 * */
+	@Benchmark
+	@OperationsPerInvocation(LINES)
+	public void linkMatcher(Blackhole blackhole) {
+		for (String line : lines) {
+			blackhole.consume(GradleConsoleLinkMatcher.match(line));
+		}
+	}
+
+	/**
+	 * all links of the lines passing the qualifier, as the process console matches its document
+	 * */
+	@Benchmark
+	@OperationsPerInvocation(LINES)
+	public void qualifiedLinkMatcher(Blackhole blackhole) {
+		for (String line : lines) {
+			if (LINE_QUALIFIER.matcher(line).find()) {
+				blackhole.consume(GradleConsoleLinkMatcher.match(line));
+			}
+		}
+	}
+
+	/**
+	 * the javac pattern match listener before the link matcher, which parsed every matched line
+	 * */
+	@Benchmark
+	@OperationsPerInvocation(LINES)
+	public void javacMatcher(Blackhole blackhole) {
+		for (String line : lines) {
+			if (JAVAC_QUALIFIER.matcher(line).find() && JAVAC_PATTERN.matcher(line).find()) {
+				blackhole.consume(GradleBuildEventParser.parse(line, null));
+			}
+		}
+	}
+}
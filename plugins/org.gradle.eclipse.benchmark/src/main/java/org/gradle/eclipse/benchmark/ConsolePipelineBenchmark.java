@@ -0,0 +1,162 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.debug.core.IStreamListener;
+import org.eclipse.debug.core.model.IStreamMonitor;
+import org.gradle.eclipse.events.GradleBuildEventParser;
+import org.gradle.eclipse.launchConfigurations.GradleStreamsProxy;
+import org.gradle.eclipse.launchConfigurations.StreamLineSplitter;
+import org.gradle.eclipse.launchConfigurations.StreamNotificationDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replays gradle output through the complete console pipeline: line splitting, parsing 
+ * into build events, routing to the stream monitors, the bounded content stores and the 
+ * batched notification of console listeners. 
+ * 
+ * Throughput is reported in operations per microsecond, the sampled time of 
+ * {@link #writeLine()} is the latency of a single line on the thread reporting 
+ * the gradle output. Run with <code>-prof gc</code> (the default of the benchmark task) 
+ * for the allocation rate. The latency until listeners are notified is printed after 
+ * each trial.
+ * 
+ * The output is synthetic unless a recorded log is given, see {@link RecordedGradleLog}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ConsolePipelineBenchmark {
+
+	/**
+	 * the default content budget of the console streams
+	 */
+	private static final int CONTENT_BUDGET = 500000;
+
+	@Param({ "40", "120", "400" })
+	public int lineLength;
+
+	@Param({ SyntheticDebugLog.LIFECYCLE, SyntheticDebugLog.INFO, SyntheticDebugLog.DEBUG })
+	public String levelMix;
+
+	@Param({ "8192" })
+	public int chunkSize;
+
+	private String[] chunks;
+	private String[] lines;
+	private int nextChunk = 0;
+	private int nextLine = 0;
+
+	private GradleStreamsProxy proxy;
+	private final AtomicLong notifiedCharacters = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void createLog() throws IOException {
+		RecordedGradleLog recorded = RecordedGradleLog.fromSystemProperty(chunkSize, 42);
+		chunks = recorded != null ? recorded.getChunks() : new SyntheticDebugLog(lineLength, chunkSize, levelMix, 42).getChunks();
+		final List<String> lineList = new ArrayList<String>();
+		StreamLineSplitter splitter = new StreamLineSplitter(new StreamLineSplitter.ILineHandler() {
+			public void handleLine(String line) {
+				lineList.add(line);
+			}
+		});
+		for (String chunk : chunks) {
+			splitter.append(chunk);
+		}
+		splitter.flush();
+		lines = lineList.toArray(new String[lineList.size()]);
+	}
+
+	@Setup(Level.Trial)
+	public void createProxy() {
+		proxy = new GradleStreamsProxy(CONTENT_BUDGET);
+		IStreamListener listener = new IStreamListener() {
+			public void streamAppended(String text, IStreamMonitor monitor) {
+				notifiedCharacters.addAndGet(text.length());
+			}
+		};
+		proxy.getOutputStreamMonitor().addListener(listener);
+		proxy.getErrorStreamMonitor().addListener(listener);
+		proxy.getWarningStreamMonitor().addListener(listener);
+		proxy.getVerboseStreamMonitor().addListener(listener);
+		proxy.getDebugStreamMonitor().addListener(listener);
+	}
+
+	@TearDown(Level.Trial)
+	public void reportNotifications() {
+		proxy.flush();
+		StreamNotificationDispatcher dispatcher = proxy.getDispatcher();
+		System.out.println();
+		System.out.println(String.format("notifications: %d, notified characters: %d, average latency: %.2f ms, max latency: %.2f ms, max queue depth: %d",
+				dispatcher.getNotificationCount(), notifiedCharacters.get(), dispatcher.getAverageLatency(), dispatcher.getMaxLatency(), dispatcher.getMaxQueueDepth()));
+		proxy.dispose();
+	}
+
+	/**
+	 * one complete line through the proxy
+	 * */
+	@Benchmark
+	public void writeLine() {
+		proxy.write(lines[nextLine]);
+		if (++nextLine == lines.length) {
+			nextLine = 0;
+		}
+	}
+
+	/**
+	 * one output chunk with random line boundaries through the proxy
+	 * */
+	@Benchmark
+	public void writeChunk() {
+		proxy.write(chunks[nextChunk]);
+		if (++nextChunk == chunks.length) {
+			nextChunk = 0;
+		}
+	}
+
+	/**
+	 * parsing of one line into a build event, shared by routing, hyperlinks and markers
+	 * */
+	@Benchmark
+	public Object parseLine() {
+		String line = lines[nextLine];
+		if (++nextLine == lines.length) {
+			nextLine = 0;
+		}
+		return GradleBuildEventParser.parse(line, null);
+	}
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.eclipse.util.LocationPrefixIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Resolution of source file locations to the containing project location, compared with 
+ * testing every project location in turn like <code>IWorkspaceRoot.findFilesForLocationURI</code>.
+ * Scores are resolutions per millisecond.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LocationPrefixIndexBenchmark {
+
+	private static final int PATHS = 1000;
+
+	@Param({ "500" })
+	public int projects;
+
+	private String[] projectLocations;
+	private String[] paths;
+	private LocationPrefixIndex<String> index;
+
+	@Setup
+	public void createWorkspace() {
+		Random random = new Random(42);
+		projectLocations = new String[projects];
+		index = new LocationPrefixIndex<String>('/');
+		for (int i = 0; i < projects; i++) {
+			// every tenth project is nested in a product directory
+			String location = i % 10 == 0 ? "/home/dev/workspace/product" + (i / 10) + "/module" + i : "/home/dev/workspace/project" + i;
+			projectLocations[i] = location + "/";
+			index.put(location, location);
+		}
+		paths = new String[PATHS];
+		for (int i = 0; i < PATHS; i++) {
+			paths[i] = projectLocations[random.nextInt(projects)] + "src/main/java/org/example/pkg" + random.nextInt(50) + "/Type" + i + ".java";
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PATHS)
+	public void prefixIndex(Blackhole blackhole) {
+		for (String path : paths) {
+			blackhole.consume(index.find(path));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PATHS)
+	public void linearScan(Blackhole blackhole) {
+		for (String path : paths) {
+			String match = null;
+			for (String location : projectLocations) {
+				if (path.startsWith(location) && (match == null || location.length() > match.length())) {
+					match = location;
+				}
+			}
+			blackhole.consume(match);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.eclipse.launchConfigurations.GradleLogLevelClassifier;
+import org.gradle.eclipse.launchConfigurations.StreamLineSplitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Classification of debug level output lines, compared with the previous 
+ * <code>String.contains</code> chain. Scores are lines per millisecond.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LogLevelClassifierBenchmark {
+
+	private static final int LINES = 10000;
+
+	private String[] lines;
+
+	@Setup
+	public void createLines() {
+		final List<String> lineList = new ArrayList<String>();
+		StreamLineSplitter splitter = new StreamLineSplitter(new StreamLineSplitter.ILineHandler() {
+			public void handleLine(String line) {
+				lineList.add(line);
+			}
+		});
+		for (String chunk : new SyntheticDebugLog(120, 8192, 42).getChunks()) {
+			splitter.append(chunk);
+			if (lineList.size() >= LINES) {
+				break;
+			}
+		}
+		lines = lineList.subList(0, LINES).toArray(new String[LINES]);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINES)
+	public void singlePassClassifier(Blackhole blackhole) {
+		for (String line : lines) {
+			blackhole.consume(GradleLogLevelClassifier.classify(line));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINES)
+	public void containsChain(Blackhole blackhole) {
+		for (String line : lines) {
+			blackhole.consume(classifyByContains(line));
+		}
+	}
+
+	/**
+	 * the routing of the console before the single pass classifier
+	 * */
+	private static int classifyByContains(String line) {
+		if (line.contains(" [main] DEBUG ")) {
+			return 0;
+		} else if (line.contains("[main] WARN  ")) {
+			return 1;
+		} else if (line.contains("[main] INFO  ")) {
+			return 1;
+		} else if (line.contains("[main] ERROR ")) {
+			return 2;
+		} else if (line.contains("[main] ERROR ")) {
+			return 2;
+		}
+		return 3;
+	}
+}
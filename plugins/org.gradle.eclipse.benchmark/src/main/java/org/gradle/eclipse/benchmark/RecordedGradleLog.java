@@ -0,0 +1,95 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Random;
+
+/**
+ * The output of a real gradle build, e.g. saved from the console or taken from the 
+ * launch log files, delivered in chunks like {@link SyntheticDebugLog}.
+ * 
+ * Benchmarks replay the file given by the system property {@value #RECORDED_LOG_PROPERTY} 
+ * instead of synthetic output if it is set.
+ */
+public class RecordedGradleLog {
+
+	/**
+	 * system property naming a recorded log file, set it with <code>-PrecordedLog=/path/to/build.log</code>
+	 */
+	public static final String RECORDED_LOG_PROPERTY = "org.gradle.eclipse.benchmark.recordedLog";
+
+	private final String[] chunks;
+	private final int poolLength;
+
+	/**
+	 * @param log the recorded output, read as UTF-8
+	 * @param averageChunkSize average number of characters of an output chunk
+	 * @param seed seed of the random chunk boundaries
+	 * */
+	public RecordedGradleLog(File log, int averageChunkSize, long seed) throws IOException {
+		String pool = read(log);
+		if (pool.length() == 0) {
+			throw new IOException("Recorded log " + log + " is empty");
+		}
+		chunks = SyntheticDebugLog.split(pool, averageChunkSize, new Random(seed));
+		poolLength = pool.length();
+	}
+
+	/**
+	 * @return the recorded log named by {@value #RECORDED_LOG_PROPERTY}, <code>null</code> if the property is not set
+	 * */
+	public static RecordedGradleLog fromSystemProperty(int averageChunkSize, long seed) throws IOException {
+		String path = System.getProperty(RECORDED_LOG_PROPERTY);
+		if (path == null || path.length() == 0) {
+			return null;
+		}
+		return new RecordedGradleLog(new File(path), averageChunkSize, seed);
+	}
+
+	/**
+	 * @return the chunks of the log, replay them in order to get the recorded output
+	 * */
+	public String[] getChunks() {
+		return chunks;
+	}
+
+	/**
+	 * @return the number of characters of the log
+	 * */
+	public int getPoolLength() {
+		return poolLength;
+	}
+
+	private static String read(File log) throws IOException {
+		StringBuilder pool = new StringBuilder((int) Math.min(Integer.MAX_VALUE, log.length()));
+		Reader reader = new InputStreamReader(new FileInputStream(log), "UTF-8");
+		try {
+			char[] buffer = new char[8192];
+			int read;
+			while ((read = reader.read(buffer)) != -1) {
+				pool.append(buffer, 0, read);
+			}
+		} finally {
+			reader.close();
+		}
+		return pool.toString();
+	}
+}
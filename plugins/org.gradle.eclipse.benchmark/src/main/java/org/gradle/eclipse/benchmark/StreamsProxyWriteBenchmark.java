@@ -0,0 +1,119 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.debug.core.model.IFlushableStreamMonitor;
+import org.gradle.eclipse.launchConfigurations.GradleStreamsProxy;
+import org.gradle.eclipse.launchConfigurations.StreamLineSplitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Feeds a 500 MB synthetic <code>--debug</code> log through the line splitting of the 
+ * console. Every invocation processes the complete log.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StreamsProxyWriteBenchmark {
+
+	private static final long LOG_SIZE = 500L * 1024 * 1024;
+
+	@Param({ "8192" })
+	public int chunkSize;
+
+	private String[] chunks;
+	private long replays;
+
+	@Setup
+	public void createLog() {
+		SyntheticDebugLog log = new SyntheticDebugLog(120, chunkSize, 42);
+		chunks = log.getChunks();
+		replays = LOG_SIZE / log.getPoolLength();
+	}
+
+	/**
+	 * the streaming line splitter on its own
+	 * */
+	@Benchmark
+	public void streamLineSplitter(final Blackhole blackhole) {
+		StreamLineSplitter splitter = new StreamLineSplitter(new StreamLineSplitter.ILineHandler() {
+			public void handleLine(String line) {
+				blackhole.consume(line);
+			}
+		});
+		for (long replay = 0; replay < replays; replay++) {
+			for (String chunk : chunks) {
+				splitter.append(chunk);
+			}
+		}
+		splitter.flush();
+	}
+
+	/**
+	 * the previous implementation splitting every chunk with String.split
+	 * */
+	@Benchmark
+	public void stringSplit(Blackhole blackhole) {
+		for (long replay = 0; replay < replays; replay++) {
+			for (String chunk : chunks) {
+				for (String line : chunk.split("\n")) {
+					blackhole.consume(line);
+					blackhole.consume("\n");
+				}
+			}
+		}
+	}
+
+	/**
+	 * splitting and routing of the console streams proxy, without console listeners
+	 * */
+	@Benchmark
+	public void streamsProxyWrite() {
+		GradleStreamsProxy proxy = new GradleStreamsProxy();
+		unbuffer(proxy);
+		for (long replay = 0; replay < replays; replay++) {
+			for (String chunk : chunks) {
+				proxy.write(chunk);
+			}
+		}
+		proxy.flush();
+	}
+
+	private void unbuffer(GradleStreamsProxy proxy) {
+		// the benchmark must not keep 500 MB of console contents
+		((IFlushableStreamMonitor) proxy.getOutputStreamMonitor()).setBuffered(false);
+		((IFlushableStreamMonitor) proxy.getErrorStreamMonitor()).setBuffered(false);
+		((IFlushableStreamMonitor) proxy.getWarningStreamMonitor()).setBuffered(false);
+		((IFlushableStreamMonitor) proxy.getDebugStreamMonitor()).setBuffered(false);
+		((IFlushableStreamMonitor) proxy.getVerboseStreamMonitor()).setBuffered(false);
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic output of a gradle build run with <code>--debug</code>, <code>--info</code> or 
+ * without log level option, delivered in chunks as the gradle process reports its live output. Chunk boundaries are random and 
+ * do not match line boundaries.
+ * 
+ * A pool of chunks is generated once and replayed until the requested log size is reached, 
+ * so even logs of several hundred MB do not need to be kept in memory.
+ */
+public class SyntheticDebugLog {
+
+	private static final String[] LOGGERS = new String[] {
+		"org.gradle.api.internal.artifacts.ivyservice.IvyLoggingAdaper",
+		"org.gradle.api.internal.tasks.execution.ExecuteAtMostOnceTaskExecuter",
+		"org.gradle.api.internal.changedetection.DefaultTaskArtifactStateRepository",
+		"org.gradle.api.internal.file.copy.FileCopyActionImpl",
+		"org.gradle.launcher.ProtocolToModelAdapter",
+		"org.gradle.execution.TaskNameResolvingBuildExecuter"
+	};
+
+	/**
+	 * level mix of a <code>--debug</code> build
+	 */
+	public static final String DEBUG = "debug";
+	/**
+	 * level mix of an <code>--info</code> build
+	 */
+	public static final String INFO = "info";
+	/**
+	 * level mix of a build without log level option, lines have no log prefix
+	 */
+	public static final String LIFECYCLE = "lifecycle";
+
+	private static final String[] DEBUG_LEVELS = new String[] { "DEBUG", "DEBUG", "DEBUG", "DEBUG", "INFO ", "LIFECYCLE", "WARN ", "ERROR" };
+	private static final String[] INFO_LEVELS = new String[] { "INFO ", "INFO ", "INFO ", "LIFECYCLE", "LIFECYCLE", "QUIET", "WARN ", "ERROR" };
+	private static final String[] LIFECYCLE_LEVELS = new String[] { null, null, null, null, null, null, null, "WARN " };
+
+	private static final int POOL_SIZE = 4 * 1024 * 1024;
+
+	private final String[] chunks;
+	private final int poolLength;
+
+	/**
+	 * @param averageLineLength average number of characters of a log line
+	 * @param averageChunkSize average number of characters of an output chunk
+	 * @param seed seed of the random generator, logs of the same seed are identical
+	 * */
+	public SyntheticDebugLog(int averageLineLength, int averageChunkSize, long seed) {
+		this(averageLineLength, averageChunkSize, DEBUG, seed);
+	}
+
+	/**
+	 * @param averageLineLength average number of characters of a log line
+	 * @param averageChunkSize average number of characters of an output chunk
+	 * @param levelMix one of {@link #DEBUG}, {@link #INFO} or {@link #LIFECYCLE}
+	 * @param seed seed of the random generator, logs of the same seed are identical
+	 * */
+	public SyntheticDebugLog(int averageLineLength, int averageChunkSize, String levelMix, long seed) {
+		Random random = new Random(seed);
+		String pool = createLines(random, averageLineLength, getLevels(levelMix));
+		chunks = split(pool, averageChunkSize, random);
+		poolLength = pool.length();
+	}
+
+	/**
+	 * @return the given text in chunks of random length
+	 */
+	static String[] split(String pool, int averageChunkSize, Random random) {
+		List<String> chunkList = new ArrayList<String>();
+		int start = 0;
+		while (start < pool.length()) {
+			int end = Math.min(pool.length(), start + 1 + random.nextInt(2 * averageChunkSize));
+			chunkList.add(pool.substring(start, end));
+			start = end;
+		}
+		return chunkList.toArray(new String[chunkList.size()]);
+	}
+
+	/**
+	 * @return the chunks of the pool, replay them in order to get a consistent log
+	 * */
+	public String[] getChunks() {
+		return chunks;
+	}
+
+	/**
+	 * @return the number of characters of one replay of all chunks
+	 * */
+	public int getPoolLength() {
+		return poolLength;
+	}
+
+	private static String[] getLevels(String levelMix) {
+		if (DEBUG.equals(levelMix)) {
+			return DEBUG_LEVELS;
+		} else if (INFO.equals(levelMix)) {
+			return INFO_LEVELS;
+		} else if (LIFECYCLE.equals(levelMix)) {
+			return LIFECYCLE_LEVELS;
+		}
+		throw new IllegalArgumentException("Unknown level mix " + levelMix);
+	}
+
+	private String createLines(Random random, int averageLineLength, String[] levels) {
+		StringBuilder pool = new StringBuilder(POOL_SIZE + 2 * averageLineLength);
+		int lineNumber = 0;
+		while (pool.length() < POOL_SIZE) {
+			int lineStart = pool.length();
+			long millis = lineNumber++ * 7L;
+			String level = levels[random.nextInt(levels.length)];
+			if (level != null) {
+				pool.append(String.format("%02d:%02d:%02d.%03d", (millis / 3600000) % 24, (millis / 60000) % 60, (millis / 1000) % 60, millis % 1000));
+				pool.append(" [main] ").append(level).append(' ');
+				pool.append(LOGGERS[random.nextInt(LOGGERS.length)]).append(" - ");
+			}
+			int messageLength = Math.max(1, averageLineLength / 2 + random.nextInt(averageLineLength) - (pool.length() - lineStart));
+			for (int i = 0; i < messageLength; i++) {
+				pool.append((char) ('a' + random.nextInt(26)));
+			}
+			pool.append('\n');
+		}
+		return pool.toString();
+	}
+}
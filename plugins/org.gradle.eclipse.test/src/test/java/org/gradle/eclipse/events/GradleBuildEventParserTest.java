@@ -0,0 +1,103 @@
+package org.gradle.eclipse.events;
+
+import static org.junit.Assert.*;
+
+import org.gradle.eclipse.launchConfigurations.GradleLogLevel;
+import org.junit.Test;
+
+public class GradleBuildEventParserTest {
+
+	@Test public void testBracketPrefixWithCategory(){
+		GradleBuildEvent event = GradleBuildEventParser.parse("12:34:56.789 [DEBUG] [org.gradle.Logger] message\n", null);
+
+		assertEquals(GradleLogLevel.DEBUG, event.getLevel());
+		assertEquals(((12 * 60 + 34) * 60 + 56) * 1000 + 789, event.getTimeOfDay());
+		assertEquals("org.gradle.Logger", event.getCategory());
+		assertEquals("message", event.getMessage());
+	}
+
+	@Test public void testPaddedLevelInBrackets(){
+		GradleBuildEvent event = GradleBuildEventParser.parse("12:34:56.789 [INFO ] [org.gradle.Logger] message", null);
+
+		assertEquals(GradleLogLevel.INFO, event.getLevel());
+		assertEquals("org.gradle.Logger", event.getCategory());
+		assertEquals("message", event.getMessage());
+	}
+
+	@Test public void testThreadPrefixWithCategory(){
+		GradleBuildEvent event = GradleBuildEventParser.parse("12:34:56.789 [main] INFO  org.gradle.Logger - message\r\n", null);
+
+		assertEquals(GradleLogLevel.INFO, event.getLevel());
+		assertEquals("org.gradle.Logger", event.getCategory());
+		assertEquals("message", event.getMessage());
+	}
+
+	@Test public void testThreadNamedLikeALevel(){
+		GradleBuildEvent event = GradleBuildEventParser.parse("12:34:56.789 [WARN-pool] DEBUG org.gradle.Logger - message", null);
+
+		assertEquals(GradleLogLevel.DEBUG, event.getLevel());
+		assertEquals("org.gradle.Logger", event.getCategory());
+		assertEquals("message", event.getMessage());
+	}
+
+	@Test public void testPrefixWithoutMessage(){
+		GradleBuildEvent event = GradleBuildEventParser.parse("12:34:56.789 [main] DEBUG ", null);
+
+		assertEquals(GradleLogLevel.DEBUG, event.getLevel());
+		assertNull(event.getCategory());
+		assertEquals("", event.getMessage());
+	}
+
+	@Test public void testLinesWithoutPrefix(){
+		GradleBuildEvent event = GradleBuildEventParser.parse("plain output\n", ":compileJava");
+
+		assertEquals(GradleLogLevel.NONE, event.getLevel());
+		assertEquals(-1, event.getTimeOfDay());
+		assertEquals("plain output", event.getMessage());
+		assertEquals(":compileJava", event.getTask());
+		assertFalse(event.isDiagnostic());
+	}
+
+	@Test public void testTaskHeaderStartsTask(){
+		GradleBuildEvent event = GradleBuildEventParser.parse(":sub:compileJava UP-TO-DATE\n", ":other");
+
+		assertTrue(event.isTaskHeader());
+		assertEquals(":sub:compileJava", event.getTask());
+		assertFalse(GradleBuildEventParser.parse(":compileJava is not a header\n", null).isTaskHeader());
+		assertNull(GradleBuildEventParser.parse("BUILD SUCCESSFUL\n", ":build").getTask());
+	}
+
+	@Test public void testJavacDiagnostic(){
+		GradleBuildEvent event = GradleBuildEventParser.parse("  [ant:javac] /src/Foo.java:12: warning: unchecked call\n", null);
+
+		assertTrue(event.isDiagnostic());
+		assertEquals("/src/Foo.java", event.getFile());
+		assertEquals(12, event.getLineNumber());
+		assertEquals(GradleLogLevel.WARN, event.getDiagnosticLevel());
+		assertEquals("unchecked call", event.getDiagnosticMessage());
+	}
+
+	@Test public void testDiagnosticBehindLogPrefix(){
+		GradleBuildEvent event = GradleBuildEventParser.parse("12:34:56.789 [ERROR] [system.err] src/Foo.groovy:3: error: unexpected token", null);
+
+		assertEquals("src/Foo.groovy", event.getFile());
+		assertEquals(3, event.getLineNumber());
+		assertEquals(GradleLogLevel.ERROR, event.getDiagnosticLevel());
+		assertEquals("unexpected token", event.getDiagnosticMessage());
+	}
+
+	@Test public void testLineNumberTooLongIsNoDiagnostic(){
+		GradleBuildEvent event = GradleBuildEventParser.parse("src/Foo.java:99999999999: error: x\n", null);
+
+		assertFalse(event.isDiagnostic());
+		assertEquals(-1, event.getLineNumber());
+		assertEquals(GradleLogLevel.NONE, event.getDiagnosticLevel());
+	}
+
+	@Test public void testToolPrefixBehindLocationIsPartOfMessage(){
+		GradleBuildEvent event = GradleBuildEventParser.parse("Foo.java:1: [ant:javac] message", null);
+
+		assertEquals("Foo.java", event.getFile());
+		assertEquals(1, event.getLineNumber());
+	}
+}
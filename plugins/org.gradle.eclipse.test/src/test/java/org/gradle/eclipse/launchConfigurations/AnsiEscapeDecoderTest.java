@@ -0,0 +1,47 @@
+package org.gradle.eclipse.launchConfigurations;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AnsiEscapeDecoderTest {
+
+	AnsiEscapeDecoder cut;
+
+	@Before public void setUp(){
+		cut = new AnsiEscapeDecoder();
+	}
+
+	@Test public void testPlainChunkIsReturnedUnchanged(){
+		String chunk = ":compileJava UP-TO-DATE\n";
+
+		assertSame(chunk, cut.decode(chunk));
+	}
+
+	@Test public void testColorSequencesAreRemoved(){
+		assertEquals("BUILD FAILED\n", cut.decode("\u001b[31;1mBUILD FAILED\u001b[0m\n"));
+	}
+
+	@Test public void testCursorSequencesAreRemoved(){
+		assertEquals("> Building :test\n", cut.decode("\u001b[2K\u001b[1A> Building :test\u001b[0K\n"));
+	}
+
+	@Test public void testSequenceSplitAcrossChunksIsRemoved(){
+		assertEquals("red", cut.decode("red\u001b"));
+		assertTrue(cut.isInSequence());
+		assertEquals("", cut.decode("[3"));
+		assertEquals(" text\n", cut.decode("1m text\n"));
+		assertFalse(cut.isInSequence());
+	}
+
+	@Test public void testOperatingSystemCommandsAreRemoved(){
+		assertEquals("ab", cut.decode("a\u001b]0;window title\u0007b"));
+		assertEquals("cd", cut.decode("c\u001b]2;title\u001b\\d"));
+		assertEquals("ef", cut.decode("e\u001b(Bf"));
+	}
+
+	@Test public void testLineFeedEndsBrokenSequence(){
+		assertEquals("before\nafter\n", cut.decode("before\u001b]0;never terminated\nafter\n"));
+	}
+}
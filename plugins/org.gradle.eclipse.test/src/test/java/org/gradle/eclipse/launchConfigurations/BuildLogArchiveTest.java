@@ -0,0 +1,120 @@
+package org.gradle.eclipse.launchConfigurations;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import org.gradle.eclipse.events.GradleBuildEventParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BuildLogArchiveTest {
+
+	static final int LINES = 20000;
+
+	File dataFile;
+	BuildLogArchiveWriter writer;
+
+	@Before public void setUp() throws IOException{
+		dataFile = File.createTempFile("build", ".log.gz");
+		writer = new BuildLogArchiveWriter(dataFile);
+	}
+
+	@After public void tearDown(){
+		writer.close();
+		dataFile.delete();
+		BuildLogArchiveReader.getIndexFile(dataFile).delete();
+	}
+
+	private void write(String line){
+		writer.handleEvent(GradleBuildEventParser.parse(line, null));
+	}
+
+	private static String line(int number){
+		return "line " + number + "\n";
+	}
+
+	private String writeLines(int count){
+		StringBuilder text = new StringBuilder();
+		for(int i = 0; i < count; i++){
+			write(line(i));
+			text.append(line(i));
+		}
+		return text.toString();
+	}
+
+	@Test public void testWrittenLinesAreReadBack() throws IOException{
+		write("first\n");
+		write("12:00:00.000 [ERROR] [org.gradle.Foo] broken\n");
+		write("12:00:00.001 [WARN] [org.gradle.Foo] careful\n");
+		write("last");
+		writer.close();
+
+		BuildLogArchiveReader reader = new BuildLogArchiveReader(dataFile);
+		assertEquals(4, reader.getLineCount());
+		assertEquals("12:00:00.000 [ERROR] [org.gradle.Foo] broken\n12:00:00.001 [WARN] [org.gradle.Foo] careful\n", reader.readLines(1, 2));
+		assertEquals("last", reader.readLines(3, 5));
+		assertEquals(Arrays.asList(Long.valueOf(1)), reader.getErrorLines());
+		assertEquals(Arrays.asList(Long.valueOf(2)), reader.getWarningLines());
+		assertEquals(1, reader.getFirstErrorLine());
+	}
+
+	@Test public void testReadLinesAcrossBlocks() throws IOException{
+		String text = writeLines(LINES);
+		writer.close();
+
+		BuildLogArchiveReader reader = new BuildLogArchiveReader(dataFile);
+		assertEquals(LINES, reader.getLineCount());
+		assertEquals(text, reader.readLines(0, LINES));
+		int start = text.indexOf(line(6000));
+		assertEquals(text.substring(start, text.indexOf(line(9000))), reader.readLines(6000, 3000));
+		assertEquals(line(LINES - 2) + line(LINES - 1), reader.readLines(LINES - 2, 100));
+		assertEquals(-1, reader.getFirstErrorLine());
+	}
+
+	@Test public void testFindSearchesFromLine() throws IOException{
+		writeLines(LINES);
+		writer.close();
+
+		BuildLogArchiveReader reader = new BuildLogArchiveReader(dataFile);
+		assertEquals(12345, reader.find(line(12345), 0));
+		assertEquals(12345, reader.find(line(12345), 12345));
+		assertEquals(-1, reader.find(line(5), 6));
+		assertEquals(-1, reader.find("missing", 0));
+	}
+
+	@Test public void testArchiveBeingWrittenIsReadUpToLastBlock() throws IOException{
+		write("12:00:00.000 [ERROR] [org.gradle.Foo] early\n");
+		writeLines(LINES);
+
+		BuildLogArchiveReader reader = new BuildLogArchiveReader(dataFile);
+		long lineCount = reader.getLineCount();
+		// the lines of the pending block are not readable yet
+		assertTrue(lineCount > 1 && lineCount < LINES + 1);
+		// the error line comes first, so line n holds line(n - 1)
+		assertEquals(line((int) lineCount - 2), reader.readLines(lineCount - 1, 10));
+		assertEquals(Arrays.asList(Long.valueOf(0)), reader.getErrorLines());
+	}
+
+	@Test public void testUnfinishedIndexDropsProblemsOfMissingBlock() throws IOException{
+		writeLines(LINES);
+		write("12:00:00.000 [ERROR] [org.gradle.Foo] late\n");
+		writer.close();
+		// cut the record of the last block, as if the build was still running
+		RandomAccessFile index = new RandomAccessFile(BuildLogArchiveReader.getIndexFile(dataFile), "rw");
+		try {
+			index.setLength(index.length() - 3);
+		} finally {
+			index.close();
+		}
+
+		BuildLogArchiveReader reader = new BuildLogArchiveReader(dataFile);
+		assertTrue(reader.getLineCount() < LINES);
+		assertTrue(reader.getErrorLines().isEmpty());
+		assertEquals(line((int) reader.getLineCount() - 1), reader.readLines(reader.getLineCount() - 1, 10));
+	}
+}
@@ -0,0 +1,100 @@
+package org.gradle.eclipse.launchConfigurations;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.gradle.eclipse.events.GradleBuildEventParser;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BuildProblemIndexTest {
+
+	BuildProblemIndex cut;
+
+	@Before public void setUp(){
+		cut = new BuildProblemIndex();
+	}
+
+	@Test public void testClassifiesLevelsDiagnosticsAndFailures(){
+		assertEquals(BuildProblemIndex.Kind.ERROR, classify("12:00:00.000 [ERROR] [org.gradle.BuildExceptionReporter] Something broke\n"));
+		assertEquals(BuildProblemIndex.Kind.WARNING, classify("12:00:00.000 [WARN] [org.gradle.Foo] Careful\n"));
+		assertEquals(BuildProblemIndex.Kind.ERROR, classify("/work/src/Foo.java:12: error: cannot find symbol\n"));
+		assertEquals(BuildProblemIndex.Kind.WARNING, classify("/work/src/Foo.java:3: warning: [deprecation] Bar is deprecated\n"));
+		assertEquals(BuildProblemIndex.Kind.FAILURE, classify(":core:compileJava FAILED\n"));
+		assertEquals(BuildProblemIndex.Kind.FAILURE, classify("com.acme.FooTest > testBar FAILED\n"));
+		assertEquals(BuildProblemIndex.Kind.FAILURE, classify("FAILURE: Build failed with an exception.\n"));
+		assertEquals(BuildProblemIndex.Kind.FAILURE, classify("Execution failed for task ':core:test'.\n"));
+		assertNull(classify(":core:compileJava\n"));
+		assertNull(classify("12:00:00.000 [DEBUG] [org.gradle.Foo] Task FAILED\n"));
+	}
+
+	@Test public void testProblemsAreRecordedAtTheEndOfTheOutput(){
+		append("first line\n");
+		problem(BuildProblemIndex.Kind.ERROR, "broken\n");
+		append("ok\n");
+		problem(BuildProblemIndex.Kind.WARNING, "careful\n");
+
+		List<BuildProblemIndex.Problem> problems = cut.getProblems();
+		assertEquals(2, problems.size());
+		assertEquals(11, problems.get(0).getOffset());
+		assertEquals(7, problems.get(0).getLength());
+		assertEquals("broken", problems.get(0).getText());
+		assertEquals(21, problems.get(1).getOffset());
+	}
+
+	@Test public void testConsecutiveLinesOfOneKindFormOneProblem(){
+		problem(BuildProblemIndex.Kind.ERROR, "java.lang.IllegalStateException\n");
+		problem(BuildProblemIndex.Kind.ERROR, "\tat com.acme.Foo.bar(Foo.java:42)\n");
+		problem(BuildProblemIndex.Kind.FAILURE, "BUILD FAILED\n");
+
+		List<BuildProblemIndex.Problem> problems = cut.getProblems();
+		assertEquals(2, problems.size());
+		assertEquals("java.lang.IllegalStateException", problems.get(0).getText());
+		assertEquals(32 + 34, problems.get(0).getLength());
+		assertEquals(BuildProblemIndex.Kind.FAILURE, problems.get(1).getKind());
+	}
+
+	@Test public void testNavigatesFromCaretAndFromLastProblem(){
+		for(int i = 0; i < 100; i++){
+			append("line\n");
+			problem(BuildProblemIndex.Kind.WARNING, "w" + i + "\n");
+		}
+		BuildProblemIndex.Problem problem = cut.getNext(0);
+		assertEquals("w0", problem.getText());
+		for(int i = 1; i < 100; i++){
+			problem = cut.getNext(problem.getOffset());
+			assertEquals("w" + i, problem.getText());
+		}
+		assertNull(cut.getNext(problem.getOffset()));
+
+		assertEquals("w98", cut.getPrevious(problem.getOffset()).getText());
+		assertEquals("w50", cut.getNext(cut.getProblems().get(50).getOffset() - 2).getText());
+		assertEquals("w49", cut.getPrevious(cut.getProblems().get(50).getOffset() - 2).getText());
+		assertNull(cut.getPrevious(0));
+	}
+
+	@Test public void testLongLinesAreTruncated(){
+		StringBuilder line = new StringBuilder();
+		for(int i = 0; i < 1000; i++){
+			line.append('x');
+		}
+		problem(BuildProblemIndex.Kind.ERROR, line.append('\n').toString());
+
+		assertEquals(BuildProblemIndex.MAX_TEXT_LENGTH, cut.getProblems().get(0).getText().length());
+		assertEquals(1001, cut.getProblems().get(0).getLength());
+	}
+
+	private static BuildProblemIndex.Kind classify(String line){
+		return BuildProblemIndex.classify(GradleBuildEventParser.parse(line, null));
+	}
+
+	private void problem(BuildProblemIndex.Kind kind, String line){
+		cut.problemFound(kind, line, null, line.length());
+		append(line);
+	}
+
+	private void append(String text){
+		cut.streamAppended(text, null);
+	}
+}
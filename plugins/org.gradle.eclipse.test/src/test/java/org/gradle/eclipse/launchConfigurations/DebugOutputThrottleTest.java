@@ -0,0 +1,108 @@
+package org.gradle.eclipse.launchConfigurations;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.osgi.util.NLS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DebugOutputThrottleTest {
+
+	static final long MILLIS = 1000000L;
+
+	File sideFile;
+	DebugOutputThrottle cut;
+
+	@Before public void setUp() throws Exception{
+		sideFile = File.createTempFile("throttle", ".log");
+		sideFile.delete();
+		cut = new DebugOutputThrottle(10, sideFile);
+	}
+
+	@After public void tearDown(){
+		cut.close();
+		sideFile.delete();
+	}
+
+	@Test public void testLinesBelowRateArePassed(){
+		for(int i = 0; i < 10; i++){
+			assertEquals("line\n", cut.filter("line\n", i * 50 * MILLIS));
+		}
+		assertFalse(cut.isThrottling());
+		assertNull(cut.finish());
+		assertFalse(sideFile.exists());
+	}
+
+	@Test public void testLinesAboveRateGoToSideFile() throws Exception{
+		List<String> shown = new ArrayList<String>();
+		for(int i = 0; i < 20; i++){
+			String text = cut.filter("line " + i + "\n", i * MILLIS);
+			if(text != null){
+				shown.add(text);
+			}
+		}
+		assertTrue(cut.isThrottling());
+		assertEquals(11, shown.size());
+		assertEquals("line 9\n", shown.get(9));
+		assertEquals(NLS.bind(GradleLaunchConfigurationMessages.DebugOutputThrottle_Started, "10", sideFile.getPath()), shown.get(10));
+		assertEquals(10, cut.getThrottledLineCount());
+
+		assertEquals(NLS.bind(GradleLaunchConfigurationMessages.DebugOutputThrottle_Resumed, "10", sideFile.getPath()), cut.finish());
+		assertFalse(cut.isThrottling());
+		List<String> throttled = readSideFile();
+		assertEquals(10, throttled.size());
+		assertEquals("line 10", throttled.get(0));
+		assertEquals("line 19", throttled.get(9));
+	}
+
+	@Test public void testRateSummaryOncePerSecondWhileThrottling(){
+		int summaries = 0;
+		for(int i = 0; i < 100; i++){
+			String text = cut.filter("line\n", i * 50 * MILLIS);
+			if(i > 10 && text != null){
+				assertEquals(NLS.bind(GradleLaunchConfigurationMessages.DebugOutputThrottle_Rate, "20", sideFile.getPath()), text);
+				summaries++;
+			}
+		}
+		assertTrue(cut.isThrottling());
+		assertEquals(4, summaries);
+	}
+
+	@Test public void testOutputResumesWhenRateDrops(){
+		for(int i = 0; i < 20; i++){
+			cut.filter("fast\n", i * MILLIS);
+		}
+		assertTrue(cut.isThrottling());
+
+		assertNull(cut.filter("slow\n", 500 * MILLIS));
+		// the second containing the burst is still above the rate
+		assertEquals(NLS.bind(GradleLaunchConfigurationMessages.DebugOutputThrottle_Rate, "19", sideFile.getPath()), cut.filter("slow\n", 1100 * MILLIS));
+		assertTrue(cut.isThrottling());
+
+		String text = cut.filter("slow\n", 2500 * MILLIS);
+		assertFalse(cut.isThrottling());
+		assertEquals(NLS.bind(GradleLaunchConfigurationMessages.DebugOutputThrottle_Resumed, "12", sideFile.getPath()) + "slow\n", text);
+		assertEquals("slow\n", cut.filter("slow\n", 2600 * MILLIS));
+	}
+
+	private List<String> readSideFile() throws Exception{
+		List<String> lines = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(sideFile), "UTF-8"));
+		try {
+			for(String line = reader.readLine(); line != null; line = reader.readLine()){
+				lines.add(line);
+			}
+		} finally {
+			reader.close();
+		}
+		return lines;
+	}
+}
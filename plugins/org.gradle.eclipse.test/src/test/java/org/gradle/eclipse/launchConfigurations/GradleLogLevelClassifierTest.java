@@ -0,0 +1,57 @@
+package org.gradle.eclipse.launchConfigurations;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class GradleLogLevelClassifierTest {
+
+	@Test public void testLevelBehindThreadIsClassified(){
+		assertEquals(GradleLogLevel.DEBUG, GradleLogLevelClassifier.classify("12:00:00.000 [main] DEBUG org.gradle.Foo - message\n"));
+		assertEquals(GradleLogLevel.INFO, GradleLogLevelClassifier.classify("12:00:00.000 [Daemon worker] INFO org.gradle.Foo - message\n"));
+		assertEquals(GradleLogLevel.LIFECYCLE, GradleLogLevelClassifier.classify("12:00:00.000 [main] LIFECYCLE org.gradle.Foo - message\n"));
+	}
+
+	@Test public void testLevelInBracketsIsClassified(){
+		assertEquals(GradleLogLevel.ERROR, GradleLogLevelClassifier.classify("12:00:00.000 [ERROR] [org.gradle.Foo] message\n"));
+		assertEquals(GradleLogLevel.QUIET, GradleLogLevelClassifier.classify("12:00:00.000 [QUIET] [system.out] message\n"));
+		assertEquals(GradleLogLevel.TRACE, GradleLogLevelClassifier.classify("12:00:00.000 [TRACE] [org.gradle.Foo] message\n"));
+	}
+
+	@Test public void testPaddedLevelsAreClassified(){
+		assertEquals(GradleLogLevel.INFO, GradleLogLevelClassifier.classify("12:00:00.000 [main] INFO  org.gradle.Foo - message\n"));
+		assertEquals(GradleLogLevel.WARN, GradleLogLevelClassifier.classify("12:00:00.000 [WARN ] [org.gradle.Foo] message\n"));
+	}
+
+	@Test public void testThreadNamedLikeLevelIsSkipped(){
+		assertEquals(GradleLogLevel.DEBUG, GradleLogLevelClassifier.classify("12:00:00.000 [INFO-worker] DEBUG org.gradle.Foo - message\n"));
+		assertEquals(GradleLogLevel.WARN, GradleLogLevelClassifier.classify("12:00:00.000 [DEBUGGER] WARN org.gradle.Foo - message\n"));
+		assertEquals(GradleLogLevel.QUIET, GradleLogLevelClassifier.classify("12:00:00.000 [Test worker] QUIET org.gradle.Foo - message\n"));
+	}
+
+	@Test public void testUnknownLevelIsNone(){
+		assertEquals(GradleLogLevel.NONE, GradleLogLevelClassifier.classify("12:00:00.000 [main] DEBUGGING org.gradle.Foo - message\n"));
+		assertEquals(GradleLogLevel.NONE, GradleLogLevelClassifier.classify("12:00:00.000 [main] FATAL org.gradle.Foo - message\n"));
+	}
+
+	@Test public void testLinesWithoutTimestampAreNone(){
+		assertEquals(GradleLogLevel.NONE, GradleLogLevelClassifier.classify(":compileJava\n"));
+		assertEquals(GradleLogLevel.NONE, GradleLogLevelClassifier.classify("[DEBUG] [org.gradle.Foo] message\n"));
+		assertEquals(GradleLogLevel.NONE, GradleLogLevelClassifier.classify("12:00:00,000 [main] DEBUG org.gradle.Foo - message\n"));
+		assertEquals(GradleLogLevel.NONE, GradleLogLevelClassifier.classify(""));
+	}
+
+	@Test public void testTruncatedPrefixesAreNone(){
+		assertEquals(GradleLogLevel.NONE, GradleLogLevelClassifier.classify("12:00:00.000 "));
+		assertEquals(GradleLogLevel.NONE, GradleLogLevelClassifier.classify("12:00:00.000 [main]"));
+		assertEquals(GradleLogLevel.NONE, GradleLogLevelClassifier.classify("12:00:00.000 [main] DEBUG"));
+		assertEquals(GradleLogLevel.NONE, GradleLogLevelClassifier.classify("12:00:00.000 [DEBUG"));
+		assertEquals(GradleLogLevel.NONE, GradleLogLevelClassifier.classify("12:00:00.000 [main DEBUG org.gradle.Foo - message\n"));
+	}
+
+	@Test public void testCharSequencesAreClassified(){
+		StringBuilder line = new StringBuilder("12:00:00.000 [main] ERROR org.gradle.Foo - message\n");
+
+		assertEquals(GradleLogLevel.ERROR, GradleLogLevelClassifier.classify(line));
+	}
+}
@@ -0,0 +1,66 @@
+package org.gradle.eclipse.launchConfigurations;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class RingBufferContentStoreTest {
+
+	RingBufferContentStore cut;
+
+	@Before public void setUp(){
+		cut = new RingBufferContentStore(10);
+	}
+
+	@Test public void testContentsWithinBudgetAreRetained(){
+		cut.append("abc\n");
+		cut.append("def\n");
+
+		assertEquals("abc\ndef\n", cut.getContents());
+		assertEquals(0, cut.getDroppedCharacterCount());
+	}
+
+	@Test public void testOldestCharactersAreDroppedWhenBudgetIsExceeded(){
+		cut.append("0123456");
+		cut.append("789ABC");
+
+		assertEquals("3456789ABC", cut.getContents());
+		assertEquals(3, cut.getDroppedCharacterCount());
+	}
+
+	@Test public void testTextLargerThanBudgetKeepsItsTail(){
+		cut.append("xy");
+		cut.append("0123456789ABCDEF");
+
+		assertEquals("6789ABCDEF", cut.getContents());
+		assertEquals(8, cut.getDroppedCharacterCount());
+	}
+
+	@Test public void testContentsStayInOrderAfterSeveralWrapArounds(){
+		StringBuilder appended = new StringBuilder();
+		for(int i = 0; i < 100; i++){
+			String line = i + "\n";
+			cut.append(line);
+			appended.append(line);
+		}
+		String expected = appended.substring(appended.length() - 10);
+
+		assertEquals(expected, cut.getContents());
+		assertEquals(appended.length() - 10, cut.getDroppedCharacterCount());
+	}
+
+	@Test public void testClearResetsContentsAndDroppedCount(){
+		cut.append("0123456789ABC");
+		cut.clear();
+		cut.append("a");
+
+		assertEquals("a", cut.getContents());
+		assertEquals(0, cut.getDroppedCharacterCount());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBudgetMustBePositive(){
+		new RingBufferContentStore(0);
+	}
+}
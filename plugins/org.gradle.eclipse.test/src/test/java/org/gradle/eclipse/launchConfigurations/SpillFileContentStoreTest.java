@@ -0,0 +1,70 @@
+package org.gradle.eclipse.launchConfigurations;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SpillFileContentStoreTest {
+
+	SpillFileContentStore cut;
+
+	@After public void tearDown(){
+		if(cut != null){
+			cut.dispose();
+		}
+	}
+
+	private SpillFileContentStore createStore(int replayBudget) throws IOException{
+		File file = File.createTempFile("spill", ".log");
+		file.deleteOnExit();
+		return new SpillFileContentStore(file, replayBudget);
+	}
+
+	@Test public void testReplayStartsAtFirstLineWithinBudget() throws IOException{
+		cut = createStore(10);
+		cut.append("first line\n");
+		cut.append("abc\n");
+		cut.append("def\n");
+
+		assertEquals("abc\ndef\n", cut.getContents());
+		assertEquals(11, cut.getDroppedCharacterCount());
+	}
+
+	@Test public void testReplayStaysWithinBudgetBehindTheLastIndexedLine() throws IOException{
+		cut = createStore(10);
+		for(int i = 0; i < SpillFileContentStore.INDEX_INTERVAL * 2 + 10; i++){
+			cut.append("line\n");
+		}
+
+		assertEquals("line\nline\n", cut.getContents());
+		assertEquals(cut.getCharacterCount() - 10, cut.getDroppedCharacterCount());
+	}
+
+	@Test public void testTrailingLineLongerThanBudgetIsCut() throws IOException{
+		cut = createStore(4);
+		cut.append("abc\n");
+		cut.append("d\u00e9f\u20acgh");
+
+		assertEquals("f\u20acgh", cut.getContents());
+		assertEquals(6, cut.getDroppedCharacterCount());
+	}
+
+	@Test public void testMissingBudgetUsesDefaultReplayBudget() throws IOException{
+		cut = createStore(0);
+		StringBuilder line = new StringBuilder();
+		for(int i = 0; i < 999; i++){
+			line.append('x');
+		}
+		line.append('\n');
+		for(int i = 0; i < SpillFileContentStore.DEFAULT_REPLAY_BUDGET / 1000 + 5; i++){
+			cut.append(line.toString());
+		}
+
+		assertEquals(SpillFileContentStore.DEFAULT_REPLAY_BUDGET, cut.getContents().length());
+		assertEquals(5000, cut.getDroppedCharacterCount());
+	}
+}
@@ -0,0 +1,83 @@
+package org.gradle.eclipse.launchConfigurations;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamLineSplitterTest {
+
+	List<String> lines;
+	StreamLineSplitter cut;
+
+	@Before public void setUp(){
+		lines = new ArrayList<String>();
+		cut = new StreamLineSplitter(new StreamLineSplitter.ILineHandler() {
+			public void handleLine(String line) {
+				lines.add(line);
+			}
+		});
+	}
+
+	@Test public void testCompleteLinesOfOneChunkArePassedWithLineFeed(){
+		cut.append("first\nsecond\n");
+
+		assertEquals(2, lines.size());
+		assertEquals("first\n", lines.get(0));
+		assertEquals("second\n", lines.get(1));
+		assertFalse(cut.hasPartialLine());
+	}
+
+	@Test public void testLineSplitAcrossChunksIsPassedAsWhole(){
+		cut.append("12:00:00.000 [main] DEB");
+		cut.append("UG org.gradle.Foo - ");
+		assertTrue(lines.isEmpty());
+
+		cut.append("message\nnext");
+
+		assertEquals(1, lines.size());
+		assertEquals("12:00:00.000 [main] DEBUG org.gradle.Foo - message\n", lines.get(0));
+		assertTrue(cut.hasPartialLine());
+	}
+
+	@Test public void testEmptyLinesArePreserved(){
+		cut.append("a\n\n");
+		cut.append("\n");
+
+		assertEquals(3, lines.size());
+		assertEquals("\n", lines.get(1));
+		assertEquals("\n", lines.get(2));
+	}
+
+	@Test public void testFlushPassesPendingPartialLine(){
+		cut.append("BUILD SUCCESSFUL");
+		cut.flush();
+
+		assertEquals(1, lines.size());
+		assertEquals("BUILD SUCCESSFUL", lines.get(0));
+		assertFalse(cut.hasPartialLine());
+	}
+
+	@Test public void testFlushWithoutPartialLineDoesNothing(){
+		cut.append("line\n");
+		cut.flush();
+
+		assertEquals(1, lines.size());
+	}
+
+	@Test public void testLongLineAcrossManyChunks(){
+		StringBuilder expected = new StringBuilder();
+		for(int i = 0; i < 10000; i++){
+			cut.append("0123456789");
+			expected.append("0123456789");
+		}
+		cut.append("\nshort\n");
+
+		assertEquals(2, lines.size());
+		assertEquals(expected.append('\n').toString(), lines.get(0));
+		assertEquals("short\n", lines.get(1));
+	}
+}
@@ -0,0 +1,275 @@
+package org.gradle.eclipse.launchConfigurations;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.debug.core.IStreamListener;
+import org.eclipse.debug.core.model.IStreamMonitor;
+import org.eclipse.osgi.util.NLS;
+import org.gradle.eclipse.launchConfigurations.StreamNotificationDispatcher.OverflowPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamNotificationDispatcherTest {
+
+	List<String> notifications;
+	List<Thread> threads;
+	GradleStreamMonitor out;
+	GradleStreamMonitor err;
+	CountDownLatch release;
+	StreamNotificationDispatcher cut;
+
+	@Before public void setUp(){
+		notifications = new ArrayList<String>();
+		threads = new ArrayList<Thread>();
+		release = new CountDownLatch(1);
+		cut = new StreamNotificationDispatcher(0);
+		out = createMonitor("out");
+		err = createMonitor("err");
+	}
+
+	@After public void tearDown(){
+		release.countDown();
+	}
+
+	GradleStreamMonitor createMonitor(final String name){
+		GradleStreamMonitor monitor = new GradleStreamMonitor();
+		monitor.setDispatcher(cut);
+		monitor.addListener(new IStreamListener() {
+			public void streamAppended(String text, IStreamMonitor monitor) {
+				synchronized (notifications) {
+					notifications.add(name + ":" + text);
+					threads.add(Thread.currentThread());
+					notifications.notifyAll();
+				}
+			}
+		});
+		return monitor;
+	}
+
+	void awaitNotifications(int count) throws InterruptedException{
+		long deadline = System.currentTimeMillis() + 5000;
+		synchronized (notifications) {
+			while (notifications.size() < count && System.currentTimeMillis() < deadline) {
+				notifications.wait(100);
+			}
+		}
+	}
+
+	@Test public void testConsecutiveTextOfOneMonitorIsOneNotification(){
+		out.append("first\n");
+		out.append("second\n");
+		cut.flush();
+
+		assertEquals(1, notifications.size());
+		assertEquals("out:first\nsecond\n", notifications.get(0));
+		assertEquals("first\nsecond\n", out.getContents());
+	}
+
+	@Test public void testOrderAcrossMonitorsIsPreserved(){
+		out.append("a\n");
+		err.append("b\n");
+		out.append("c\n");
+		cut.flush();
+
+		assertEquals(3, notifications.size());
+		assertEquals("out:a\n", notifications.get(0));
+		assertEquals("err:b\n", notifications.get(1));
+		assertEquals("out:c\n", notifications.get(2));
+	}
+
+	@Test public void testActionRunsBetweenTextQueuedBeforeAndAfterIt(){
+		out.append("before\n");
+		cut.enqueueAction(new Runnable() {
+			public void run() {
+				notifications.add("action");
+			}
+		});
+		out.append("after\n");
+		cut.flush();
+
+		assertEquals(3, notifications.size());
+		assertEquals("out:before\n", notifications.get(0));
+		assertEquals("action", notifications.get(1));
+		assertEquals("out:after\n", notifications.get(2));
+	}
+
+	@Test public void testActionOfEmptyQueueRuns(){
+		final boolean[] ran = new boolean[1];
+		cut.enqueueAction(new Runnable() {
+			public void run() {
+				ran[0] = true;
+			}
+		});
+		cut.flush();
+
+		assertTrue(ran[0]);
+		assertEquals(0, cut.getQueueDepth());
+	}
+
+	@Test public void testPendingTextIsDispatchedOnDispatcherThread() throws Exception{
+		out.append("line\n");
+
+		awaitNotifications(1);
+
+		synchronized (notifications) {
+			assertEquals(1, notifications.size());
+			assertEquals("out:line\n", notifications.get(0));
+			assertNotSame(Thread.currentThread(), threads.get(0));
+		}
+	}
+
+	@Test public void testFlushThresholdIsDispatchedWithoutDelay() throws Exception{
+		out.append(text(StreamNotificationDispatcher.FLUSH_THRESHOLD));
+
+		awaitNotifications(1);
+		// waits for the dispatcher thread to complete its flush
+		cut.flush();
+
+		assertEquals(1, notifications.size());
+		assertEquals(0, cut.getQueueDepth());
+		assertEquals(1, cut.getNotificationCount());
+	}
+
+	@Test public void testQueueDepthCountsPendingCharacters(){
+		out.append("12345");
+		err.append("678");
+
+		assertEquals(8, cut.getQueueDepth());
+		cut.flush();
+		assertEquals(0, cut.getQueueDepth());
+		assertEquals(8, cut.getMaxQueueDepth());
+	}
+
+	/**
+	 * Lets the dispatcher thread wait in a listener until {@link #release} is counted down, 
+	 * so the queue fills up.
+	 */
+	void blockDispatcherThread() throws InterruptedException{
+		final CountDownLatch entered = new CountDownLatch(1);
+		GradleStreamMonitor blocker = new GradleStreamMonitor();
+		blocker.setDispatcher(cut);
+		blocker.addListener(new IStreamListener() {
+			public void streamAppended(String text, IStreamMonitor monitor) {
+				entered.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		blocker.append("blocker\n");
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test public void testCapacityIsAtLeastFlushThreshold(){
+		assertEquals(StreamNotificationDispatcher.FLUSH_THRESHOLD, cut.getCapacity());
+		assertEquals(StreamNotificationDispatcher.DEFAULT_CAPACITY, new StreamNotificationDispatcher().getCapacity());
+	}
+
+	@Test public void testAwaitCapacityBlocksUntilFullQueueIsFlushed() throws Exception{
+		blockDispatcherThread();
+		out.append(text(cut.getCapacity()));
+		Thread writer = new Thread() {
+			public void run() {
+				cut.awaitCapacity();
+				out.append("after\n");
+			}
+		};
+		writer.start();
+
+		writer.join(200);
+		assertTrue(writer.isAlive());
+		assertEquals(cut.getCapacity(), cut.getQueueDepth());
+
+		release.countDown();
+		writer.join(5000);
+		assertFalse(writer.isAlive());
+		cut.flush();
+		assertEquals(0, cut.getDroppedLineCount());
+		synchronized (notifications) {
+			assertEquals("out:after\n", notifications.get(notifications.size() - 1));
+		}
+	}
+
+	@Test public void testAwaitCapacityReturnsOnInterrupt() throws Exception{
+		blockDispatcherThread();
+		out.append(text(cut.getCapacity()));
+		final boolean[] interrupted = new boolean[1];
+		Thread writer = new Thread() {
+			public void run() {
+				cut.awaitCapacity();
+				interrupted[0] = Thread.currentThread().isInterrupted();
+			}
+		};
+		writer.start();
+		writer.join(100);
+		assertTrue(writer.isAlive());
+
+		writer.interrupt();
+		writer.join(5000);
+
+		assertFalse(writer.isAlive());
+		assertTrue(interrupted[0]);
+	}
+
+	@Test public void testAwaitCapacityOfQueueBelowCapacityReturns(){
+		out.append(text(cut.getCapacity() - 1));
+
+		cut.awaitCapacity();
+
+		assertTrue(cut.getQueueDepth() <= cut.getCapacity() - 1);
+	}
+
+	@Test public void testDropDebugDropsDebugLinesOfFullQueue() throws Exception{
+		GradleStreamMonitor debug = createMonitor("debug");
+		cut.setOverflowPolicy(OverflowPolicy.DROP_DEBUG);
+		cut.setDroppableMonitor(debug);
+		blockDispatcherThread();
+		out.append(text(cut.getCapacity()));
+
+		debug.append("first\n");
+		debug.append("second\n");
+		// never waits with this policy
+		cut.awaitCapacity();
+		debug.append("third\n");
+		out.append("lifecycle\n");
+
+		assertEquals(3, cut.getDroppedLineCount());
+		assertEquals(cut.getCapacity() + "lifecycle\n".length(), cut.getQueueDepth());
+
+		release.countDown();
+		cut.flush();
+		synchronized (notifications) {
+			assertEquals(3, notifications.size());
+			assertEquals("debug:" + NLS.bind(GradleLaunchConfigurationMessages.StreamNotificationDispatcher_Dropped_lines, "3"), notifications.get(1));
+			assertEquals("out:lifecycle\n", notifications.get(2));
+		}
+	}
+
+	@Test public void testDropDebugQueuesDebugLinesBelowCapacity(){
+		GradleStreamMonitor debug = createMonitor("debug");
+		cut.setOverflowPolicy(OverflowPolicy.DROP_DEBUG);
+		cut.setDroppableMonitor(debug);
+
+		debug.append("first\n");
+		cut.flush();
+
+		assertEquals(0, cut.getDroppedLineCount());
+		assertEquals("debug:first\n", notifications.get(0));
+	}
+
+	static String text(int length){
+		StringBuilder text = new StringBuilder(length);
+		for (int i = 0; i < length - 1; i++) {
+			text.append('x');
+		}
+		return text.append('\n').toString();
+	}
+}
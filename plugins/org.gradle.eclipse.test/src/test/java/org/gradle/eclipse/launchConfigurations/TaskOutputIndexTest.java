@@ -0,0 +1,61 @@
+package org.gradle.eclipse.launchConfigurations;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TaskOutputIndexTest {
+
+	TaskOutputIndex cut;
+
+	@Before public void setUp(){
+		cut = new TaskOutputIndex();
+	}
+
+	@Test public void testTaskRangeCoversOutputUntilNextTask(){
+		cut.streamAppended("init\n", null);
+		cut.taskStarted(":compileJava");
+		cut.streamAppended(":compileJava\n", null);
+		cut.streamAppended("warning\n", null);
+		cut.taskStarted(":test");
+		cut.streamAppended(":test\n", null);
+
+		List<TaskOutputIndex.Range> ranges = cut.getRanges();
+		assertEquals(2, ranges.size());
+		assertEquals(":compileJava", ranges.get(0).getTask());
+		assertEquals(5, ranges.get(0).getOffset());
+		assertEquals(21, ranges.get(0).getLength());
+		assertTrue(ranges.get(0).isFinished());
+		assertEquals(26, ranges.get(1).getOffset());
+		assertEquals(6, ranges.get(1).getLength());
+		assertFalse(ranges.get(1).isFinished());
+	}
+
+	@Test public void testOutputAfterFinishedTaskBelongsToNoTask(){
+		cut.taskStarted(":jar");
+		cut.streamAppended(":jar\n", null);
+		cut.taskFinished();
+		cut.streamAppended("BUILD SUCCESSFUL\n", null);
+
+		assertEquals(1, cut.getRanges().size());
+		assertTrue(cut.getRanges().get(0).isFinished());
+		assertEquals(":jar", cut.getRange(0).getTask());
+		assertNull(cut.getRange(5));
+		assertEquals(22, cut.getLength());
+	}
+
+	@Test public void testRangeLookupFindsTaskContainingOffset(){
+		for (int i = 0; i < 100; i++) {
+			cut.taskStarted(":task" + i);
+			cut.streamAppended("0123456789", null);
+		}
+
+		assertEquals(":task0", cut.getRange(0).getTask());
+		assertEquals(":task42", cut.getRange(425).getTask());
+		assertEquals(":task99", cut.getRange(999).getTask());
+		assertNull(cut.getRange(1000));
+	}
+}
@@ -0,0 +1,92 @@
+package org.gradle.eclipse.ui.console;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.ui.console.IHyperlink;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConsoleLinkStoreTest {
+
+	ConsoleLinkStore cut;
+
+	@Before public void setUp(){
+		cut = new ConsoleLinkStore();
+	}
+
+	private static IHyperlink link(){
+		return new IHyperlink() {
+			public void linkEntered() {
+			}
+
+			public void linkExited() {
+			}
+
+			public void linkActivated() {
+			}
+		};
+	}
+
+	@Test public void testFindsLinkContainingOffset(){
+		IHyperlink first = link();
+		IHyperlink second = link();
+		cut.add(first, 10, 5);
+		cut.add(second, 20, 3);
+
+		assertNull(cut.find(9));
+		assertSame(first, cut.find(10));
+		assertSame(first, cut.find(14));
+		assertNull(cut.find(15));
+		assertSame(second, cut.find(22));
+		assertNull(cut.find(23));
+	}
+
+	@Test public void testLinksSpanningPagesStaySorted(){
+		IHyperlink[] links = new IHyperlink[ConsoleLinkStore.PAGE_SIZE * 2 + 10];
+		for (int i = 0; i < links.length; i++) {
+			links[i] = link();
+			cut.add(links[i], i * 10, 4);
+		}
+
+		assertEquals(links.length, cut.size());
+		assertArrayEquals(links, cut.getLinks());
+		for (int i = 0; i < links.length; i += 97) {
+			assertSame(links[i], cut.find(i * 10 + 3));
+			assertNull(cut.find(i * 10 + 5));
+		}
+		IRegion region = cut.getRegion(links[ConsoleLinkStore.PAGE_SIZE]);
+		assertEquals(ConsoleLinkStore.PAGE_SIZE * 10, region.getOffset());
+		assertEquals(4, region.getLength());
+	}
+
+	@Test public void testLinkAddedOutOfOrderIsInserted(){
+		IHyperlink first = link();
+		IHyperlink second = link();
+		cut.add(second, 20, 3);
+		cut.add(first, 10, 5);
+
+		assertArrayEquals(new IHyperlink[] { first, second }, cut.getLinks());
+		assertSame(first, cut.find(12));
+	}
+
+	@Test public void testRangesOverlappingRegion(){
+		cut.add(link(), 0, 5);
+		cut.add(link(), 10, 5);
+		cut.add(link(), 20, 5);
+		cut.add(link(), 30, 5);
+
+		assertArrayEquals(new int[] { 10, 5, 20, 5 }, cut.getRanges(12, 10));
+		assertArrayEquals(new int[0], cut.getRanges(15, 5));
+	}
+
+	@Test public void testClearRemovesLinks(){
+		IHyperlink first = link();
+		cut.add(first, 0, 5);
+		cut.clear();
+
+		assertNull(cut.find(1));
+		assertNull(cut.getRegion(first));
+		assertEquals(0, cut.getLinks().length);
+	}
+}
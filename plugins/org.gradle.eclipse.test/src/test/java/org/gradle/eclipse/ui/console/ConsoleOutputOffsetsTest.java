@@ -0,0 +1,75 @@
+package org.gradle.eclipse.ui.console;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IRegion;
+import org.gradle.eclipse.launchConfigurations.GradleStreamMonitor;
+import org.gradle.eclipse.launchConfigurations.RingBufferContentStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConsoleOutputOffsetsTest {
+
+	Document document;
+	ConsoleOutputOffsets cut;
+
+	@Before public void setUp(){
+		document = new Document();
+		cut = new ConsoleOutputOffsets(document);
+	}
+
+	@After public void tearDown(){
+		cut.dispose();
+	}
+
+	@Test public void testOffsetsMatchWithoutShift(){
+		document.set("abc\ndef\n");
+
+		assertEquals(4, cut.toDocumentOffset(4));
+		assertEquals(4, cut.toOutputOffset(4));
+	}
+
+	@Test public void testTrimmedStartShiftsOffsets() throws BadLocationException{
+		document.set("abc\ndef\nghi\n");
+		document.replace(0, 4, "");
+
+		assertEquals(0, cut.toDocumentOffset(4));
+		assertEquals(8, cut.toOutputOffset(4));
+		IRegion region = cut.toDocumentRegion(0, 8);
+		assertEquals(0, region.getOffset());
+		assertEquals(4, region.getLength());
+	}
+
+	@Test public void testClearedDocumentShiftsFollowingOutput() throws BadLocationException{
+		document.set("abc\n");
+		document.set("");
+		document.replace(0, 0, "def\n");
+
+		assertEquals(0, cut.toDocumentOffset(4));
+		IRegion region = cut.toDocumentRegion(0, 4);
+		assertEquals(0, region.getLength());
+	}
+
+	@Test public void testDiscardedOutputShiftsOffsets(){
+		cut.discarded(3);
+		document.set("def\n");
+
+		assertEquals(1, cut.toDocumentOffset(4));
+	}
+
+	@Test public void testDroppedCharactersNoticeShiftsOffsets(){
+		GradleStreamMonitor monitor = new GradleStreamMonitor(new RingBufferContentStore(10));
+		monitor.append("0123456789ABCDE\n");
+		String contents = monitor.getContents();
+		cut.connected(monitor);
+		document.set(contents);
+
+		// the last retained character of the output is the last character of the document
+		assertEquals(document.getLength() - 1, cut.toDocumentOffset(15));
+		IRegion region = cut.toDocumentRegion(12, 4);
+		assertEquals("CDE\n", contents.substring(region.getOffset(), region.getOffset() + region.getLength()));
+	}
+}
@@ -0,0 +1,92 @@
+package org.gradle.eclipse.ui.console;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.gradle.eclipse.ui.console.GradleConsoleLinkMatcher.Kind;
+import org.gradle.eclipse.ui.console.GradleConsoleLinkMatcher.Link;
+import org.junit.Test;
+
+public class GradleConsoleLinkMatcherTest {
+
+	private static Link single(String line){
+		List<Link> links = GradleConsoleLinkMatcher.match(line);
+		assertEquals(1, links.size());
+		return links.get(0);
+	}
+
+	@Test public void testJavacDiagnosticLinksFileAndLine(){
+		String line = "  [ant:javac] /home/dev/src/Foo.java:12: cannot find symbol";
+		Link link = single(line);
+
+		assertEquals(Kind.FILE, link.getKind());
+		assertEquals("/home/dev/src/Foo.java", link.getTarget());
+		assertEquals(12, link.getLineNumber());
+		assertEquals("/home/dev/src/Foo.java:12", line.substring(link.getOffset(), link.getOffset() + link.getLength()));
+	}
+
+	@Test public void testGroovycErrorLinksFileAndLine(){
+		Link link = single("/home/dev/src/Build.groovy: 7: unexpected token: } @ line 7, column 1.");
+
+		assertEquals(Kind.FILE, link.getKind());
+		assertEquals("/home/dev/src/Build.groovy", link.getTarget());
+		assertEquals(7, link.getLineNumber());
+		assertEquals(0, link.getOffset());
+	}
+
+	@Test public void testStackFrameLinksTypeAndLine(){
+		String line = "\tat org.example.Outer$Inner.run(Outer.java:42)";
+		Link link = single(line);
+
+		assertEquals(Kind.JAVA_TYPE, link.getKind());
+		assertEquals("org.example.Outer", link.getTarget());
+		assertEquals(42, link.getLineNumber());
+		assertEquals("Outer.java:42", line.substring(link.getOffset(), link.getOffset() + link.getLength()));
+	}
+
+	@Test public void testFailedTestLinksTestClass(){
+		assertEquals("org.example.FooTest", single("Test org.example.FooTest FAILED").getTarget());
+		assertEquals("org.example.BarTest", single("org.example.BarTest > testSomething FAILED").getTarget());
+	}
+
+	@Test public void testReportLinks(){
+		Link url = single("See the report at: file:///home/dev/build/reports/tests/index.html.");
+		assertEquals(Kind.URL, url.getKind());
+		assertEquals("file:///home/dev/build/reports/tests/index.html", url.getTarget());
+
+		Link path = single("There were failing tests. See the report at /home/dev/build/reports/tests.");
+		assertEquals(Kind.REPORT, path.getKind());
+		assertEquals("/home/dev/build/reports/tests", path.getTarget());
+	}
+
+	@Test public void testWindowsReportPathIsNoUrl(){
+		String line = "See the report at C:/proj/build/reports/tests/index.html";
+		Link path = single(line);
+
+		assertEquals(Kind.REPORT, path.getKind());
+		assertEquals("C:/proj/build/reports/tests/index.html", path.getTarget());
+		assertEquals(line.indexOf("C:/"), path.getOffset());
+	}
+
+	@Test public void testLinksAreSortedAndDoNotOverlap(){
+		List<Link> links = GradleConsoleLinkMatcher.match("See http://ci.example.org/job and the report at file:///tmp/r");
+
+		assertEquals(2, links.size());
+		assertEquals("http://ci.example.org/job", links.get(0).getTarget());
+		assertEquals(Kind.URL, links.get(1).getKind());
+		assertEquals("file:///tmp/r", links.get(1).getTarget());
+	}
+
+	@Test public void testLineNumbersTooLongHaveNoLinks(){
+		assertTrue(GradleConsoleLinkMatcher.match("src/Foo.java:99999999999: error: x").isEmpty());
+		assertTrue(GradleConsoleLinkMatcher.match("/home/dev/src/Build.groovy: 99999999999: unexpected token").isEmpty());
+		assertTrue(GradleConsoleLinkMatcher.match("\tat org.example.Outer.run(Outer.java:99999999999)").isEmpty());
+	}
+
+	@Test public void testPlainLinesHaveNoLinks(){
+		assertTrue(GradleConsoleLinkMatcher.match(":compileJava UP-TO-DATE").isEmpty());
+		assertTrue(GradleConsoleLinkMatcher.match("12:00:00.000 [DEBUG] [org.gradle.Foo] resolved java classpath").isEmpty());
+		assertTrue(GradleConsoleLinkMatcher.match("BUILD SUCCESSFUL").isEmpty());
+	}
+}
@@ -0,0 +1,117 @@
+package org.gradle.eclipse.ui.console;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IRegion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PagedLineTrackerTest {
+
+	PagedTextStore store;
+	PagedLineTracker cut;
+
+	@Before public void setUp(){
+		store = new PagedTextStore(16, 2);
+		cut = new PagedLineTracker(store);
+	}
+
+	@After public void tearDown(){
+		store.dispose();
+	}
+
+	private void append(String text) throws BadLocationException {
+		int offset = store.getLength();
+		store.replace(offset, 0, text);
+		cut.replace(offset, 0, text);
+	}
+
+	@Test public void testLinesAcrossPages() throws BadLocationException {
+		append("first line\nsecond line is longer\r\n");
+		append("third\n\nlast");
+
+		assertEquals(5, cut.getNumberOfLines());
+		assertEquals(0, cut.getLineOffset(0));
+		assertEquals(11, cut.getLineOffset(1));
+		assertEquals(34, cut.getLineOffset(2));
+		assertEquals(40, cut.getLineOffset(3));
+		assertEquals(41, cut.getLineOffset(4));
+		assertEquals(23, cut.getLineLength(1));
+		assertEquals(4, cut.getLineLength(4));
+		assertEquals("\r\n", cut.getLineDelimiter(1));
+		assertEquals("\n", cut.getLineDelimiter(2));
+		assertNull(cut.getLineDelimiter(4));
+	}
+
+	@Test public void testLineOfOffset() throws BadLocationException {
+		append("first line\nsecond line is longer\r\nthird\n\nlast");
+
+		assertEquals(0, cut.getLineNumberOfOffset(0));
+		assertEquals(0, cut.getLineNumberOfOffset(10));
+		assertEquals(1, cut.getLineNumberOfOffset(11));
+		assertEquals(1, cut.getLineNumberOfOffset(33));
+		assertEquals(2, cut.getLineNumberOfOffset(34));
+		assertEquals(3, cut.getLineNumberOfOffset(40));
+		assertEquals(4, cut.getLineNumberOfOffset(45));
+		assertEquals(3, cut.getNumberOfLines(11, 29));
+	}
+
+	@Test public void testLineInformationExcludesDelimiter() throws BadLocationException {
+		append("a\r\nbc\n");
+
+		IRegion region = cut.getLineInformation(0);
+		assertEquals(0, region.getOffset());
+		assertEquals(1, region.getLength());
+		region = cut.getLineInformationOfOffset(4);
+		assertEquals(3, region.getOffset());
+		assertEquals(2, region.getLength());
+		region = cut.getLineInformation(2);
+		assertEquals(6, region.getOffset());
+		assertEquals(0, region.getLength());
+	}
+
+	@Test public void testManyLinesMatchTextLayout() throws BadLocationException {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 500; i++) {
+			String line = "line " + i + "\n";
+			text.append(line);
+			append(line);
+		}
+
+		assertEquals(501, cut.getNumberOfLines());
+		int offset = 0;
+		for (int line = 0; line < 500; line++) {
+			assertEquals(offset, cut.getLineOffset(line));
+			assertEquals(line, cut.getLineNumberOfOffset(offset));
+			offset = text.indexOf("\n", offset) + 1;
+		}
+		assertEquals(text.length(), cut.getLineOffset(500));
+	}
+
+	@Test public void testSetResetsLines() throws BadLocationException {
+		append("a\nb\nc\n");
+		store.set("x\ny");
+		cut.set("x\ny");
+
+		assertEquals(2, cut.getNumberOfLines());
+		assertEquals(2, cut.getLineOffset(1));
+	}
+
+	@Test public void testReplaceInsideTextRescansStore() throws BadLocationException {
+		append("first line\nsecond line is longer\r\nthird\n\nlast");
+		store.replace(5, 30, "\n");
+		cut.replace(5, 30, "\n");
+
+		assertEquals("first\nhird\n\nlast", store.get(0, store.getLength()));
+		assertEquals(4, cut.getNumberOfLines());
+		assertEquals(6, cut.getLineOffset(1));
+		assertEquals(12, cut.getLineOffset(3));
+	}
+
+	@Test(expected = BadLocationException.class) public void testLineBeyondEndFails() throws BadLocationException {
+		append("a\nb");
+		cut.getLineOffset(2);
+	}
+}
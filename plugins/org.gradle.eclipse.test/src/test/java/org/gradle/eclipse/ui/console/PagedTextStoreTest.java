@@ -0,0 +1,81 @@
+package org.gradle.eclipse.ui.console;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PagedTextStoreTest {
+
+	PagedTextStore cut;
+
+	@Before public void setUp(){
+		cut = new PagedTextStore(16, 2);
+	}
+
+	@After public void tearDown(){
+		cut.dispose();
+	}
+
+	@Test public void testAppendedTextSpanningPagesIsReadBack(){
+		cut.replace(0, 0, "0123456789abcdefghij");
+		cut.replace(20, 0, "klmnopqrstuvwxyz");
+
+		assertEquals(36, cut.getLength());
+		assertEquals("0123456789abcdefghijklmnopqrstuvwxyz", cut.get(0, 36));
+		assertEquals("efghijklmnopqrst", cut.get(14, 16));
+		assertEquals('z', cut.get(35));
+	}
+
+	@Test public void testOnlyCachedPagesStayInMemory(){
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			String line = "line " + i + "\n";
+			expected.append(line);
+			cut.replace(cut.getLength(), 0, line);
+		}
+
+		assertTrue(cut.getCachedPageCount() <= 2);
+		assertEquals(expected.toString(), cut.get(0, cut.getLength()));
+		for (int i = 0; i < expected.length(); i += 37) {
+			assertEquals(expected.charAt(i), cut.get(i));
+		}
+		assertTrue(cut.getCachedPageCount() <= 2);
+	}
+
+	@Test public void testSetReplacesWholeText(){
+		cut.replace(0, 0, "0123456789abcdefghij");
+		cut.set("new");
+
+		assertEquals(3, cut.getLength());
+		assertEquals("new", cut.get(0, 3));
+	}
+
+	@Test public void testReplaceInsideTextRewritesStore(){
+		cut.replace(0, 0, "0123456789abcdefghij");
+		cut.replace(5, 10, "-");
+
+		assertEquals("01234-fghij", cut.get(0, cut.getLength()));
+	}
+
+	@Test public void testReplaceSpanningPagesKeepsFollowingPages(){
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 20; i++) {
+			expected.append("line ").append(i).append('\n');
+		}
+		cut.replace(0, 0, expected.toString());
+		cut.replace(10, 40, "0123456789abcdefghij");
+		expected.replace(10, 50, "0123456789abcdefghij");
+		cut.replace(cut.getLength(), 0, "end");
+		expected.append("end");
+
+		assertEquals(expected.length(), cut.getLength());
+		assertEquals(expected.toString(), cut.get(0, cut.getLength()));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class) public void testReadBeyondLengthFails(){
+		cut.replace(0, 0, "abc");
+		cut.get(3);
+	}
+}
@@ -0,0 +1,56 @@
+package org.gradle.eclipse.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocationPrefixIndexTest {
+
+	LocationPrefixIndex<String> cut;
+
+	@Before public void setUp(){
+		cut = new LocationPrefixIndex<String>('/');
+		cut.put("/ws/a", "a");
+		cut.put("/ws/a/b", "b");
+		cut.put("/ws/a/c/", "c");
+		cut.put("/ws/ab", "ab");
+		cut.put("/other", "other");
+	}
+
+	@Test public void testPathIsResolvedToContainingLocation(){
+		assertEquals("a", cut.find("/ws/a/src/Foo.java"));
+		assertEquals("/ws/a/", cut.findLocation("/ws/a/src/Foo.java"));
+		assertEquals("other", cut.find("/other/x"));
+	}
+
+	@Test public void testInnermostLocationWins(){
+		assertEquals("b", cut.find("/ws/a/b/src/Foo.java"));
+		assertEquals("c", cut.find("/ws/a/c/Foo.java"));
+	}
+
+	@Test public void testSiblingSortedBetweenPathAndParentIsSkipped(){
+		assertEquals("a", cut.find("/ws/a/d/Foo.java"));
+		assertEquals("a", cut.find("/ws/a/bb/Foo.java"));
+		assertEquals("a", cut.find("/ws/a/c.txt"));
+	}
+
+	@Test public void testLocationIsNoPrefixOfSimilarlyNamedDirectory(){
+		assertEquals("ab", cut.find("/ws/ab/Foo.java"));
+		assertNull(cut.find("/ws/abc/Foo.java"));
+		assertNull(cut.find("/ws/Foo.java"));
+		assertNull(cut.find("/aaa"));
+	}
+
+	@Test public void testLocationItselfIsFound(){
+		assertEquals("b", cut.find("/ws/a/b"));
+		assertEquals("b", cut.find("/ws/a/b/"));
+	}
+
+	@Test public void testRemovedLocationIsNoLongerFound(){
+		assertEquals("b", cut.remove("/ws/a/b/"));
+
+		assertEquals("a", cut.find("/ws/a/b/src/Foo.java"));
+		assertEquals(4, cut.size());
+	}
+}
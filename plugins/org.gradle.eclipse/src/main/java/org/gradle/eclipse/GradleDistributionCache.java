@@ -0,0 +1,332 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.channels.FileLock;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A cache of gradle distributions extracted from bundle jars, shared by all workspaces 
+ * and IDE instances of a user. 
+ * 
+ * Every distribution is extracted into its own version keyed directory. The directory contains 
+ * a manifest listing size and crc of every file of the distribution. Files are only extracted 
+ * if they are missing or do not match the manifest, so an interrupted extraction is completed 
+ * by the next call instead of starting from scratch. Extraction is guarded by a file lock
+ * since several IDE instances may ask for the same distribution at the same time.
+ * 
+ * Files are not extracted one by one on demand: a gradle home is only ever used as a whole, 
+ * <code>bin/gradle</code> puts all of <code>lib</code> on the class path, so a lazily extracted 
+ * distribution would be completed by its first build anyway. The cost of checking a complete 
+ * distribution is paid once per gradle bundle, as the plugin persists the resolved gradle home 
+ * until the bundle changes.
+ */
+public class GradleDistributionCache {
+
+	private static final String MANIFEST_FILE = ".manifest"; //$NON-NLS-1$
+	private static final String COMPLETE_FILE = ".complete"; //$NON-NLS-1$
+	private static final String LOCK_FILE = ".lock"; //$NON-NLS-1$
+	private static final String TEMP_SUFFIX = ".part"; //$NON-NLS-1$
+	private static final String ENCODING = "UTF-8"; //$NON-NLS-1$
+
+	private final File cacheRoot;
+
+	public GradleDistributionCache(File cacheRoot) {
+		this.cacheRoot = cacheRoot;
+	}
+
+	/**
+	 * @return the default cache shared by all workspaces of the current user 
+	 * (USER_HOME/.gradle/eclipse/dists/)
+	 * */
+	public static GradleDistributionCache getDefault() {
+		File cacheRoot = new File(System.getProperty("user.home"), ".gradle" + File.separator + "eclipse" + File.separator + "dists"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		return new GradleDistributionCache(cacheRoot);
+	}
+
+	/**
+	 * Returns the directory containing the complete distribution of the given archive. 
+	 * 
+	 * @param key identifies the distribution, e.g. the symbolic name and version of its bundle
+	 * @param archive the zip or jar file containing the distribution
+	 * */
+	public File getDistribution(String key, File archive) throws IOException {
+		File distribution = new File(cacheRoot, key);
+		ZipFile zipFile = new ZipFile(archive);
+		try{
+			String stamp = createStamp(archive, zipFile);
+			if(isComplete(distribution, stamp)){
+				return distribution;
+			}
+			FileLock lock = lock(distribution);
+			try{
+				// another instance may have finished the extraction meanwhile
+				if(!isComplete(distribution, stamp)){
+					Map<String, Entry> manifest = createManifest(distribution, zipFile);
+					for(Entry entry : manifest.values()){
+						extractIfInvalid(zipFile, distribution, entry);
+					}
+					writeStamp(distribution, stamp);
+				}
+			}finally{
+				release(lock);
+			}
+		}finally{
+			zipFile.close();
+		}
+		return distribution;
+	}
+
+	/**
+	 * A distribution is complete if it was extracted from the given archive and 
+	 * all files listed in its manifest still exist with their original size.
+	 * */
+	private boolean isComplete(File distribution, String stamp) {
+		if(!stamp.equals(readStamp(distribution))){
+			return false;
+		}
+		Map<String, Entry> manifest = readManifest(distribution);
+		if(manifest == null){
+			return false;
+		}
+		for(Entry entry : manifest.values()){
+			File file = new File(distribution, entry.path);
+			if(file.length() != entry.size || !file.isFile()){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The stamp identifies the content of the archive a distribution was extracted from, 
+	 * so a copy of the same bundle at another location reuses the extracted distribution. 
+	 * It consists of the archive size and a crc over name, size and crc of all entries, 
+	 * which are read from the central directory without inflating the archive.
+	 * */
+	private String createStamp(File archive, ZipFile zipFile) throws IOException {
+		CRC32 crc = new CRC32();
+		Enumeration<? extends ZipEntry> entries = zipFile.entries();
+		while(entries.hasMoreElements()){
+			ZipEntry zipEntry = entries.nextElement();
+			String line = zipEntry.getName() + "\t" + zipEntry.getSize() + "\t" + Long.toHexString(zipEntry.getCrc()) + "\n"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			crc.update(line.getBytes(ENCODING));
+		}
+		return archive.length() + "|" + Long.toHexString(crc.getValue()); //$NON-NLS-1$
+	}
+
+	private String readStamp(File distribution) {
+		File completeFile = new File(distribution, COMPLETE_FILE);
+		if(!completeFile.isFile()){
+			return null;
+		}
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(completeFile), ENCODING));
+			try{
+				return reader.readLine();
+			}finally{
+				reader.close();
+			}
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private void writeStamp(File distribution, String stamp) throws IOException {
+		File completeFile = new File(distribution, COMPLETE_FILE);
+		File tempFile = new File(distribution, COMPLETE_FILE + TEMP_SUFFIX);
+		Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), ENCODING);
+		try{
+			writer.write(stamp);
+			writer.write('\n');
+		}finally{
+			writer.close();
+		}
+		rename(tempFile, completeFile);
+	}
+
+	/**
+	 * @return the manifest written by an earlier extraction or <code>null</code> if there is none
+	 * */
+	private Map<String, Entry> readManifest(File distribution) {
+		File manifestFile = new File(distribution, MANIFEST_FILE);
+		if(!manifestFile.isFile()){
+			return null;
+		}
+		Map<String, Entry> manifest = new LinkedHashMap<String, Entry>();
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(manifestFile), ENCODING));
+			try{
+				String line = null;
+				while((line = reader.readLine()) != null){
+					String[] columns = line.split("\t"); //$NON-NLS-1$
+					if(columns.length != 3){
+						return null;
+					}
+					manifest.put(columns[0], new Entry(columns[0], Long.parseLong(columns[1]), Long.parseLong(columns[2], 16)));
+				}
+			}finally{
+				reader.close();
+			}
+		} catch (IOException e) {
+			return null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		return manifest;
+	}
+
+	/**
+	 * Creates the manifest of the distribution from the zip entries, which already 
+	 * provide size and crc of every file.
+	 * */
+	private Map<String, Entry> createManifest(File distribution, ZipFile zipFile) throws IOException {
+		Map<String, Entry> manifest = new LinkedHashMap<String, Entry>();
+		Enumeration<? extends ZipEntry> entries = zipFile.entries();
+		while(entries.hasMoreElements()){
+			ZipEntry zipEntry = entries.nextElement();
+			if(!isInside(distribution, new File(distribution, zipEntry.getName()))){
+				throw new IOException("Illegal entry " + zipEntry.getName() + " in " + zipFile.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			if(!zipEntry.isDirectory() && zipEntry.getSize() != -1 && zipEntry.getCrc() != -1){
+				manifest.put(zipEntry.getName(), new Entry(zipEntry.getName(), zipEntry.getSize(), zipEntry.getCrc()));
+			}
+		}
+		File manifestFile = new File(distribution, MANIFEST_FILE);
+		File tempFile = new File(distribution, MANIFEST_FILE + TEMP_SUFFIX);
+		Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), ENCODING);
+		try{
+			for(Entry entry : manifest.values()){
+				writer.write(entry.path + "\t" + entry.size + "\t" + Long.toHexString(entry.crc) + "\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}finally{
+			writer.close();
+		}
+		rename(tempFile, manifestFile);
+		return manifest;
+	}
+
+	/**
+	 * Extracts the given entry unless an extracted file of the same size exists. Files are 
+	 * written to a temporary file first and moved into place after their crc has been verified.
+	 * */
+	private void extractIfInvalid(ZipFile zipFile, File distribution, Entry entry) throws IOException {
+		File target = new File(distribution, entry.path);
+		if(!isInside(distribution, target)){
+			throw new IOException("Illegal entry " + entry.path + " in " + zipFile.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if(target.isFile() && target.length() == entry.size){
+			return;
+		}
+		target.getParentFile().mkdirs();
+		File tempFile = new File(target.getParentFile(), target.getName() + TEMP_SUFFIX);
+		CRC32 crc = new CRC32();
+		InputStream in = zipFile.getInputStream(zipFile.getEntry(entry.path));
+		try{
+			OutputStream out = new FileOutputStream(tempFile);
+			try{
+				byte[] buffer = new byte[8192];
+				int read = 0;
+				while((read = in.read(buffer)) > 0){
+					crc.update(buffer, 0, read);
+					out.write(buffer, 0, read);
+				}
+			}finally{
+				out.close();
+			}
+		}finally{
+			in.close();
+		}
+		if(crc.getValue() != entry.crc){
+			tempFile.delete();
+			throw new IOException("Corrupt entry " + entry.path + " in " + zipFile.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		rename(tempFile, target);
+		if(entry.path.startsWith("bin/")){ //$NON-NLS-1$
+			// zip entries don't carry the executable flag of the gradle scripts
+			target.setExecutable(true);
+		}
+	}
+
+	/**
+	 * Guards against entries like <code>../../.profile</code> which would be extracted 
+	 * outside of the distribution directory.
+	 * */
+	private boolean isInside(File distribution, File file) throws IOException {
+		String root = distribution.getCanonicalPath() + File.separator;
+		return file.getCanonicalPath().startsWith(root);
+	}
+
+	private void rename(File source, File target) throws IOException {
+		if(!source.renameTo(target)){
+			// renaming onto an existing file fails on windows
+			target.delete();
+			if(!source.renameTo(target)){
+				throw new IOException("Unable to move " + source + " to " + target); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+
+	private FileLock lock(File distribution) throws IOException {
+		distribution.mkdirs();
+		RandomAccessFile lockFile = new RandomAccessFile(new File(distribution, LOCK_FILE), "rw"); //$NON-NLS-1$
+		try{
+			return lockFile.getChannel().lock();
+		}catch(IOException e){
+			lockFile.close();
+			throw e;
+		}
+	}
+
+	private void release(FileLock lock) throws IOException {
+		try{
+			lock.release();
+		}finally{
+			lock.channel().close();
+		}
+	}
+
+	/**
+	 * A file of the distribution as listed in the manifest
+	 * */
+	private static class Entry {
+		final String path;
+		final long size;
+		final long crc;
+
+		Entry(String path, long size, long crc) {
+			this.path = path;
+			this.size = size;
+			this.crc = crc;
+		}
+	}
+}
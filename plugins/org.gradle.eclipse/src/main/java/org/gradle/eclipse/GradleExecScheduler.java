@@ -16,7 +16,9 @@
 package org.gradle.eclipse;
 
 import java.io.File;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -26,6 +28,7 @@ import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.variables.VariablesPlugin;
@@ -33,13 +36,20 @@ import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.progress.IProgressConstants;
+import org.gradle.eclipse.engine.IGradleExecutionEngine;
+import org.gradle.eclipse.engine.PluginLordExecutionEngine;
+import org.gradle.eclipse.engine.ToolingApiConnector;
+import org.gradle.eclipse.engine.ToolingApiExecutionEngine;
 import org.gradle.eclipse.job.ConfigurationBasedBuildJob;
+import org.gradle.eclipse.job.ContinuousBuildJob;
+import org.gradle.eclipse.job.ContinuousBuildWatcher;
 import org.gradle.eclipse.job.RefreshTaskJob;
 import org.gradle.eclipse.job.UpdateClasspathJob;
 import org.gradle.eclipse.launchConfigurations.GradleProcess;
+import org.gradle.eclipse.preferences.IGradlePreferenceConstants;
 import org.gradle.eclipse.util.GradleUtil;
 import org.gradle.foundation.ProjectView;
-import org.gradle.gradleplugin.foundation.GradlePluginLord;
 
 
 /**
@@ -54,6 +64,11 @@ public class GradleExecScheduler {
 	 * */
 	private BuildInformationCache cache;
 	
+	/**
+	 * key		the absolute path of the gradle home
+	 * value 	the tooling api connector, shared by all builds using this gradle home
+	 * */
+	private final Map<File, ToolingApiConnector> toolingApiConnectors = new HashMap<File, ToolingApiConnector>();
 	
 	public static GradleExecScheduler getInstance() {
 		if(instance==null){
@@ -66,6 +81,48 @@ public class GradleExecScheduler {
 		this.cache = new BuildInformationCache();
 	}
 
+	/**
+	 * Closes all connections to running gradle daemons.
+	 * */
+	public static void shutdown() {
+		if(instance!=null){
+			instance.disposeToolingApiConnectors();
+		}
+	}
+
+	/**
+	 * Creates the execution engine configured in the given {@link IPreferenceStore}.
+	 * */
+	IGradleExecutionEngine createExecutionEngine(IPreferenceStore store) {
+		File gradleHome = new File(GradlePlugin.getPlugin().getGradleHome(store));
+		IGradleExecutionEngine pluginLordEngine = new PluginLordExecutionEngine(gradleHome);
+		String engine = store.getString(IGradlePreferenceConstants.GRADLE_EXECUTION_ENGINE);
+		if(IGradlePreferenceConstants.EXECUTION_ENGINE_TOOLING_API.equals(engine)){
+			return new ToolingApiExecutionEngine(getToolingApiConnector(gradleHome), pluginLordEngine);
+		}
+		return pluginLordEngine;
+	}
+
+	private synchronized ToolingApiConnector getToolingApiConnector(File gradleHome) {
+		ToolingApiConnector connector = toolingApiConnectors.get(gradleHome);
+		if(connector==null){
+			connector = new ToolingApiConnector(gradleHome);
+			toolingApiConnectors.put(gradleHome, connector);
+		}
+		IPreferenceStore store = GradlePlugin.getDefault().getPreferenceStore();
+		connector.configure(store.getBoolean(IGradlePreferenceConstants.DAEMON_WARM_STANDBY),
+							store.getInt(IGradlePreferenceConstants.DAEMON_IDLE_TIMEOUT),
+							store.getInt(IGradlePreferenceConstants.DAEMON_MAX_HEAP));
+		return connector;
+	}
+
+	private synchronized void disposeToolingApiConnectors() {
+		for(ToolingApiConnector connector : toolingApiConnectors.values()){
+			connector.dispose();
+		}
+		toolingApiConnectors.clear();
+	}
+
 	public List<ProjectView> getProjectViews(String absolutePath) {
 		if(cache.get(absolutePath)==null){
 			refreshTaskView(absolutePath, true);
@@ -79,10 +136,9 @@ public class GradleExecScheduler {
 			
 			if(absoluteDirectory.exists()){
 				//run gradle only if directory exists
-				final GradlePluginLord gradlePluginLord = new GradlePluginLord();
-				
 				IContainer containerForLocation = getProjectForPath(absolutePath);
-				RefreshTaskJob job = new RefreshTaskJob((IProject)containerForLocation, absolutePath, gradlePluginLord, cache);
+				IGradleExecutionEngine executionEngine = createExecutionEngine(GradleUtil.getStoreForProject((IProject)containerForLocation));
+				RefreshTaskJob job = new RefreshTaskJob((IProject)containerForLocation, absolutePath, executionEngine, cache);
 				
 				if(!synched){
 					job.setUser(false);
@@ -130,8 +186,7 @@ public class GradleExecScheduler {
 	 * @param projectToUpdate the project which classpath will be updated
 	 * */
 	public void updateProjectClasspath(IPreferenceStore store, String absoluteBuildPath, IProject projectToUpdate) throws CoreException{
-		final GradlePluginLord gradlePluginLord = new GradlePluginLord();
-		gradlePluginLord.setGradleHomeDirectory(new File(GradlePlugin.getPlugin().getGradleHome(store)));
+		IGradleExecutionEngine executionEngine = createExecutionEngine(store);
 
 		File buildFile = new File(VariablesPlugin.getDefault().getStringVariableManager().performStringSubstitution(absoluteBuildPath));
 		if(buildFile==null || !buildFile.exists()){
@@ -141,7 +196,7 @@ public class GradleExecScheduler {
 		}
 			
 		// create gradle build job
-		Job job = new UpdateClasspathJob(projectToUpdate, gradlePluginLord, absoluteBuildPath);
+		Job job = new UpdateClasspathJob(projectToUpdate, executionEngine, absoluteBuildPath);
 		job.setUser(true);
 		job.setPriority(Job.LONG);
 		job.schedule(); // start as soon as possible
@@ -151,8 +206,41 @@ public class GradleExecScheduler {
 	 * @noreference This method is not intended to be referenced by clients.
 	 */
 	public void startGradleBuildRun(final ILaunchConfiguration configuration, final List<String> tasks, final StringBuffer commandLine, final GradleProcess gradleProcess) throws CoreException{
-		final GradlePluginLord gradlePluginLord = new GradlePluginLord();
-		gradlePluginLord.setGradleHomeDirectory(new File(GradlePlugin.getPlugin().getGradleHome()));
+		File buildFile = resolveBuildFile(configuration);
+		// create and schedule gradle build job
+		IContainer projectForPath = getProjectForPath(buildFile.getAbsolutePath());
+		IGradleExecutionEngine executionEngine = createExecutionEngine(GradleUtil.getStoreForProject((IProject)projectForPath));
+		ConfigurationBasedBuildJob job = new ConfigurationBasedBuildJob((IProject)projectForPath, executionEngine, buildFile.getAbsolutePath(), gradleProcess);
+		job.setTasks(tasks);
+		job.setUiProvidedCommandLineParams(commandLine.toString());
+		job.setUser(true);
+		job.setPriority(Job.LONG);
+		job.schedule(); // start as soon as possible
+	}
+
+	/**
+	 * Starts a build which re-runs its tasks whenever a file below the build root is saved.
+	 * One {@link IGradleExecutionEngine} is kept for all runs until the given process is terminated.
+	 * 
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public void startContinuousGradleBuildRun(final ILaunchConfiguration configuration, final List<String> tasks, final StringBuffer commandLine, final GradleProcess gradleProcess) throws CoreException{
+		File buildFile = resolveBuildFile(configuration);
+		IContainer projectForPath = getProjectForPath(buildFile.getAbsolutePath());
+		IGradleExecutionEngine executionEngine = createExecutionEngine(GradleUtil.getStoreForProject((IProject)projectForPath));
+		ContinuousBuildJob job = new ContinuousBuildJob((IProject)projectForPath, executionEngine, buildFile.getAbsolutePath(), gradleProcess);
+		job.setTasks(tasks);
+		job.setUiProvidedCommandLineParams(commandLine.toString());
+		job.setPriority(Job.LONG);
+		// a failing run must not pop up a dialog on every save
+		job.setProperty(IProgressConstants.NO_IMMEDIATE_ERROR_PROMPT_PROPERTY, Boolean.TRUE);
+		
+		ContinuousBuildWatcher watcher = new ContinuousBuildWatcher(new Path(buildFile.getParentFile().getAbsolutePath()), job);
+		gradleProcess.setContinuousBuildWatcher(watcher);
+		watcher.start();
+	}
+
+	private File resolveBuildFile(final ILaunchConfiguration configuration) throws CoreException {
 		String buildfilePath = configuration.getAttribute(IGradleConstants.ATTR_LOCATION, "");
 		File buildFile = new File(VariablesPlugin.getDefault().getStringVariableManager().performStringSubstitution(buildfilePath));
 		if(buildFile==null || !buildFile.exists()){
@@ -161,13 +249,6 @@ public class GradleExecScheduler {
 											   "buildPath: [ " + buildfilePath + "] cannot be resolved")
 				));
 		}
-		// create and schedule gradle build job
-		IContainer projectForPath = getProjectForPath(buildFile.getAbsolutePath());
-		ConfigurationBasedBuildJob job = new ConfigurationBasedBuildJob((IProject)projectForPath, gradlePluginLord, buildFile.getAbsolutePath(), gradleProcess);
-		job.setTasks(tasks);
-		job.setUiProvidedCommandLineParams(commandLine.toString());
-		job.setUser(true);
-		job.setPriority(Job.LONG);
-		job.schedule(); // start as soon as possible
+		return buildFile;
 	}
 }
@@ -17,6 +17,7 @@ package org.gradle.eclipse;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -24,9 +25,12 @@ import java.util.Locale;
 import java.util.Set;
 
 import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.preference.PreferenceConverter;
 import org.eclipse.jface.resource.ImageDescriptor;
@@ -34,9 +38,15 @@ import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
+import org.gradle.eclipse.launchConfigurations.GradleLaunchConfigurationIndex;
+import org.gradle.eclipse.launchConfigurations.GradleLaunchLogs;
 import org.gradle.eclipse.preferences.IGradlePreferenceConstants;
+import org.gradle.eclipse.ui.console.GradleConsoleStyleCache;
 import org.gradle.eclipse.util.ColorManager;
+import org.gradle.eclipse.util.JavaTypeFileIndex;
+import org.gradle.eclipse.util.WorkspaceFileResolver;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.packageadmin.ExportedPackage;
@@ -65,7 +75,13 @@ public class GradlePlugin extends AbstractUIPlugin {
 	// The shared instance
 	private static GradlePlugin plugin;
 	
-	private String cachedDefaultGradleHome = null;
+	private static final String GRADLE_BUNDLE = "org.codehaus.gradle"; //$NON-NLS-1$
+
+	/**
+	 * the default gradle home resolved in the background after activation 
+	 * */
+	private volatile String cachedDefaultGradleHome = null;
+	private Job defaultGradleHomeJob = null;
 
 	/**
 	 * Returns the standard display to be used. The method first checks, if
@@ -104,6 +120,9 @@ public class GradlePlugin extends AbstractUIPlugin {
 		super.start(context);
 //		initializeGradleEditor();
 		plugin = this;
+		GradleLaunchLogs.startup();
+		scheduleDefaultGradleHomeResolution();
+		schedulePurgeOfStaleLaunchLogs();
 	}
 
 	/*
@@ -111,6 +130,13 @@ public class GradlePlugin extends AbstractUIPlugin {
 	 * @see org.eclipse.ui.plugin.AbstractUIPlugin#stop(org.osgi.framework.BundleContext)
 	 */
 	public void stop(BundleContext context) throws Exception {
+		GradleExecScheduler.shutdown();
+		GradleLaunchLogs.shutdown();
+		GradleLaunchConfigurationIndex.shutdown();
+		WorkspaceFileResolver.shutdown();
+		JavaTypeFileIndex.shutdown();
+		GradleConsoleStyleCache.shutdown();
+		defaultGradleHomeJob.cancel();
 		plugin = null;
 		super.stop(context);
 	}
@@ -244,12 +270,102 @@ public class GradlePlugin extends AbstractUIPlugin {
 	}
 	
 	
+	/**
+	 * Resolves the default gradle home once in the background. A gradle home resolved 
+	 * by an earlier session is reused as long as the providing gradle bundle did not change.
+	 * */
+	private void scheduleDefaultGradleHomeResolution() {
+		defaultGradleHomeJob = new Job("Resolving default Gradle home") {
+			protected IStatus run(IProgressMonitor monitor) {
+				cachedDefaultGradleHome = loadDefaultGradleHome();
+				return Status.OK_STATUS;
+			}
+		};
+		defaultGradleHomeJob.setSystem(true);
+		defaultGradleHomeJob.schedule();
+	}
+
+	private void schedulePurgeOfStaleLaunchLogs() {
+		Job job = new Job("Removing stale Gradle build logs") {
+			protected IStatus run(IProgressMonitor monitor) {
+				GradleLaunchLogs.purgeStaleLogs();
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	/**
+	 * @return the gradle home of the highest installed gradle bundle. The display thread does not 
+	 * wait for the background resolution if an earlier session has stored a gradle home, listeners of 
+	 * {@link IGradlePreferenceConstants#DEFAULT_GRADLE_HOME} are notified when the resolution stores 
+	 * a different one. Without such a gradle home the display thread waits with a busy cursor, 
+	 * dispatching its events.
+	 * */
 	private String getDefaultGradleHome() {
-		//use default gradlehome 
-		if(cachedDefaultGradleHome != null){
-			return cachedDefaultGradleHome;
+		String gradleHome = cachedDefaultGradleHome;
+		if(gradleHome != null){
+			return gradleHome;
+		}
+		if(Display.getCurrent() != null){
+			gradleHome = getPreferenceStore().getString(IGradlePreferenceConstants.DEFAULT_GRADLE_HOME);
+			if(isValidGradleHome(gradleHome)){
+				return gradleHome;
+			}
+			if(PlatformUI.isWorkbenchRunning()){
+				try {
+					PlatformUI.getWorkbench().getProgressService().busyCursorWhile(new IRunnableWithProgress() {
+						public void run(IProgressMonitor monitor) {
+							awaitDefaultGradleHome();
+						}
+					});
+				} catch (InvocationTargetException e) {
+					log(e.getTargetException());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return cachedDefaultGradleHome;
+			}
+		}
+		return awaitDefaultGradleHome();
+	}
+
+	private String awaitDefaultGradleHome() {
+		try {
+			defaultGradleHomeJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if(cachedDefaultGradleHome == null){
+			// the background resolution was cancelled or failed
+			cachedDefaultGradleHome = loadDefaultGradleHome();
+		}
+		return cachedDefaultGradleHome;
+	}
+
+	private String loadDefaultGradleHome() {
+		IPreferenceStore store = getPreferenceStore();
+		String stamp = getGradleBundleStamp();
+		String persistedHome = store.getString(IGradlePreferenceConstants.DEFAULT_GRADLE_HOME);
+		if(stamp != null && stamp.equals(store.getString(IGradlePreferenceConstants.DEFAULT_GRADLE_HOME_STAMP))
+				&& isValidGradleHome(persistedHome)){
+			return persistedHome;
 		}
-		ServiceTracker tracker = new ServiceTracker(GradlePlugin.getPlugin().getBundle().getBundleContext(), PackageAdmin.class.getName(), null);
+		String gradleHome = resolveDefaultGradleHome();
+		if(gradleHome != null){
+			//check if gradle scripts are executable
+			makeGradleScriptsExecutable(gradleHome);
+			if(stamp != null){
+				store.setValue(IGradlePreferenceConstants.DEFAULT_GRADLE_HOME, gradleHome);
+				store.setValue(IGradlePreferenceConstants.DEFAULT_GRADLE_HOME_STAMP, stamp);
+			}
+		}
+		return gradleHome;
+	}
+
+	private String resolveDefaultGradleHome() {
+		ServiceTracker tracker = new ServiceTracker(getBundle().getBundleContext(), PackageAdmin.class.getName(), null);
 		tracker.open();
 		try {
 			PackageAdmin packageAdmin = (PackageAdmin) tracker.getService();
@@ -258,20 +374,50 @@ public class GradlePlugin extends AbstractUIPlugin {
 				ExportedPackage[] packages = packageAdmin.getExportedPackages("org.gradle"); //$NON-NLS-1$
 				Bundle bundle = findHighestGradleVersion(packages);
 				if(bundle!=null){
+					File bundleFile = FileLocator.getBundleFile(bundle);
+					if(bundleFile.isFile()){
+						// a jarred bundle is extracted once for all workspaces instead of into each configuration area
+						String key = bundle.getSymbolicName() + "_" + bundle.getVersion(); //$NON-NLS-1$
+						return GradleDistributionCache.getDefault().getDistribution(key, bundleFile).getAbsolutePath();
+					}
 					URL entryURL = bundle.getEntry(".");
 					URL fileURL = FileLocator.toFileURL(entryURL);
-					cachedDefaultGradleHome = new File(fileURL.getPath()).getAbsolutePath();
+					return new File(fileURL.getPath()).getAbsolutePath();
 				}
 			}
 		} catch (IOException e) {
-			e.printStackTrace();
+			log(e);
 		}finally {
 			tracker.close();
 		}
-		
-		//check if gradle scripts are executable
-		makeGradleScriptsExecutable(cachedDefaultGradleHome);
-		return cachedDefaultGradleHome;
+		return null;
+	}
+
+	/**
+	 * @return an identifier of the installed gradle bundles, changing whenever 
+	 * one of them gets updated, or <code>null</code> if there is no gradle bundle
+	 * */
+	private String getGradleBundleStamp() {
+		StringBuffer stamp = new StringBuffer();
+		Bundle[] bundles = getBundle().getBundleContext().getBundles();
+		for (int i = 0; i < bundles.length; i++) {
+			if(GRADLE_BUNDLE.equals(bundles[i].getSymbolicName())){
+				stamp.append(bundles[i].getSymbolicName())
+					 .append('_')
+					 .append(bundles[i].getVersion())
+					 .append('@')
+					 .append(bundles[i].getBundleId())
+					 .append(';');
+			}
+		}
+		return stamp.length() == 0 ? null : stamp.toString();
+	}
+
+	private boolean isValidGradleHome(String gradleHome) {
+		if(gradleHome == null || gradleHome.length() == 0){
+			return false;
+		}
+		return new File(gradleHome, "bin" + File.separator + "gradle").isFile(); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
 	/**
@@ -37,6 +37,12 @@ public class IGradleConstants {
 	
 	public static final String ATTR_TOOL_ARGUMENTS = PLUGIN_ID + ".ATTR_TOOL_ARGUMENTS";
 
+	/**
+	 * Boolean attribute indicating whether a launch stays active and re-runs its tasks
+	 * whenever a file below the build root is saved. Default value is <code>false</code>.
+	 */
+	public static final String ATTR_CONTINUOUS_BUILD = PLUGIN_ID + ".ATTR_CONTINUOUS_BUILD";
+
 	
 	public static final String IMG_GRADLE_ECLIPSE_RUNTIME_OBJECT = PLUGIN_ID + ".gradleEclipse"; //$NON-NLS-1$
 
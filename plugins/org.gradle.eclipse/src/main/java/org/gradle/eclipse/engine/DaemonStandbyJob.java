@@ -0,0 +1,75 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.engine;
+
+import java.io.File;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.gradle.eclipse.GradlePlugin;
+
+/**
+ * Keeps a gradle daemon of one gradle home warmed up. The job asks the daemon for the 
+ * cheap build environment model, which starts a daemon if there is none left that is 
+ * idle and compatible with the configured jvm arguments.
+ * 
+ * The job is rescheduled after every build, so the next build finds a started daemon again.
+ * Daemons that are not used within the idle timeout stop themselves.
+ */
+class DaemonStandbyJob extends Job {
+
+	private static final String MODEL_BUILDER = "org.gradle.tooling.ModelBuilder"; //$NON-NLS-1$
+	private static final String BUILD_ENVIRONMENT = "org.gradle.tooling.model.build.BuildEnvironment"; //$NON-NLS-1$
+
+	private final ToolingApiConnector connector;
+	private volatile File projectDirectory;
+
+	DaemonStandbyJob(ToolingApiConnector connector) {
+		super("Starting Gradle daemon of " + connector.getGradleHome().getName());
+		this.connector = connector;
+		setSystem(true);
+		setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Starts a daemon in the background for builds of the given project directory.
+	 * */
+	void warmUp(File projectDirectory) {
+		this.projectDirectory = projectDirectory;
+		schedule();
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		File directory = projectDirectory;
+		if (directory == null || !connector.supports(ToolingApiConnector.PROJECT_CONNECTION, "model", new Class<?>[] { Class.class })) { //$NON-NLS-1$
+			return Status.OK_STATUS;
+		}
+		try {
+			Object connection = connector.getConnection(directory);
+			Object modelBuilder = connector.invoke(connection, ToolingApiConnector.PROJECT_CONNECTION, "model",  //$NON-NLS-1$
+					new Class<?>[] { Class.class }, new Object[] { connector.loadClass(BUILD_ENVIRONMENT) });
+			connector.configureOperation(modelBuilder);
+			connector.invoke(modelBuilder, MODEL_BUILDER, "get"); //$NON-NLS-1$
+		} catch (Exception e) {
+			// the next build starts its own daemon and reports the problem
+			GradlePlugin.log("Unable to start gradle daemon in " + directory, e); //$NON-NLS-1$
+		}
+		return Status.OK_STATUS;
+	}
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.engine;
+
+import java.io.File;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.gradle.eclipse.interaction.GradleProcessResult;
+import org.gradle.foundation.ProjectView;
+import org.gradle.foundation.ipc.gradle.ExecuteGradleCommandServerProtocol.ExecutionInteraction;
+
+/**
+ * An execution engine runs gradle command lines on behalf of the gradle jobs.
+ * 
+ * Implementations decide how gradle is started, e.g. by forking a new gradle process per 
+ * request ({@link PluginLordExecutionEngine}) or by talking to a long living gradle daemon 
+ * ({@link ToolingApiExecutionEngine}). Engines are selected per project by the
+ * {@link org.gradle.eclipse.preferences.IGradlePreferenceConstants#GRADLE_EXECUTION_ENGINE} preference.
+ */
+public interface IGradleExecutionEngine {
+
+	/**
+	 * Executes the given gradle command line and blocks until gradle has finished. 
+	 * Live output and task progress are reported to the given interaction.
+	 * 
+	 * @param workingDirectory the directory gradle is executed in
+	 * @param commandLine the complete gradle command line
+	 * @param displayName a human readable name of this execution
+	 * @param interaction the interaction receiving output and progress
+	 * @param monitor monitor used to cancel the execution, may be <code>null</code>
+	 * @return the result of the execution, never <code>null</code>
+	 * @throws InterruptedException if the calling thread was interrupted while waiting for gradle
+	 */
+	GradleProcessResult execute(File workingDirectory, String commandLine, String displayName, 
+								ExecutionInteraction interaction, IProgressMonitor monitor) throws InterruptedException;
+
+	/**
+	 * Calculates the projects and tasks of the build. The calculated model is
+	 * available via {@link #getProjects()} afterwards.
+	 * 
+	 * @see #execute(File, String, String, ExecutionInteraction, IProgressMonitor)
+	 */
+	GradleProcessResult refreshTasks(File workingDirectory, String commandLine, 
+									 ExecutionInteraction interaction, IProgressMonitor monitor) throws InterruptedException;
+
+	/**
+	 * @return the projects calculated by the last call of {@link #refreshTasks}
+	 */
+	List<ProjectView> getProjects();
+}
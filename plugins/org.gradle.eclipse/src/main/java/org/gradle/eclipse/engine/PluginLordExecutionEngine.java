@@ -0,0 +1,121 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.engine;
+
+import java.io.File;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.gradle.eclipse.interaction.GradleProcessResult;
+import org.gradle.foundation.ProjectView;
+import org.gradle.foundation.ipc.gradle.ExecuteGradleCommandServerProtocol.ExecutionInteraction;
+import org.gradle.gradleplugin.foundation.GradlePluginLord;
+import org.gradle.gradleplugin.foundation.request.ExecutionRequest;
+import org.gradle.gradleplugin.foundation.request.RefreshTaskListRequest;
+import org.gradle.gradleplugin.foundation.request.Request;
+
+/**
+ * Default execution engine. Requests are passed to the socket based request queue of a 
+ * {@link GradlePluginLord} which starts a new gradle process for every request.
+ */
+public class PluginLordExecutionEngine implements IGradleExecutionEngine {
+
+	/**
+	 * time in milliseconds to wait for a cancelled request to report its completion
+	 * */
+	private static final long CANCEL_GRACE_PERIOD = 5000;
+
+	private final GradlePluginLord pluginLord;
+
+	public PluginLordExecutionEngine(File gradleHome) {
+		pluginLord = new GradlePluginLord();
+		pluginLord.setGradleHomeDirectory(gradleHome);
+	}
+
+	public GradleProcessResult execute(File workingDirectory, String commandLine, String displayName, 
+									   ExecutionInteraction interaction, IProgressMonitor monitor) throws InterruptedException {
+		return runRequest(workingDirectory, commandLine, displayName, false, interaction, monitor);
+	}
+
+	public GradleProcessResult refreshTasks(File workingDirectory, String commandLine, 
+											ExecutionInteraction interaction, IProgressMonitor monitor) throws InterruptedException {
+		return runRequest(workingDirectory, commandLine, null, true, interaction, monitor);
+	}
+
+	public List<ProjectView> getProjects() {
+		return pluginLord.getProjects();
+	}
+
+	private GradleProcessResult runRequest(File workingDirectory, String commandLine, String displayName, boolean refresh,
+										   final ExecutionInteraction interaction, IProgressMonitor monitor) throws InterruptedException {
+		pluginLord.setCurrentDirectory(workingDirectory);
+
+		pluginLord.startExecutionQueue();
+		final GradleProcessResult processResult = new GradleProcessResult();
+
+		GradlePluginLord.RequestObserver observer = new GradlePluginLord.RequestObserver() {
+	           
+			public void executionRequestAdded( ExecutionRequest request ){
+				request.setExecutionInteraction( interaction );
+	        }
+	        
+			public void refreshRequestAdded( RefreshTaskListRequest request ) { 
+	        }
+	        
+			public void aboutToExecuteRequest( Request request ) { 
+	        }
+
+	        public void requestExecutionComplete( Request request, int result, String output ) {
+	        	processResult.setResult(result);
+	        	processResult.setOutput(output);
+	        	processResult.setComplete(true);
+	        }
+	    };
+	    // add the observer before we add the request due to timing issues.
+	    // It's possible for it to completely execute before we return from
+	    // addExecutionRequestToQueue.
+	    pluginLord.addRequestObserver(observer, false);
+	    
+	    Request request = null;
+	    if(refresh){
+	    	request = pluginLord.addRefreshRequestToQueue(commandLine);
+	    }else{
+	    	request = pluginLord.addExecutionRequestToQueue(commandLine, displayName);
+	    }
+	    
+		//keep open til listener reports gradle has finished
+		long cancelledAt = -1;
+		try{
+			while(!processResult.isComplete()){
+				if(cancelledAt == -1 && monitor != null && monitor.isCanceled()){
+					// kill the running gradle process, the observer reports completion afterwards
+					cancelledAt = System.currentTimeMillis();
+					request.cancel();
+				}
+				if(cancelledAt != -1 && System.currentTimeMillis() - cancelledAt > CANCEL_GRACE_PERIOD){
+					// a request cancelled before it was started never reports completion
+					break;
+				}
+				Thread.sleep(100);
+			}
+		}finally{
+			// the plugin lord may be reused for further requests
+			pluginLord.removeRequestObserver(observer);
+		}
+		processResult.setCancelled(cancelledAt != -1);
+		return processResult;
+	}
+}
@@ -0,0 +1,282 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.engine;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.eclipse.GradlePlugin;
+
+/**
+ * Gives access to the gradle tooling api shipped with a gradle installation.
+ * 
+ * The tooling api is loaded in its own classloader from the <code>lib</code> directory 
+ * of the gradle home, as the gradle version wrapped by the <code>org.codehaus.gradle</code> 
+ * bundle does not provide it. All calls go through reflection for the same reason. The 
+ * tooling api jar of a distribution is not self-contained, so all jars of the 
+ * <code>lib</code> directory are on the class path, and the tooling api only counts as 
+ * available once a connector has been created from it.
+ * 
+ * Connections are kept open per project directory so that every build of a project
+ * is executed by the same, already running gradle daemon. One connector exists per gradle home.
+ * If warm standby is enabled, a daemon is started in the background after every build.
+ */
+public class ToolingApiConnector {
+
+	static final String GRADLE_CONNECTOR = "org.gradle.tooling.GradleConnector"; //$NON-NLS-1$
+	static final String PROJECT_CONNECTION = "org.gradle.tooling.ProjectConnection"; //$NON-NLS-1$
+	static final String BUILD_LAUNCHER = "org.gradle.tooling.BuildLauncher"; //$NON-NLS-1$
+	static final String LONG_RUNNING_OPERATION = "org.gradle.tooling.LongRunningOperation"; //$NON-NLS-1$
+	static final String PROGRESS_LISTENER = "org.gradle.tooling.ProgressListener"; //$NON-NLS-1$
+	static final String PROGRESS_EVENT = "org.gradle.tooling.ProgressEvent"; //$NON-NLS-1$
+	static final String RESULT_HANDLER = "org.gradle.tooling.ResultHandler"; //$NON-NLS-1$
+	static final String BUILD_EXCEPTION = "org.gradle.tooling.BuildException"; //$NON-NLS-1$
+	static final String CANCELLATION_TOKEN = "org.gradle.tooling.CancellationToken"; //$NON-NLS-1$
+	static final String CANCELLATION_TOKEN_SOURCE = "org.gradle.tooling.CancellationTokenSource"; //$NON-NLS-1$
+
+	private static final String TOOLING_API_JAR_PREFIX = "gradle-tooling-api-"; //$NON-NLS-1$
+
+	private static final Class<?>[] NO_TYPES = new Class<?>[0];
+	private static final Object[] NO_ARGS = new Object[0];
+
+	private final File gradleHome;
+	private boolean resolved = false;
+	private ClassLoader classLoader;
+
+	/**
+	 * key		the project directory
+	 * value 	the open ProjectConnection
+	 * */
+	private final Map<File, Object> connections = new HashMap<File, Object>();
+
+	private final DaemonStandbyJob standbyJob;
+	private volatile boolean warmStandby = false;
+	private volatile int idleTimeoutMinutes = 0;
+	private volatile int maxHeapMegabytes = 0;
+
+	public ToolingApiConnector(File gradleHome) {
+		this.gradleHome = gradleHome;
+		this.standbyJob = new DaemonStandbyJob(this);
+	}
+
+	/**
+	 * Configures the daemons used by this connector. Changed settings apply to connections 
+	 * established afterwards and to all following builds.
+	 * 
+	 * @param warmStandby whether a daemon is started in advance of the next build
+	 * @param idleTimeoutMinutes minutes an unused daemon stays alive, <code>0</code> for the gradle default
+	 * @param maxHeapMegabytes maximum heap of the daemon kept in warm standby, <code>0</code> for the 
+	 * gradle default. Without warm standby the heap is left to the build, e.g. its <code>org.gradle.jvmargs</code>
+	 * */
+	public void configure(boolean warmStandby, int idleTimeoutMinutes, int maxHeapMegabytes) {
+		this.warmStandby = warmStandby;
+		this.idleTimeoutMinutes = idleTimeoutMinutes;
+		this.maxHeapMegabytes = maxHeapMegabytes;
+		if (!warmStandby) {
+			standbyJob.cancel();
+		}
+	}
+
+	/**
+	 * Starts a daemon in the background for the next build of the given project directory,
+	 * provided warm standby is enabled.
+	 * */
+	public void warmUp(File projectDirectory) {
+		if (warmStandby && isAvailable()) {
+			standbyJob.warmUp(projectDirectory);
+		}
+	}
+
+	/**
+	 * Applies the configured jvm arguments to the given LongRunningOperation. Builds and 
+	 * warm ups must use the same arguments, otherwise the daemon started in advance is 
+	 * not compatible with the build. Jvm arguments are only set in warm standby mode, as they 
+	 * replace the ones configured by the build.
+	 * */
+	void configureOperation(Object operation) throws Exception {
+		if (warmStandby && maxHeapMegabytes > 0 && supports(LONG_RUNNING_OPERATION, "setJvmArguments", new Class<?>[] { String[].class })) { //$NON-NLS-1$
+			String[] jvmArguments = new String[] { "-Xmx" + maxHeapMegabytes + "m" }; //$NON-NLS-1$ //$NON-NLS-2$
+			invoke(operation, LONG_RUNNING_OPERATION, "setJvmArguments", new Class<?>[] { String[].class }, new Object[] { jvmArguments }); //$NON-NLS-1$
+		}
+	}
+
+	public File getGradleHome() {
+		return gradleHome;
+	}
+
+	/**
+	 * @return <code>true</code> if the gradle home contains a tooling api which creates connectors
+	 * */
+	public synchronized boolean isAvailable() {
+		return getClassLoader() != null;
+	}
+
+	synchronized ClassLoader getClassLoader() {
+		if (!resolved) {
+			resolved = true;
+			classLoader = createClassLoader();
+			if (classLoader != null && !canCreateConnector(classLoader)) {
+				classLoader = null;
+			}
+		}
+		return classLoader;
+	}
+
+	/**
+	 * Creates a connector to find out whether the classes the tooling api depends on are loadable.
+	 * */
+	private boolean canCreateConnector(ClassLoader loader) {
+		try {
+			loader.loadClass(GRADLE_CONNECTOR).getMethod("newConnector", NO_TYPES).invoke(null, NO_ARGS); //$NON-NLS-1$
+			return true;
+		} catch (Exception e) {
+			GradlePlugin.log("Unable to load the tooling api of " + gradleHome + ", builds run without it", e); //$NON-NLS-1$ //$NON-NLS-2$
+		} catch (LinkageError e) {
+			GradlePlugin.log("Unable to load the tooling api of " + gradleHome + ", builds run without it", e); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the connection to the build in the given directory. The connection is 
+	 * established on first use and kept open until this connector gets disposed.
+	 * */
+	public synchronized Object getConnection(File projectDirectory) throws Exception {
+		Object connection = connections.get(projectDirectory);
+		if (connection == null) {
+			Object connector = invokeStatic(GRADLE_CONNECTOR, "newConnector"); //$NON-NLS-1$
+			invoke(connector, GRADLE_CONNECTOR, "useInstallation", new Class<?>[] { File.class }, new Object[] { gradleHome }); //$NON-NLS-1$
+			invoke(connector, GRADLE_CONNECTOR, "forProjectDirectory", new Class<?>[] { File.class }, new Object[] { projectDirectory }); //$NON-NLS-1$
+			configureIdleTimeout(connector);
+			connection = invoke(connector, GRADLE_CONNECTOR, "connect"); //$NON-NLS-1$
+			connections.put(projectDirectory, connection);
+		}
+		return connection;
+	}
+
+	/**
+	 * Closes all open connections.
+	 * */
+	public synchronized void dispose() {
+		standbyJob.cancel();
+		for (Iterator<Object> iterator = connections.values().iterator(); iterator.hasNext();) {
+			try {
+				invoke(iterator.next(), PROJECT_CONNECTION, "close"); //$NON-NLS-1$
+			} catch (Exception e) {
+				GradlePlugin.log("Unable to close tooling api connection", e); //$NON-NLS-1$
+			}
+		}
+		connections.clear();
+	}
+
+	/**
+	 * The idle timeout is only available at the connector implementation, 
+	 * it is skipped for tooling api versions not providing it.
+	 * */
+	private void configureIdleTimeout(Object connector) {
+		if (idleTimeoutMinutes <= 0) {
+			return;
+		}
+		try {
+			Method method = connector.getClass().getMethod("daemonMaxIdleTime", new Class<?>[] { int.class, TimeUnit.class }); //$NON-NLS-1$
+			method.invoke(connector, new Object[] { Integer.valueOf(idleTimeoutMinutes), TimeUnit.MINUTES });
+		} catch (NoSuchMethodException e) {
+			// not supported by this tooling api version
+		} catch (Exception e) {
+			GradlePlugin.log("Unable to configure gradle daemon idle timeout", e); //$NON-NLS-1$
+		}
+	}
+
+	Class<?> loadClass(String className) throws ClassNotFoundException {
+		return getClassLoader().loadClass(className);
+	}
+
+	/**
+	 * Invokes a method declared by the given tooling api type. Methods are always looked up at the 
+	 * public api type since the implementation classes are not accessible.
+	 * */
+	Object invoke(Object target, String declaringType, String methodName, Class<?>[] parameterTypes, Object[] args) throws Exception {
+		Method method = loadClass(declaringType).getMethod(methodName, parameterTypes);
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getTargetException();
+			if (cause instanceof Exception) {
+				throw (Exception) cause;
+			}
+			throw e;
+		}
+	}
+
+	Object invoke(Object target, String declaringType, String methodName) throws Exception {
+		return invoke(target, declaringType, methodName, NO_TYPES, NO_ARGS);
+	}
+
+	Object invokeStatic(String declaringType, String methodName) throws Exception {
+		return invoke(null, declaringType, methodName, NO_TYPES, NO_ARGS);
+	}
+
+	/**
+	 * @return <code>true</code> if the given tooling api type declares the given method
+	 * */
+	boolean supports(String declaringType, String methodName, Class<?>[] parameterTypes) {
+		try {
+			loadClass(declaringType).getMethod(methodName, parameterTypes);
+			return true;
+		} catch (ClassNotFoundException e) {
+			return false;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private ClassLoader createClassLoader() {
+		File[] jars = new File(gradleHome, "lib").listFiles(new FilenameFilter() { //$NON-NLS-1$
+			public boolean accept(File dir, String name) {
+				return name.endsWith(".jar"); //$NON-NLS-1$
+			}
+		});
+		if (jars == null) {
+			return null;
+		}
+		List<URL> urls = new ArrayList<URL>();
+		boolean toolingApiFound = false;
+		for (File jar : jars) {
+			toolingApiFound |= jar.getName().startsWith(TOOLING_API_JAR_PREFIX);
+			try {
+				urls.add(jar.toURI().toURL());
+			} catch (MalformedURLException e) {
+				GradlePlugin.log(e);
+			}
+		}
+		if (!toolingApiFound) {
+			return null;
+		}
+		// no parent, the gradle classes exported by org.codehaus.gradle must not leak into the tooling api
+		return new URLClassLoader(urls.toArray(new URL[urls.size()]), null);
+	}
+}
@@ -0,0 +1,267 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.engine;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.interaction.GradleProcessResult;
+import org.gradle.eclipse.util.GradleUtil;
+import org.gradle.foundation.ProjectView;
+import org.gradle.foundation.ipc.gradle.ExecuteGradleCommandServerProtocol.ExecutionInteraction;
+
+/**
+ * Execution engine running builds through the gradle tooling api. Builds are executed by a 
+ * persistent gradle daemon, so only the first build pays for starting a gradle jvm.
+ * 
+ * The task model is still calculated by the fallback engine since it has to be 
+ * provided as {@link ProjectView}s. The fallback engine is used for builds as well 
+ * if the configured gradle home does not ship the tooling api.
+ */
+public class ToolingApiExecutionEngine implements IGradleExecutionEngine {
+
+	private final ToolingApiConnector connector;
+	private final IGradleExecutionEngine fallback;
+
+	public ToolingApiExecutionEngine(ToolingApiConnector connector, IGradleExecutionEngine fallback) {
+		this.connector = connector;
+		this.fallback = fallback;
+	}
+
+	public GradleProcessResult execute(File workingDirectory, String commandLine, String displayName, 
+									   ExecutionInteraction interaction, IProgressMonitor monitor) throws InterruptedException {
+		if (!connector.isAvailable()) {
+			return fallback.execute(workingDirectory, commandLine, displayName, interaction, monitor);
+		}
+		final GradleProcessResult processResult = new GradleProcessResult();
+		final Throwable[] failure = new Throwable[1];
+		Object cancellationTokenSource = null;
+		LiveOutputStream output = null;
+		
+		interaction.reportExecutionStarted();
+		try {
+			Object connection = connector.getConnection(workingDirectory);
+			Object launcher = connector.invoke(connection, ToolingApiConnector.PROJECT_CONNECTION, "newBuild"); //$NON-NLS-1$
+			connector.invoke(launcher, ToolingApiConnector.BUILD_LAUNCHER, "withArguments",  //$NON-NLS-1$
+					new Class<?>[] { String[].class }, new Object[] { GradleUtil.parseString(commandLine, " ") }); //$NON-NLS-1$
+			
+			output = new LiveOutputStream(interaction);
+			connector.invoke(launcher, ToolingApiConnector.BUILD_LAUNCHER, "setStandardOutput", new Class<?>[] { OutputStream.class }, new Object[] { output }); //$NON-NLS-1$
+			connector.invoke(launcher, ToolingApiConnector.BUILD_LAUNCHER, "setStandardError", new Class<?>[] { OutputStream.class }, new Object[] { output }); //$NON-NLS-1$
+			
+			Class<?> progressListenerType = connector.loadClass(ToolingApiConnector.PROGRESS_LISTENER);
+			connector.invoke(launcher, ToolingApiConnector.BUILD_LAUNCHER, "addProgressListener",  //$NON-NLS-1$
+					new Class<?>[] { progressListenerType }, new Object[] { createProgressListener(progressListenerType, interaction) });
+			
+			connector.configureOperation(launcher);
+			cancellationTokenSource = configureCancellation(launcher);
+			
+			Class<?> resultHandlerType = connector.loadClass(ToolingApiConnector.RESULT_HANDLER);
+			connector.invoke(launcher, ToolingApiConnector.BUILD_LAUNCHER, "run",  //$NON-NLS-1$
+					new Class<?>[] { resultHandlerType }, new Object[] { createResultHandler(resultHandlerType, processResult, failure) });
+		} catch (Exception e) {
+			failure[0] = e;
+			processResult.setResult(-1);
+			processResult.setOutput(e.getMessage());
+			processResult.setComplete(true);
+		}
+		
+		//keep open til the daemon reports the build has finished, a cancelled build 
+		//still streams output until the daemon has stopped it
+		while (!processResult.isComplete()) {
+			if (!processResult.isCancelled() && monitor != null && monitor.isCanceled()) {
+				processResult.setCancelled(true);
+				cancel(cancellationTokenSource);
+			}
+			Thread.sleep(100);
+		}
+		if (output != null) {
+			output.close();
+		}
+		boolean successful = !processResult.isCancelled() && processResult.getResult() == 0;
+		interaction.reportExecutionFinished(successful, processResult.getOutput(), failure[0]);
+		connector.warmUp(workingDirectory);
+		return processResult;
+	}
+
+	public GradleProcessResult refreshTasks(File workingDirectory, String commandLine, 
+											ExecutionInteraction interaction, IProgressMonitor monitor) throws InterruptedException {
+		// the task model is calculated before the first build, a good time to start the daemon
+		connector.warmUp(workingDirectory);
+		return fallback.refreshTasks(workingDirectory, commandLine, interaction, monitor);
+	}
+
+	public List<ProjectView> getProjects() {
+		return fallback.getProjects();
+	}
+
+	/**
+	 * Cancellation is only supported by tooling api versions providing a CancellationTokenSource. 
+	 * @return the token source or <code>null</code>
+	 * */
+	private Object configureCancellation(Object launcher) throws Exception {
+		if (!connector.supports(ToolingApiConnector.GRADLE_CONNECTOR, "newCancellationTokenSource", new Class<?>[0])) { //$NON-NLS-1$
+			return null;
+		}
+		Object tokenSource = connector.invokeStatic(ToolingApiConnector.GRADLE_CONNECTOR, "newCancellationTokenSource"); //$NON-NLS-1$
+		Object token = connector.invoke(tokenSource, ToolingApiConnector.CANCELLATION_TOKEN_SOURCE, "token"); //$NON-NLS-1$
+		connector.invoke(launcher, ToolingApiConnector.BUILD_LAUNCHER, "withCancellationToken",  //$NON-NLS-1$
+				new Class<?>[] { connector.loadClass(ToolingApiConnector.CANCELLATION_TOKEN) }, new Object[] { token });
+		return tokenSource;
+	}
+
+	private void cancel(Object cancellationTokenSource) {
+		if (cancellationTokenSource == null) {
+			return;
+		}
+		try {
+			connector.invoke(cancellationTokenSource, ToolingApiConnector.CANCELLATION_TOKEN_SOURCE, "cancel"); //$NON-NLS-1$
+		} catch (Exception e) {
+			GradlePlugin.log("Unable to cancel gradle build", e); //$NON-NLS-1$
+		}
+	}
+
+	private Object createProgressListener(Class<?> progressListenerType, final ExecutionInteraction interaction) {
+		return Proxy.newProxyInstance(progressListenerType.getClassLoader(), new Class<?>[] { progressListenerType }, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if ("statusChanged".equals(method.getName())) { //$NON-NLS-1$
+					String description = (String) connector.invoke(args[0], ToolingApiConnector.PROGRESS_EVENT, "getDescription"); //$NON-NLS-1$
+					if (description != null && description.length() > 0) {
+						interaction.reportTaskStarted(description, 0);
+					}
+					return null;
+				}
+				return handleObjectMethod(proxy, method, args);
+			}
+		});
+	}
+
+	private Object createResultHandler(Class<?> resultHandlerType, final GradleProcessResult processResult, final Throwable[] failure) {
+		return Proxy.newProxyInstance(resultHandlerType.getClassLoader(), new Class<?>[] { resultHandlerType }, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if ("onComplete".equals(method.getName())) { //$NON-NLS-1$
+					processResult.setResult(0);
+					processResult.setComplete(true);
+					return null;
+				} else if ("onFailure".equals(method.getName())) { //$NON-NLS-1$
+					Throwable exception = (Throwable) args[0];
+					failure[0] = exception;
+					// 1 indicates the build failed, -1 that gradle could not be run at all
+					boolean buildFailed = connector.loadClass(ToolingApiConnector.BUILD_EXCEPTION).isInstance(exception);
+					processResult.setResult(buildFailed ? 1 : -1);
+					processResult.setOutput(exception.getMessage());
+					processResult.setComplete(true);
+					return null;
+				}
+				return handleObjectMethod(proxy, method, args);
+			}
+		});
+	}
+
+	private static Object handleObjectMethod(Object proxy, Method method, Object[] args) {
+		String name = method.getName();
+		if ("equals".equals(name)) { //$NON-NLS-1$
+			return Boolean.valueOf(proxy == args[0]);
+		} else if ("hashCode".equals(name)) { //$NON-NLS-1$
+			return Integer.valueOf(System.identityHashCode(proxy));
+		} else if ("toString".equals(name)) { //$NON-NLS-1$
+			return proxy.getClass().getName();
+		}
+		return null;
+	}
+
+	/**
+	 * Passes everything written by the daemon as live output to the interaction. 
+	 * Standard output and error share one decoder, so a multi byte character split 
+	 * across two writes is kept until its remaining bytes arrive.
+	 * */
+	private static class LiveOutputStream extends OutputStream {
+
+		private final ExecutionInteraction interaction;
+		// the daemon writes its output in the default encoding of the jvm it was started from
+		private final CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		private final ByteBuffer pending = ByteBuffer.allocate(16);
+		private final CharBuffer chars = CharBuffer.allocate(8192);
+
+		LiveOutputStream(ExecutionInteraction interaction) {
+			this.interaction = interaction;
+		}
+
+		public synchronized void write(int b) {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		public synchronized void write(byte[] b, int off, int len) {
+			ByteBuffer input = ByteBuffer.wrap(b, off, len);
+			// complete a character left over from the previous write first
+			while (pending.position() > 0 && input.hasRemaining()) {
+				pending.put(input.get());
+				pending.flip();
+				decode(pending, false);
+				pending.compact();
+			}
+			decode(input, false);
+			pending.put(input);
+		}
+
+		/**
+		 * Does nothing, the tooling api may flush in the middle of a character 
+		 * whose remaining bytes are still to come. Decoded output is reported on every write.
+		 * */
+		public void flush() {
+		}
+
+		/**
+		 * Reports the bytes of an incomplete trailing character, if any, once the build has finished.
+		 * */
+		public synchronized void close() {
+			pending.flip();
+			decode(pending, true);
+			decoder.flush(chars);
+			reportChars();
+			decoder.reset();
+			pending.clear();
+		}
+
+		private void decode(ByteBuffer input, boolean endOfInput) {
+			while (decoder.decode(input, chars, endOfInput).isOverflow()) {
+				reportChars();
+			}
+			reportChars();
+		}
+
+		private void reportChars() {
+			if (chars.position() > 0) {
+				chars.flip();
+				interaction.reportLiveOutput(chars.toString());
+				chars.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.events;
+
+import org.gradle.eclipse.launchConfigurations.GradleLogLevel;
+
+/**
+ * One line of gradle build output, parsed once by {@link GradleBuildEventParser} and 
+ * shared by all consumers of the output, e.g. the console, markers and progress reporting.
+ */
+public final class GradleBuildEvent {
+
+	private final String fLine;
+	private final GradleLogLevel fLevel;
+	private final int fTimeOfDay;
+	private final String fCategory;
+	private final int fMessageStart;
+	private final int fMessageEnd;
+	private final String fTask;
+	private final boolean fTaskHeader;
+	private final String fFile;
+	private final int fLineNumber;
+	private final GradleLogLevel fDiagnosticLevel;
+	private final int fDiagnosticStart;
+
+	GradleBuildEvent(String line, GradleLogLevel level, int timeOfDay, String category, int messageStart, int messageEnd, 
+			String task, boolean taskHeader, String file, int lineNumber, GradleLogLevel diagnosticLevel, int diagnosticStart) {
+		fLine = line;
+		fLevel = level;
+		fTimeOfDay = timeOfDay;
+		fCategory = category;
+		fMessageStart = messageStart;
+		fMessageEnd = messageEnd;
+		fTask = task;
+		fTaskHeader = taskHeader;
+		fFile = file;
+		fLineNumber = lineNumber;
+		fDiagnosticLevel = diagnosticLevel;
+		fDiagnosticStart = diagnosticStart;
+	}
+
+	/**
+	 * @return the complete output line including its line delimiter
+	 */
+	public String getLine() {
+		return fLine;
+	}
+
+	/**
+	 * @return the log level of the line, {@link GradleLogLevel#NONE} if the line has no level prefix
+	 */
+	public GradleLogLevel getLevel() {
+		return fLevel;
+	}
+
+	/**
+	 * @return the milliseconds since midnight of the timestamp prefix, <code>-1</code> if the line has no timestamp
+	 */
+	public int getTimeOfDay() {
+		return fTimeOfDay;
+	}
+
+	/**
+	 * @return the name of the logger which produced the line, <code>null</code> if unknown
+	 */
+	public String getCategory() {
+		return fCategory;
+	}
+
+	/**
+	 * @return the line without log prefix and line delimiter
+	 */
+	public String getMessage() {
+		return fLine.substring(fMessageStart, fMessageEnd);
+	}
+
+	/**
+	 * @return the offset of the message within the line
+	 */
+	public int getMessageOffset() {
+		return fMessageStart;
+	}
+
+	/**
+	 * @return the path of the task producing the line, <code>null</code> if no task is running
+	 */
+	public String getTask() {
+		return fTask;
+	}
+
+	/**
+	 * @return <code>true</code> if the line announces the start of {@link #getTask()}
+	 */
+	public boolean isTaskHeader() {
+		return fTaskHeader;
+	}
+
+	/**
+	 * @return the source file a compiler diagnostic refers to, as printed by the compiler, 
+	 * <code>null</code> if the line is no diagnostic
+	 */
+	public String getFile() {
+		return fFile;
+	}
+
+	/**
+	 * @return the 1-based line number a compiler diagnostic refers to, <code>-1</code> if unknown
+	 */
+	public int getLineNumber() {
+		return fLineNumber;
+	}
+
+	/**
+	 * @return {@link GradleLogLevel#ERROR} or {@link GradleLogLevel#WARN} for compiler diagnostics,
+	 * {@link GradleLogLevel#NONE} otherwise
+	 */
+	public GradleLogLevel getDiagnosticLevel() {
+		return fDiagnosticLevel;
+	}
+
+	/**
+	 * @return the text of a compiler diagnostic without location and severity, 
+	 * <code>null</code> if the line is no diagnostic
+	 */
+	public String getDiagnosticMessage() {
+		return fDiagnosticStart == -1 ? null : fLine.substring(fDiagnosticStart, fMessageEnd);
+	}
+
+	/**
+	 * @return <code>true</code> if the line is a compiler diagnostic with a source file
+	 */
+	public boolean isDiagnostic() {
+		return fFile != null;
+	}
+
+	public String toString() {
+		return fLine;
+	}
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.events;
+
+import org.gradle.eclipse.launchConfigurations.GradleLogLevel;
+import org.gradle.eclipse.launchConfigurations.GradleLogLevelClassifier;
+
+/**
+ * Parses a line of gradle build output into a {@link GradleBuildEvent}. Recognizes the log 
+ * prefixes understood by {@link GradleLogLevelClassifier}, task headers like 
+ * <code>:compileJava UP-TO-DATE</code> and compiler diagnostics like 
+ * <code>src/Foo.java:12: warning: message</code>.
+ */
+public final class GradleBuildEventParser {
+
+	/**
+	 * length of the "HH:mm:ss.SSS " timestamp prefix
+	 */
+	private static final int TIMESTAMP_LENGTH = 13;
+
+	/**
+	 * maximum number of digits of a diagnostic line number, more do not fit into an int
+	 */
+	private static final int MAX_LINE_NUMBER_DIGITS = 9;
+
+	private static final String[] SOURCE_EXTENSIONS = { ".java:", ".groovy:", ".scala:" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private GradleBuildEventParser() {
+	}
+
+	/**
+	 * @param line a complete line of the build output, optionally terminated by a line delimiter
+	 * @param currentTask the task running before this line, <code>null</code> if none
+	 */
+	public static GradleBuildEvent parse(String line, String currentTask) {
+		int end = line.length();
+		if (end > 0 && line.charAt(end - 1) == '\n') {
+			end--;
+		}
+		if (end > 0 && line.charAt(end - 1) == '\r') {
+			end--;
+		}
+		GradleLogLevel level = GradleLogLevelClassifier.classify(line);
+		int timeOfDay = -1;
+		String category = null;
+		int messageStart = 0;
+		if (level != GradleLogLevel.NONE) {
+			timeOfDay = parseTimeOfDay(line);
+			int position = TIMESTAMP_LENGTH;
+			int categoryEnd = -1;
+			int levelEnd = skipBlanks(line, position + 1 + level.name().length(), end);
+			if (line.startsWith(level.name(), position + 1) && levelEnd < end && line.charAt(levelEnd) == ']') {
+				// 12:34:56.789 [DEBUG] [org.gradle.Logger] message
+				position = skipBlanks(line, levelEnd + 1, end);
+				if (position < end && line.charAt(position) == '[') {
+					categoryEnd = line.indexOf(']', position);
+					if (categoryEnd != -1 && categoryEnd < end) {
+						category = line.substring(position + 1, categoryEnd);
+						position = categoryEnd + 1;
+						if (position < end && line.charAt(position) == ' ') {
+							position++;
+						}
+					}
+				}
+			} else {
+				// 12:34:56.789 [main] DEBUG org.gradle.Logger - message
+				if (position < end && line.charAt(position) == '[') {
+					int threadEnd = line.indexOf(']', position);
+					position = threadEnd == -1 || threadEnd >= end ? end : threadEnd + 1;
+				}
+				position = Math.min(skipBlanks(line, position, end) + level.name().length(), end);
+				position = skipBlanks(line, position, end);
+				categoryEnd = line.indexOf(' ', position);
+				if (categoryEnd != -1 && categoryEnd < end) {
+					category = line.substring(position, categoryEnd);
+					position = categoryEnd + 1;
+					if (line.startsWith("- ", position)) { //$NON-NLS-1$
+						position += 2;
+					}
+				}
+			}
+			messageStart = Math.min(position, end);
+		}
+
+		String task = currentTask;
+		boolean taskHeader = false;
+		if (level == GradleLogLevel.NONE || level == GradleLogLevel.LIFECYCLE || level == GradleLogLevel.QUIET) {
+			String headerTask = parseTaskHeader(line, messageStart, end);
+			if (headerTask != null) {
+				task = headerTask;
+				taskHeader = true;
+			} else if (line.startsWith("BUILD ", messageStart)) { //$NON-NLS-1$
+				task = null;
+			}
+		}
+
+		String file = null;
+		int lineNumber = -1;
+		GradleLogLevel diagnosticLevel = GradleLogLevel.NONE;
+		int diagnosticStart = -1;
+		int locationEnd = findDiagnosticLocation(line, messageStart, end);
+		if (locationEnd != -1) {
+			int colon = line.lastIndexOf(':', locationEnd - 1);
+			int extensionEnd = line.lastIndexOf(':', colon - 1);
+			int pathStart = skipToolPrefix(line, messageStart, extensionEnd);
+			file = line.substring(pathStart, extensionEnd);
+			lineNumber = Integer.parseInt(line.substring(extensionEnd + 1, colon));
+			diagnosticStart = skipBlanks(line, locationEnd, end);
+			if (line.startsWith("warning:", diagnosticStart)) { //$NON-NLS-1$
+				diagnosticLevel = GradleLogLevel.WARN;
+				diagnosticStart = skipBlanks(line, diagnosticStart + 8, end);
+			} else {
+				diagnosticLevel = GradleLogLevel.ERROR;
+				if (line.startsWith("error:", diagnosticStart)) { //$NON-NLS-1$
+					diagnosticStart = skipBlanks(line, diagnosticStart + 6, end);
+				}
+			}
+		}
+		return new GradleBuildEvent(line, level, timeOfDay, category, messageStart, end, task, taskHeader, 
+				file, lineNumber, diagnosticLevel, diagnosticStart);
+	}
+
+	/**
+	 * @return the task path if the message is a task header like <code>:project:compileJava</code> 
+	 * optionally followed by a status like <code>UP-TO-DATE</code>, <code>null</code> otherwise
+	 */
+	private static String parseTaskHeader(String line, int start, int end) {
+		if (start >= end || line.charAt(start) != ':') {
+			return null;
+		}
+		int position = start + 1;
+		while (position < end && isTaskPathCharacter(line.charAt(position))) {
+			position++;
+		}
+		if (position == start + 1) {
+			return null;
+		}
+		if (position < end) {
+			if (line.charAt(position) != ' ') {
+				return null;
+			}
+			for (int i = position + 1; i < end; i++) {
+				char c = line.charAt(i);
+				if (!(c >= 'A' && c <= 'Z') && c != '-') {
+					return null;
+				}
+			}
+		}
+		return line.substring(start, position);
+	}
+
+	private static boolean isTaskPathCharacter(char c) {
+		return Character.isLetterOrDigit(c) || c == ':' || c == '_' || c == '-' || c == '.';
+	}
+
+	/**
+	 * @return the offset behind the <code>File.java:LINE:</code> location of a compiler diagnostic 
+	 * starting the message, <code>-1</code> if the message is no diagnostic
+	 */
+	private static int findDiagnosticLocation(String line, int start, int end) {
+		for (int i = 0; i < SOURCE_EXTENSIONS.length; i++) {
+			int extension = line.indexOf(SOURCE_EXTENSIONS[i], start);
+			if (extension == -1 || extension >= end) {
+				continue;
+			}
+			int position = extension + SOURCE_EXTENSIONS[i].length();
+			int digits = position;
+			while (position < end && Character.isDigit(line.charAt(position))) {
+				position++;
+			}
+			if (position > digits && position - digits <= MAX_LINE_NUMBER_DIGITS && position < end && line.charAt(position) == ':') {
+				return position + 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the offset behind leading blanks and an ant tool prefix like <code>[ant:javac] </code>
+	 */
+	private static int skipToolPrefix(String line, int start, int end) {
+		int position = skipBlanks(line, start, end);
+		if (line.startsWith("[ant:", position)) { //$NON-NLS-1$
+			int close = line.indexOf(']', position);
+			if (close != -1 && close < end) {
+				position = skipBlanks(line, close + 1, end);
+			}
+		}
+		return position;
+	}
+
+	private static int skipBlanks(String line, int position, int end) {
+		while (position < end && (line.charAt(position) == ' ' || line.charAt(position) == '\t')) {
+			position++;
+		}
+		return position;
+	}
+
+	private static int parseTimeOfDay(String line) {
+		int hours = digits(line, 0, 2);
+		int minutes = digits(line, 3, 5);
+		int seconds = digits(line, 6, 8);
+		int millis = digits(line, 9, 12);
+		if (hours < 0 || minutes < 0 || seconds < 0 || millis < 0) {
+			return -1;
+		}
+		return ((hours * 60 + minutes) * 60 + seconds) * 1000 + millis;
+	}
+
+	private static int digits(String line, int start, int end) {
+		int value = 0;
+		for (int i = start; i < end; i++) {
+			char c = line.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.events;
+
+import org.eclipse.core.runtime.ListenerList;
+
+/**
+ * Parses each line of a gradle build output once and passes the resulting 
+ * {@link GradleBuildEvent} to all registered listeners, in registration order. 
+ * Tracks the running task across lines.
+ */
+public class GradleBuildEventPublisher {
+
+	private final ListenerList fListeners = new ListenerList(ListenerList.IDENTITY);
+	private volatile String fCurrentTask = null;
+
+	public void addListener(IGradleBuildEventListener listener) {
+		fListeners.add(listener);
+	}
+
+	public void removeListener(IGradleBuildEventListener listener) {
+		fListeners.remove(listener);
+	}
+
+	/**
+	 * @param task the path of the task gradle reported as started, e.g. <code>:compileJava</code>
+	 */
+	public void setCurrentTask(String task) {
+		fCurrentTask = task;
+	}
+
+	/**
+	 * @return the path of the running task, <code>null</code> if no task is running
+	 */
+	public String getCurrentTask() {
+		return fCurrentTask;
+	}
+
+	/**
+	 * Parses the given complete line and notifies the listeners.
+	 * 
+	 * @param line a line of the build output including its line delimiter
+	 * @return the parsed line
+	 */
+	public GradleBuildEvent publish(String line) {
+		GradleBuildEvent event = GradleBuildEventParser.parse(line, fCurrentTask);
+		fCurrentTask = event.getTask();
+		Object[] listeners = fListeners.getListeners();
+		for (int i = 0; i < listeners.length; i++) {
+			((IGradleBuildEventListener) listeners[i]).handleEvent(event);
+		}
+		return event;
+	}
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.events;
+
+/**
+ * Receives the parsed lines of a gradle build from a {@link GradleBuildEventPublisher}.
+ * Listeners are notified on the thread reporting the gradle output and must return quickly.
+ */
+public interface IGradleBuildEventListener {
+
+	/**
+	 * @param event the next line of the build output
+	 */
+	public void handleEvent(GradleBuildEvent event);
+}
@@ -15,10 +15,11 @@
  */
 package org.gradle.eclipse.interaction;
 
-import java.io.IOException;
+import java.io.File;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.gradle.eclipse.launchConfigurations.GradleProcess;
+import org.gradle.eclipse.markers.GradleProblemMarkerUpdater;
 import org.gradle.foundation.ipc.gradle.ExecuteGradleCommandServerProtocol;
 
 /**
@@ -32,17 +33,48 @@ public class GradleBuildExecutionInteraction extends GradleProcessExecListener{
 	private static int HUNDRED_PERCENT = 100;
 	private static int START_PERCENTAGE = 5;
 	private int percentProTask = 10;
+	private final boolean terminateProcess;
+	private final File buildDirectory;
+	private GradleProblemMarkerUpdater markerUpdater = null;
 	
 	public GradleBuildExecutionInteraction(IProgressMonitor monitor, GradleProcess gradleProcess) {
+		this(monitor, gradleProcess, true);
+	}
+
+	/**
+	 * @param terminateProcess <code>false</code> if the process outlives this execution,
+	 * e.g. for continuous builds re-running the same tasks in one launch.
+	 * */
+	public GradleBuildExecutionInteraction(IProgressMonitor monitor, GradleProcess gradleProcess, boolean terminateProcess) {
+		this(monitor, gradleProcess, terminateProcess, null);
+	}
+
+	/**
+	 * @param buildDirectory the directory of the executed build file, compiler diagnostics 
+	 * of the build become problem markers if set.
+	 * */
+	public GradleBuildExecutionInteraction(IProgressMonitor monitor, GradleProcess gradleProcess, boolean terminateProcess, File buildDirectory) {
 		super(monitor);
 		this.process = gradleProcess;
+		this.terminateProcess = terminateProcess;
+		this.buildDirectory = buildDirectory;
 	}
 
 	
 	public void reportExecutionFinished(boolean arg0, String arg1,
 			Throwable arg2) {	
 		super.reportExecutionFinished(arg0, arg1, arg2);
-		process.terminated();
+		if(process!=null){
+			process.flushOutput();
+			if(markerUpdater!=null){
+				process.getEventPublisher().removeListener(markerUpdater);
+				markerUpdater.buildFinished(arg0);
+				markerUpdater = null;
+			}
+		}
+		if(terminateProcess){
+			process.terminated();
+		}
 	}
 
 	/**
@@ -50,6 +82,10 @@ public class GradleBuildExecutionInteraction extends GradleProcessExecListener{
 	 * */
 	public void reportExecutionStarted() {
 		beginTask("Executing Gradle Build", HUNDRED_PERCENT);
+		if(process!=null && buildDirectory!=null){
+			markerUpdater = new GradleProblemMarkerUpdater(buildDirectory);
+			process.getEventPublisher().addListener(markerUpdater);
+		}
 		worked(START_PERCENTAGE);
 	}
 
@@ -58,11 +94,7 @@ public class GradleBuildExecutionInteraction extends GradleProcessExecListener{
 	 * */
 	public void reportLiveOutput(String arg0) {
 		if(process!=null){
-			try {
-				process.getStreamsProxy().write(arg0);
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
+			process.writeOutput(arg0);
 		}
 	}
 
@@ -77,6 +109,9 @@ public class GradleBuildExecutionInteraction extends GradleProcessExecListener{
 	 * @see ExecuteGradleCommandServerProtocol.ExecutionInteraction#reportTaskStarted(String, float)
 	 * */
 	public void reportTaskStarted(String arg0, float arg1) {
+		if(process!=null){
+			process.getEventPublisher().setCurrentTask(arg0);
+		}
 		subTask("Running Task :" + arg0);
 	}
 
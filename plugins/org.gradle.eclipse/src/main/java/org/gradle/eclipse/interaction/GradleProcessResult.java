@@ -22,7 +22,8 @@ package org.gradle.eclipse.interaction;
  */
 public class GradleProcessResult {
 
-	private boolean complete = false;
+	private volatile boolean complete = false;
+	private boolean cancelled = false;
 	private int result = 0;
 	private String output;
 	
@@ -49,4 +50,12 @@ public class GradleProcessResult {
 	public void setComplete(boolean complete) {
 		this.complete = complete;
 	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public void setCancelled(boolean cancelled) {
+		this.cancelled = cancelled;
+	}
 }
@@ -16,21 +16,46 @@
 package org.gradle.eclipse.interaction;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.gradle.eclipse.events.GradleBuildEvent;
+import org.gradle.eclipse.events.GradleBuildEventPublisher;
+import org.gradle.eclipse.events.IGradleBuildEventListener;
+import org.gradle.eclipse.launchConfigurations.StreamLineSplitter;
 
 public class UpdateEclipseCpInteraction extends GradleBackgroundRequestExecutionInteraction{
 
+	private final GradleBuildEventPublisher eventPublisher = new GradleBuildEventPublisher();
+	private final StreamLineSplitter lineSplitter = new StreamLineSplitter(new StreamLineSplitter.ILineHandler() {
+		public void handleLine(String line) {
+			eventPublisher.publish(line);
+		}
+	});
+
 	public UpdateEclipseCpInteraction(IProgressMonitor monitor) {
 		super(monitor);
+		eventPublisher.addListener(new IGradleBuildEventListener() {
+			public void handleEvent(GradleBuildEvent event) {
+				String message = event.getMessage();
+				if(message.startsWith("Download")){ //$NON-NLS-1$
+					subTask(message);
+				}
+			}
+		});
 	}
 	
 	@Override
-	public void reportLiveOutput(String output) {
-		if(output.startsWith("\nDownload")){ //use own build logger to grap output //just a prototype here!
-			monitor.subTask(output);
-		}
+	public synchronized void reportLiveOutput(String output) {
+		lineSplitter.append(output);
+	}
+
+	@Override
+	public synchronized void reportExecutionFinished(boolean success, String message, Throwable thrown) {
+		// a last line without line feed is only published on flush
+		lineSplitter.flush();
+		super.reportExecutionFinished(success, message, thrown);
 	}
 
 	public void reportTaskStarted(String task, float arg1) {
+		eventPublisher.setCurrentTask(task);
 		monitor.setTaskName("Starting Gradle Task: " + task);
 	}
 }
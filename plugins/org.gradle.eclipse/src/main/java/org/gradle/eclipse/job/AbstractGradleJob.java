@@ -26,14 +26,11 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.engine.IGradleExecutionEngine;
 import org.gradle.eclipse.interaction.GradleProcessExecListener;
 import org.gradle.eclipse.interaction.GradleProcessResult;
 import org.gradle.eclipse.preferences.IGradlePreferenceConstants;
 import org.gradle.eclipse.util.GradleUtil;
-import org.gradle.gradleplugin.foundation.GradlePluginLord;
-import org.gradle.gradleplugin.foundation.request.ExecutionRequest;
-import org.gradle.gradleplugin.foundation.request.RefreshTaskListRequest;
-import org.gradle.gradleplugin.foundation.request.Request;
 
 /**
  * @author Rene Groeschke
@@ -44,7 +41,7 @@ abstract class AbstractGradleJob extends Job{
 	protected String initScriptPath = null;
 	protected String buildFilePath = null;
 	protected final IProject project;
-	protected final GradlePluginLord pluginLord;
+	protected final IGradleExecutionEngine executionEngine;
 	
 	private List<String> tasks = new ArrayList<String>();
 	private final boolean useRefreshQueue;
@@ -60,19 +57,19 @@ abstract class AbstractGradleJob extends Job{
 	}
 
 	public AbstractGradleJob(IProject project, 
-							 GradlePluginLord pluginLord, 
+							 IGradleExecutionEngine executionEngine, 
 							 String name,
 							 String absoluteBuildFilePath){
-		this(project, pluginLord, name, absoluteBuildFilePath, false);
+		this(project, executionEngine, name, absoluteBuildFilePath, false);
 	}
 	
 	public AbstractGradleJob(IProject project, 
-			 GradlePluginLord pluginLord, 
+			 IGradleExecutionEngine executionEngine, 
 			 String name, 
 			 String absoluteBuildFilePath,
 			 boolean useRefreshQueue){
 		super(name);
-		this.pluginLord = pluginLord;
+		this.executionEngine = executionEngine;
 		this.project = project;
 		this.buildFilePath = absoluteBuildFilePath;
 
@@ -142,48 +139,21 @@ abstract class AbstractGradleJob extends Job{
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
 		final GradleProcessExecListener executionListener = createExecutionListener(monitor);
-		pluginLord.setCurrentDirectory(new File(new File(buildFilePath).getParent()));
-
-		pluginLord.startExecutionQueue();
-		final GradleProcessResult processResult = new GradleProcessResult();
-
-		GradlePluginLord.RequestObserver observer = new GradlePluginLord.RequestObserver() {
-	           
-			public void executionRequestAdded( ExecutionRequest request ){
-				request.setExecutionInteraction( executionListener );
-	        }
-	        
-			public void refreshRequestAdded( RefreshTaskListRequest request ) { 
-	        }
-	        
-			public void aboutToExecuteRequest( Request request ) { 
-	        }
-
-	        public void requestExecutionComplete( Request request, int result, String output ) {
-	        	processResult.setComplete(true);
-	        	processResult.setResult(result);
-	        	processResult.setOutput(output);
-	        }
-	    };
-	    // add the observer before we add the request due to timing issues.
-	    // It's possible for it to completely execute before we return from
-	    // addExecutionRequestToQueue.
-	    pluginLord.addRequestObserver(observer, false);
-	    String gradleCommandLine = setupGradleCommandLine();
-	    
-	    if(useRefreshQueue){
-		    pluginLord.addRefreshRequestToQueue(gradleCommandLine);
-	    }else{
-	    	pluginLord.addExecutionRequestToQueue(gradleCommandLine, getName());
-	    }
-	    
-		//keep job open til listener reports gradle has finished
-		while(!processResult.isComplete()){
-			try {
-				Thread.sleep(100);
-			} catch (InterruptedException e) {
-				return new Status(IStatus.WARNING, GradlePlugin.PLUGIN_ID, "Error while recalculating Gradle Tasks", e);
+		File workingDirectory = new File(new File(buildFilePath).getParent());
+		String gradleCommandLine = setupGradleCommandLine();
+
+		GradleProcessResult processResult = null;
+		try {
+			if(useRefreshQueue){
+				processResult = executionEngine.refreshTasks(workingDirectory, gradleCommandLine, executionListener, monitor);
+			}else{
+				processResult = executionEngine.execute(workingDirectory, gradleCommandLine, getName(), executionListener, monitor);
 			}
+		} catch (InterruptedException e) {
+			return new Status(IStatus.WARNING, GradlePlugin.PLUGIN_ID, "Error while recalculating Gradle Tasks", e);
+		}
+		if(processResult.isCancelled()){
+			return Status.CANCEL_STATUS;
 		}
 		// -1 indicates failing process creation
 	 	//  1 indicates process started correctly but build failed
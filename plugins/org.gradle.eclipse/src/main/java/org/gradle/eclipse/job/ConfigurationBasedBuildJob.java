@@ -15,28 +15,30 @@
  */
 package org.gradle.eclipse.job;
 
+import java.io.File;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.gradle.eclipse.engine.IGradleExecutionEngine;
 import org.gradle.eclipse.interaction.GradleBuildExecutionInteraction;
 import org.gradle.eclipse.interaction.GradleProcessExecListener;
 import org.gradle.eclipse.launchConfigurations.GradleProcess;
-import org.gradle.gradleplugin.foundation.GradlePluginLord;
 
 
 public class ConfigurationBasedBuildJob extends AbstractGradleJob {
 
 	private final GradleProcess process;
 	
-	public ConfigurationBasedBuildJob(IProject project, GradlePluginLord gradlePluginLord,
+	public ConfigurationBasedBuildJob(IProject project, IGradleExecutionEngine executionEngine,
 			String absoluteBuildFilePath, GradleProcess process) {
 
-		super(project, gradlePluginLord, "Running Gradle Build...", absoluteBuildFilePath);
+		super(project, executionEngine, "Running Gradle Build...", absoluteBuildFilePath);
 		this.process = process;
 	}
 
 	@Override
 	protected GradleProcessExecListener createExecutionListener(
 			IProgressMonitor monitor) {
-		return new GradleBuildExecutionInteraction(monitor, process);
+		return new GradleBuildExecutionInteraction(monitor, process, true, new File(buildFilePath).getParentFile());
 	}
 }
@@ -0,0 +1,46 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.job;
+
+import java.io.File;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.gradle.eclipse.engine.IGradleExecutionEngine;
+import org.gradle.eclipse.interaction.GradleBuildExecutionInteraction;
+import org.gradle.eclipse.interaction.GradleProcessExecListener;
+import org.gradle.eclipse.launchConfigurations.GradleProcess;
+
+/**
+ * Build job of a continuous launch. The job is rescheduled by a {@link ContinuousBuildWatcher}
+ * for every change below the build root and reuses the same {@link IGradleExecutionEngine} for all runs.
+ * The attached {@link GradleProcess} stays alive until the launch is terminated.
+ */
+public class ContinuousBuildJob extends AbstractGradleJob {
+
+	private final GradleProcess process;
+
+	public ContinuousBuildJob(IProject project, IGradleExecutionEngine executionEngine,
+			String absoluteBuildFilePath, GradleProcess process) {
+		super(project, executionEngine, "Running Continuous Gradle Build...", absoluteBuildFilePath);
+		this.process = process;
+	}
+
+	@Override
+	protected GradleProcessExecListener createExecutionListener(IProgressMonitor monitor) {
+		return new GradleBuildExecutionInteraction(monitor, process, false, new File(buildFilePath).getParentFile());
+	}
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.job;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.Job;
+import org.gradle.eclipse.GradlePlugin;
+
+/**
+ * Watches the workspace for saved files below the root directory of a build and
+ * reschedules the build job of a continuous launch.
+ * 
+ * Changes are debounced: the job runs once no further change arrived for {@link #QUIET_PERIOD}
+ * milliseconds. A change arriving while the job is running cancels the running gradle request,
+ * the job is then restarted after the quiet period.
+ */
+public class ContinuousBuildWatcher implements IResourceChangeListener {
+
+	/**
+	 * time in milliseconds without further changes before the build is re-run
+	 * */
+	private static final long QUIET_PERIOD = 500;
+
+	/**
+	 * time in milliseconds between two checks whether a cancelled build has stopped
+	 * */
+	private static final long STOP_POLL_INTERVAL = 50;
+
+	private static final String GRADLE_OUTPUT_FOLDER = "build"; //$NON-NLS-1$
+	private static final String GRADLE_STATE_FOLDER = ".gradle"; //$NON-NLS-1$
+	private static final String GRADLE_BUILD_FILE = "build.gradle"; //$NON-NLS-1$
+
+	private final IPath buildRoot;
+	private final Job buildJob;
+	private volatile boolean disposed = false;
+
+	/**
+	 * @param buildRoot the absolute location of the directory containing the build file
+	 * @param buildJob the job to reschedule on changes
+	 * */
+	public ContinuousBuildWatcher(IPath buildRoot, Job buildJob) {
+		this.buildRoot = buildRoot;
+		this.buildJob = buildJob;
+	}
+
+	/**
+	 * Runs the build once and starts listening for changes.
+	 * */
+	public void start() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		buildJob.schedule();
+	}
+
+	/**
+	 * Stops listening for changes and cancels a running build.
+	 * */
+	public void dispose() {
+		disposed = true;
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		buildJob.cancel();
+	}
+
+	/**
+	 * Waits until a build cancelled by {@link #dispose()} has stopped writing output.
+	 * 
+	 * @param timeout the maximum time to wait in milliseconds
+	 * @return <code>false</code> if the build is still running after the timeout
+	 * */
+	public boolean awaitBuildStopped(long timeout) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeout;
+		while (buildJob.getState() != Job.NONE) {
+			if (System.currentTimeMillis() >= deadline) {
+				return false;
+			}
+			Thread.sleep(STOP_POLL_INTERVAL);
+		}
+		return true;
+	}
+
+	public boolean isDisposed() {
+		return disposed;
+	}
+
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (disposed || delta == null) {
+			return;
+		}
+		final boolean[] changed = new boolean[1];
+		try {
+			delta.accept(new IResourceDeltaVisitor() {
+				public boolean visit(IResourceDelta resourceDelta) {
+					if (changed[0]) {
+						return false;
+					}
+					IResource resource = resourceDelta.getResource();
+					switch (resource.getType()) {
+					case IResource.ROOT:
+						return true;
+					case IResource.PROJECT:
+						return overlapsBuildRoot(resource.getLocation());
+					case IResource.FOLDER:
+						return !isGradleOutputFolder((IFolder) resource);
+					case IResource.FILE:
+						if (isRelevantFileChange(resourceDelta) && isBelowBuildRoot(resource.getLocation())) {
+							changed[0] = true;
+						}
+						return false;
+					default:
+						return false;
+					}
+				}
+			});
+		} catch (CoreException e) {
+			GradlePlugin.log(e);
+		}
+		if (changed[0]) {
+			rebuild();
+		}
+	}
+
+	/**
+	 * Cancels a running build and schedules the next run after the quiet period.
+	 * Rescheduling a running job queues it to run again as soon as it has finished.
+	 * */
+	void rebuild() {
+		buildJob.cancel();
+		buildJob.schedule(QUIET_PERIOD);
+	}
+
+	private boolean isRelevantFileChange(IResourceDelta delta) {
+		if (delta.getResource().isDerived()) {
+			return false;
+		}
+		if (delta.getKind() == IResourceDelta.CHANGED) {
+			return (delta.getFlags() & IResourceDelta.CONTENT) != 0;
+		}
+		return true;
+	}
+
+	/**
+	 * output of the build itself must never trigger another run
+	 * */
+	private boolean isGradleOutputFolder(IFolder folder) {
+		String name = folder.getName();
+		if (GRADLE_STATE_FOLDER.equals(name)) {
+			return true;
+		}
+		return GRADLE_OUTPUT_FOLDER.equals(name) && folder.getParent().getFile(new Path(GRADLE_BUILD_FILE)).exists();
+	}
+
+	private boolean isBelowBuildRoot(IPath location) {
+		return location != null && buildRoot.isPrefixOf(location);
+	}
+
+	private boolean overlapsBuildRoot(IPath location) {
+		return location != null && (buildRoot.isPrefixOf(location) || location.isPrefixOf(buildRoot));
+	}
+}
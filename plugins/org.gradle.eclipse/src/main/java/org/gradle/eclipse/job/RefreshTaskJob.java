@@ -22,10 +22,10 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.gradle.eclipse.BuildInformationCache;
+import org.gradle.eclipse.engine.IGradleExecutionEngine;
 import org.gradle.eclipse.interaction.GradleBackgroundRequestExecutionInteraction;
 import org.gradle.eclipse.interaction.GradleProcessExecListener;
 import org.gradle.foundation.ProjectView;
-import org.gradle.gradleplugin.foundation.GradlePluginLord;
 
 
 /**
@@ -37,13 +37,13 @@ public class RefreshTaskJob extends AbstractGradleJob{
 
 	private BuildInformationCache cache;
 
-	public RefreshTaskJob(IProject project, String absoluteBuildFilePath, GradlePluginLord gradlePluginLord, BuildInformationCache cache) {
-		super(project, gradlePluginLord, "Calculating Gradle Tasks of " + project.getName(), absoluteBuildFilePath, true);
+	public RefreshTaskJob(IProject project, String absoluteBuildFilePath, IGradleExecutionEngine executionEngine, BuildInformationCache cache) {
+		super(project, executionEngine, "Calculating Gradle Tasks of " + project.getName(), absoluteBuildFilePath, true);
 		this.cache = cache;
 	}
 	
 	protected IStatus afterGradleExecutionHook(IProgressMonitor monitor){
-		List<ProjectView> projects = pluginLord.getProjects();
+		List<ProjectView> projects = executionEngine.getProjects();
 		cache.put(buildFilePath, projects);
 		return Status.OK_STATUS;
 	}
@@ -21,17 +21,17 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.engine.IGradleExecutionEngine;
 import org.gradle.eclipse.interaction.GradleProcessExecListener;
 import org.gradle.eclipse.interaction.UpdateEclipseCpInteraction;
-import org.gradle.gradleplugin.foundation.GradlePluginLord;
 
 public class UpdateClasspathJob extends AbstractGradleJob {
 
 	private static final String ECLIPSE_CP_TASK = "eclipseClasspath";
 	private static final String ECLIPSE_INIT_SCRIPT = "eclipse.gradle";
 		
-	public UpdateClasspathJob(IProject project, GradlePluginLord gradlePluginLord, String absoluteBuildFilePath) {
-		super(project, gradlePluginLord, "Update Classpath", absoluteBuildFilePath);
+	public UpdateClasspathJob(IProject project, IGradleExecutionEngine executionEngine, String absoluteBuildFilePath) {
+		super(project, executionEngine, "Update Classpath", absoluteBuildFilePath);
 		setInitScriptPath(GradlePlugin.getDefault().getInitScript(ECLIPSE_INIT_SCRIPT));
 		getTasks().add(ECLIPSE_CP_TASK);
 	}
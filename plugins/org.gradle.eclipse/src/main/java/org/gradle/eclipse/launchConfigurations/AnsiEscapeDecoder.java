@@ -0,0 +1,132 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+/**
+ * Removes ANSI escape sequences, e.g. colors and cursor movements of a rich console, from 
+ * output chunks of arbitrary size. The decoder is a state machine over single characters, 
+ * so a sequence split across chunks is removed as a whole. Chunks without an escape 
+ * character are returned as they are while no sequence is pending.
+ * 
+ * Recognized are control sequences (<code>ESC [</code> or <code>CSI</code>, parameters and a 
+ * final character), operating system commands (<code>ESC ]</code> up to <code>BEL</code> or 
+ * <code>ESC \</code>) and the other escape sequences (<code>ESC</code>, intermediate 
+ * characters and a final character).
+ * 
+ * This class is not thread safe.
+ */
+public class AnsiEscapeDecoder {
+
+	private static final char ESC = '\u001b';
+	private static final char CSI = '\u009b';
+	private static final char BEL = '\u0007';
+
+	private static final int TEXT = 0;
+	/**
+	 * after <code>ESC</code>
+	 */
+	private static final int ESCAPE = 1;
+	/**
+	 * within the parameters of a control sequence
+	 */
+	private static final int CONTROL = 2;
+	/**
+	 * within an operating system command
+	 */
+	private static final int COMMAND = 3;
+	/**
+	 * after <code>ESC</code> within an operating system command
+	 */
+	private static final int COMMAND_ESCAPE = 4;
+
+	private int state = TEXT;
+
+	/**
+	 * @return the given chunk without escape sequences
+	 */
+	public String decode(String chunk) {
+		if (state == TEXT && chunk.indexOf(ESC) == -1 && chunk.indexOf(CSI) == -1) {
+			return chunk;
+		}
+		StringBuilder text = new StringBuilder(chunk.length());
+		int length = chunk.length();
+		// start of the current run of plain text
+		int run = 0;
+		for (int i = 0; i < length; i++) {
+			char c = chunk.charAt(i);
+			if (state == TEXT) {
+				if (c == ESC || c == CSI) {
+					text.append(chunk, run, i);
+					state = c == ESC ? ESCAPE : CONTROL;
+					run = i + 1;
+				}
+				continue;
+			}
+			if (c == '\n') {
+				// a line feed ends every sequence, so broken output cannot swallow the following lines
+				state = TEXT;
+				run = i;
+				continue;
+			}
+			switch (state) {
+			case ESCAPE:
+				if (c == '[') {
+					state = CONTROL;
+				} else if (c == ']') {
+					state = COMMAND;
+				} else if (c < 0x20 || c > 0x2f) {
+					// a final character, intermediate characters keep the sequence open
+					state = TEXT;
+				}
+				break;
+			case CONTROL:
+				if (c >= 0x40 && c <= 0x7e) {
+					state = TEXT;
+				}
+				break;
+			case COMMAND:
+				if (c == BEL) {
+					state = TEXT;
+				} else if (c == ESC) {
+					state = COMMAND_ESCAPE;
+				}
+				break;
+			case COMMAND_ESCAPE:
+				state = c == ESC ? COMMAND_ESCAPE : (c == '\\' ? TEXT : COMMAND);
+				break;
+			}
+			run = i + 1;
+		}
+		if (state == TEXT) {
+			text.append(chunk, run, length);
+		}
+		return text.toString();
+	}
+
+	/**
+	 * @return <code>true</code> if the last chunk ended within an escape sequence
+	 */
+	public boolean isInSequence() {
+		return state != TEXT;
+	}
+
+	/**
+	 * Forgets a pending escape sequence, e.g. when a new build starts.
+	 */
+	public void reset() {
+		state = TEXT;
+	}
+}
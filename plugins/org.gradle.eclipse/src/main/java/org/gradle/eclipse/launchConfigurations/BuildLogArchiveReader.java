@@ -0,0 +1,275 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads an archive written by {@link BuildLogArchiveWriter}. Only the index is kept in memory, 
+ * blocks are inflated on demand, so archives of several GB can be searched with the memory 
+ * of a single block.
+ */
+public class BuildLogArchiveReader {
+
+	private static final String INDEX_SUFFIX = ".idx"; //$NON-NLS-1$
+
+	private final File dataFile;
+	private long[] offsets = new long[64];
+	private int[] compressedLengths = new int[64];
+	private int[] rawLengths = new int[64];
+	private long[] firstLines = new long[64];
+	private int blockCount = 0;
+	private long lineCount = 0;
+	private final List<Long> errorLines = new ArrayList<Long>();
+	private final List<Long> warningLines = new ArrayList<Long>();
+
+	/**
+	 * @return the index file belonging to the given archive data file
+	 */
+	public static File getIndexFile(File dataFile) {
+		return new File(dataFile.getPath() + INDEX_SUFFIX);
+	}
+
+	public BuildLogArchiveReader(File dataFile) throws IOException {
+		this.dataFile = dataFile;
+		readIndex();
+	}
+
+	/**
+	 * @return the archive data file
+	 */
+	public File getFile() {
+		return dataFile;
+	}
+
+	/**
+	 * @return the number of archived lines
+	 */
+	public long getLineCount() {
+		return lineCount;
+	}
+
+	/**
+	 * @return the line numbers of all ERROR lines in ascending order
+	 */
+	public List<Long> getErrorLines() {
+		return errorLines;
+	}
+
+	/**
+	 * @return the line numbers of all WARN lines in ascending order
+	 */
+	public List<Long> getWarningLines() {
+		return warningLines;
+	}
+
+	/**
+	 * @return the number of the first ERROR line, <code>-1</code> if the build logged no error
+	 */
+	public long getFirstErrorLine() {
+		return errorLines.isEmpty() ? -1 : errorLines.get(0).longValue();
+	}
+
+	/**
+	 * @return the given range of lines including their line delimiters, 
+	 * inflating only the blocks containing the range
+	 */
+	public String readLines(long firstLine, int count) throws IOException {
+		StringBuilder lines = new StringBuilder();
+		long line = Math.max(0, firstLine);
+		long end = Math.min(lineCount, firstLine + count);
+		int blockIndex = findBlock(line);
+		while (line < end && blockIndex < blockCount) {
+			String block = inflate(blockIndex);
+			int position = skipLines(block, (int) (line - firstLines[blockIndex]));
+			while (line < end && position < block.length()) {
+				int lineEnd = block.indexOf('\n', position);
+				lineEnd = lineEnd == -1 ? block.length() : lineEnd + 1;
+				lines.append(block, position, lineEnd);
+				position = lineEnd;
+				line++;
+			}
+			blockIndex++;
+		}
+		return lines.toString();
+	}
+
+	/**
+	 * @return the number of the first line at or after the given line containing the given text, 
+	 * <code>-1</code> if there is none. Blocks are inflated one at a time until the text is found.
+	 */
+	public long find(String text, long fromLine) throws IOException {
+		long start = Math.max(0, fromLine);
+		for (int blockIndex = findBlock(start); blockIndex < blockCount; blockIndex++) {
+			String block = inflate(blockIndex);
+			long line = firstLines[blockIndex];
+			int position = 0;
+			if (start > line) {
+				position = skipLines(block, (int) (start - line));
+				line = start;
+			}
+			int match = block.indexOf(text, position);
+			if (match != -1) {
+				for (int i = position; i < match; i++) {
+					if (block.charAt(i) == '\n') {
+						line++;
+					}
+				}
+				return line;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the index of the block containing the given line
+	 */
+	private int findBlock(long line) {
+		int low = 0;
+		int high = blockCount - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (firstLines[middle] <= line) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	private static int skipLines(String block, int lines) {
+		int position = 0;
+		for (int i = 0; i < lines && position < block.length(); i++) {
+			int lineEnd = block.indexOf('\n', position);
+			position = lineEnd == -1 ? block.length() : lineEnd + 1;
+		}
+		return position;
+	}
+
+	private String inflate(int blockIndex) throws IOException {
+		byte[] compressed = new byte[compressedLengths[blockIndex]];
+		RandomAccessFile file = new RandomAccessFile(dataFile, "r"); //$NON-NLS-1$
+		try {
+			file.seek(offsets[blockIndex]);
+			file.readFully(compressed);
+		} finally {
+			file.close();
+		}
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(compressed);
+			byte[] raw = new byte[rawLengths[blockIndex]];
+			int length = 0;
+			while (length < raw.length && !inflater.finished()) {
+				int inflated = inflater.inflate(raw, length, raw.length - length);
+				if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				length += inflated;
+			}
+			if (length != raw.length) {
+				throw new IOException("Truncated block " + blockIndex + " in " + dataFile); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			return new String(raw, "UTF-8"); //$NON-NLS-1$
+		} catch (DataFormatException e) {
+			IOException exception = new IOException("Corrupt block " + blockIndex + " in " + dataFile); //$NON-NLS-1$ //$NON-NLS-2$
+			exception.initCause(e);
+			throw exception;
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private void readIndex() throws IOException {
+		DataInputStream index = new DataInputStream(new BufferedInputStream(new FileInputStream(getIndexFile(dataFile))));
+		try {
+			if (index.readInt() != BuildLogArchiveWriter.MAGIC || index.readInt() != BuildLogArchiveWriter.VERSION) {
+				throw new IOException("Unsupported build log archive " + dataFile); //$NON-NLS-1$
+			}
+			while (true) {
+				int record;
+				try {
+					record = index.readByte();
+				} catch (EOFException e) {
+					break;
+				}
+				if (record == BuildLogArchiveWriter.BLOCK_RECORD) {
+					addBlock(index.readLong(), index.readInt(), index.readInt(), index.readLong(), index.readInt());
+				} else if (record == BuildLogArchiveWriter.PROBLEM_RECORD) {
+					byte level = index.readByte();
+					Long line = Long.valueOf(index.readLong());
+					if (level == BuildLogArchiveWriter.LEVEL_ERROR) {
+						errorLines.add(line);
+					} else {
+						warningLines.add(line);
+					}
+				} else {
+					throw new IOException("Corrupt index of build log archive " + dataFile); //$NON-NLS-1$
+				}
+			}
+		} catch (EOFException e) {
+			// index of an archive whose build did not finish, keep the complete records
+		} finally {
+			index.close();
+		}
+		// problems in the last, unwritten block of an unfinished archive
+		while (!errorLines.isEmpty() && errorLines.get(errorLines.size() - 1).longValue() >= lineCount) {
+			errorLines.remove(errorLines.size() - 1);
+		}
+		while (!warningLines.isEmpty() && warningLines.get(warningLines.size() - 1).longValue() >= lineCount) {
+			warningLines.remove(warningLines.size() - 1);
+		}
+	}
+
+	private void addBlock(long offset, int compressedLength, int rawLength, long firstLine, int lines) {
+		if (blockCount == offsets.length) {
+			int capacity = blockCount * 2;
+			offsets = copyOf(offsets, capacity);
+			firstLines = copyOf(firstLines, capacity);
+			compressedLengths = copyOf(compressedLengths, capacity);
+			rawLengths = copyOf(rawLengths, capacity);
+		}
+		offsets[blockCount] = offset;
+		compressedLengths[blockCount] = compressedLength;
+		rawLengths[blockCount] = rawLength;
+		firstLines[blockCount] = firstLine;
+		blockCount++;
+		lineCount = firstLine + lines;
+	}
+
+	private static long[] copyOf(long[] array, int length) {
+		long[] copy = new long[length];
+		System.arraycopy(array, 0, copy, 0, array.length);
+		return copy;
+	}
+
+	private static int[] copyOf(int[] array, int length) {
+		int[] copy = new int[length];
+		System.arraycopy(array, 0, copy, 0, array.length);
+		return copy;
+	}
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.events.GradleBuildEvent;
+import org.gradle.eclipse.events.IGradleBuildEventListener;
+
+/**
+ * Writes the output of a gradle build to a block compressed archive while the build runs.
+ * 
+ * Lines are collected in blocks of about {@value #BLOCK_SIZE} characters, every block is 
+ * deflated on its own and appended to the data file. The index file lists the offset and line 
+ * range of every block and the line numbers of all ERROR and WARN lines, so 
+ * {@link BuildLogArchiveReader} can show a failure or a search result by inflating only 
+ * the blocks it needs. The index is flushed behind every block, so the archive of a running 
+ * build can be read up to its last complete block.
+ * 
+ * Index format: a header <code>int magic, int version</code>, then records of 
+ * <code>'B' long offset, int compressedLength, int rawLength, long firstLine, int lineCount</code> 
+ * for blocks and <code>'P' byte level, long line</code> for problem lines.
+ */
+public class BuildLogArchiveWriter implements IGradleBuildEventListener {
+
+	static final int MAGIC = 0x47424c41; // GBLA
+	static final int VERSION = 1;
+	static final byte BLOCK_RECORD = 'B';
+	static final byte PROBLEM_RECORD = 'P';
+	static final byte LEVEL_ERROR = 'E';
+	static final byte LEVEL_WARN = 'W';
+
+	/**
+	 * number of characters compressed together
+	 */
+	static final int BLOCK_SIZE = 64 * 1024;
+
+	private final File dataFile;
+	private final OutputStream data;
+	private final DataOutputStream index;
+	private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+	private final StringBuilder block = new StringBuilder(BLOCK_SIZE + 1024);
+	private byte[] compressed = new byte[BLOCK_SIZE];
+
+	private long dataOffset = 0;
+	private long lineCount = 0;
+	private long blockFirstLine = 0;
+	private boolean failed = false;
+	private boolean closed = false;
+
+	/**
+	 * @param dataFile the archive data file, the index is written to {@link BuildLogArchiveReader#getIndexFile(File)}
+	 */
+	public BuildLogArchiveWriter(File dataFile) throws IOException {
+		this.dataFile = dataFile;
+		data = new BufferedOutputStream(new FileOutputStream(dataFile), 64 * 1024);
+		index = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(BuildLogArchiveReader.getIndexFile(dataFile))));
+		index.writeInt(MAGIC);
+		index.writeInt(VERSION);
+		index.flush();
+	}
+
+	/**
+	 * @return the archive data file
+	 */
+	public File getFile() {
+		return dataFile;
+	}
+
+	public synchronized void handleEvent(GradleBuildEvent event) {
+		if (failed || closed) {
+			return;
+		}
+		try {
+			switch (event.getLevel()) {
+			case ERROR:
+				writeProblem(LEVEL_ERROR);
+				break;
+			case WARN:
+				writeProblem(LEVEL_WARN);
+				break;
+			default:
+				break;
+			}
+			block.append(event.getLine());
+			lineCount++;
+			if (block.length() >= BLOCK_SIZE) {
+				writeBlock();
+			}
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	/**
+	 * Writes the pending lines and closes the archive.
+	 */
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			if (!failed) {
+				writeBlock();
+			}
+		} catch (IOException e) {
+			fail(e);
+		} finally {
+			deflater.end();
+			closeQuietly(data);
+			closeQuietly(index);
+		}
+	}
+
+	private void writeProblem(byte level) throws IOException {
+		index.writeByte(PROBLEM_RECORD);
+		index.writeByte(level);
+		index.writeLong(lineCount);
+	}
+
+	private void writeBlock() throws IOException {
+		if (block.length() == 0) {
+			return;
+		}
+		byte[] raw = block.toString().getBytes("UTF-8"); //$NON-NLS-1$
+		deflater.reset();
+		deflater.setInput(raw);
+		deflater.finish();
+		int length = 0;
+		while (!deflater.finished()) {
+			if (length == compressed.length) {
+				byte[] larger = new byte[compressed.length * 2];
+				System.arraycopy(compressed, 0, larger, 0, length);
+				compressed = larger;
+			}
+			length += deflater.deflate(compressed, length, compressed.length - length);
+		}
+		data.write(compressed, 0, length);
+		// the buffered index may reach the disk first, a reader must never see a block that is not written yet
+		data.flush();
+		index.writeByte(BLOCK_RECORD);
+		index.writeLong(dataOffset);
+		index.writeInt(length);
+		index.writeInt(raw.length);
+		index.writeLong(blockFirstLine);
+		index.writeInt((int) (lineCount - blockFirstLine));
+		index.flush();
+		dataOffset += length;
+		blockFirstLine = lineCount;
+		block.setLength(0);
+	}
+
+	private void fail(IOException e) {
+		failed = true;
+		GradlePlugin.log("Unable to write gradle build log archive " + dataFile, e); //$NON-NLS-1$
+	}
+
+	private static void closeQuietly(OutputStream stream) {
+		try {
+			stream.close();
+		} catch (IOException e) {
+			// nothing left to do
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.gradle.eclipse.GradlePlugin;
+
+/**
+ * Stores the compressed build log archives of gradle launches below the state location of the 
+ * plugin, one directory per launch configuration. Unlike the spilled output managed by 
+ * {@link GradleLaunchLogs}, archives outlive their launch and the session; the newest 
+ * {@value #MAX_ARCHIVES} archives of every launch configuration are kept.
+ */
+public class BuildLogArchives {
+
+	private static final String ARCHIVE_FOLDER = "buildLogs"; //$NON-NLS-1$
+	private static final String ARCHIVE_SUFFIX = ".log.z"; //$NON-NLS-1$
+
+	/**
+	 * number of archives kept per launch configuration
+	 */
+	static final int MAX_ARCHIVES = 5;
+
+	private static final FileFilter ARCHIVE_FILTER = new FileFilter() {
+		public boolean accept(File file) {
+			return file.isFile() && file.getName().endsWith(ARCHIVE_SUFFIX);
+		}
+	};
+
+	private BuildLogArchives() {
+	}
+
+	/**
+	 * Creates a new archive file for a launch of the given configuration and 
+	 * removes the oldest archives of the configuration.
+	 */
+	public static synchronized File createArchiveFile(String configurationName) throws IOException {
+		File directory = getDirectory(configurationName);
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Unable to create " + directory); //$NON-NLS-1$
+		}
+		File[] archives = getArchives(configurationName);
+		for (int i = MAX_ARCHIVES - 1; i < archives.length; i++) {
+			BuildLogArchiveReader.getIndexFile(archives[i]).delete();
+			archives[i].delete();
+		}
+		long stamp = System.currentTimeMillis();
+		File archive = new File(directory, stamp + ARCHIVE_SUFFIX);
+		while (archive.exists()) {
+			archive = new File(directory, ++stamp + ARCHIVE_SUFFIX);
+		}
+		return archive;
+	}
+
+	/**
+	 * @return the archives of the given launch configuration, newest first
+	 */
+	public static File[] getArchives(String configurationName) {
+		File[] archives = getDirectory(configurationName).listFiles(ARCHIVE_FILTER);
+		if (archives == null) {
+			return new File[0];
+		}
+		Arrays.sort(archives, new Comparator<File>() {
+			public int compare(File first, File second) {
+				long difference = getTimestamp(second) - getTimestamp(first);
+				return difference < 0 ? -1 : difference > 0 ? 1 : 0;
+			}
+		});
+		return archives;
+	}
+
+	/**
+	 * @return the time the build of the given archive started
+	 */
+	public static long getTimestamp(File archive) {
+		String name = archive.getName();
+		try {
+			return Long.parseLong(name.substring(0, name.length() - ARCHIVE_SUFFIX.length()));
+		} catch (NumberFormatException e) {
+			return archive.lastModified();
+		}
+	}
+
+	private static File getDirectory(String configurationName) {
+		StringBuilder directoryName = new StringBuilder(configurationName.length());
+		for (int i = 0; i < configurationName.length(); i++) {
+			char c = configurationName.charAt(i);
+			directoryName.append(Character.isLetterOrDigit(c) || c == '.' || c == '-' ? c : '_');
+		}
+		return GradlePlugin.getDefault().getStateLocation().append(ARCHIVE_FOLDER).append(directoryName.toString()).toFile();
+	}
+}
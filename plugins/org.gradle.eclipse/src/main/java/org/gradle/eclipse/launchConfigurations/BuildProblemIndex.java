@@ -0,0 +1,247 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.debug.core.IStreamListener;
+import org.eclipse.debug.core.model.IStreamMonitor;
+import org.gradle.eclipse.events.GradleBuildEvent;
+import org.gradle.eclipse.ui.console.ConsoleOutputOffsets;
+
+/**
+ * Records the console ranges of the errors, warnings and failures of a build. Like the 
+ * {@link TaskOutputIndex} it counts the characters dispatched to all stream monitors of a 
+ * {@link GradleStreamsProxy}, the proxy queues every problem line in order with the output. 
+ * Consecutive lines of the same kind, e.g. a stack trace, form one problem.
+ * 
+ * Stepping to the next or previous problem from the problem returned last takes constant time, 
+ * starting from any other offset takes a binary search.
+ */
+public class BuildProblemIndex implements IStreamListener {
+
+	/**
+	 * what a problem line reports
+	 */
+	public static enum Kind {
+		ERROR,
+		WARNING,
+		/**
+		 * a failed task or test or the failure of the build
+		 */
+		FAILURE
+	}
+
+	/**
+	 * The output of one problem, offsets count the characters dispatched to the stream monitors. 
+	 * The console maps them to its document with a {@link ConsoleOutputOffsets}.
+	 */
+	public static class Problem {
+		private final Kind fKind;
+		private final String fText;
+		private final String fTask;
+		private final long fOffset;
+		private long fLength;
+
+		Problem(Kind kind, String text, String task, long offset, long length) {
+			fKind = kind;
+			fText = text;
+			fTask = task;
+			fOffset = offset;
+			fLength = length;
+		}
+
+		public Kind getKind() {
+			return fKind;
+		}
+
+		/**
+		 * @return the message of the first line of the problem, at most {@value BuildProblemIndex#MAX_TEXT_LENGTH} characters
+		 */
+		public String getText() {
+			return fText;
+		}
+
+		/**
+		 * @return the path of the task reporting the problem, <code>null</code> if no task was running
+		 */
+		public String getTask() {
+			return fTask;
+		}
+
+		public long getOffset() {
+			return fOffset;
+		}
+
+		public long getLength() {
+			return fLength;
+		}
+
+		@Override
+		public String toString() {
+			return fKind + " " + fText + " [" + fOffset + ", " + fLength + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+	}
+
+	/**
+	 * number of characters of a problem line kept for the outline
+	 */
+	static final int MAX_TEXT_LENGTH = 200;
+
+	private static final String FAILED = " FAILED"; //$NON-NLS-1$
+	private static final String BUILD_FAILURE = "FAILURE: "; //$NON-NLS-1$
+	private static final String EXECUTION_FAILED = "Execution failed for "; //$NON-NLS-1$
+
+	private final List<Problem> fProblems = new ArrayList<Problem>();
+	private long fLength = 0;
+
+	/**
+	 * the index of the problem returned last by {@link #getNext(long)} or {@link #getPrevious(long)}
+	 */
+	private int fCursor = -1;
+
+	/**
+	 * @return the kind of problem the given line reports, <code>null</code> if it reports none
+	 */
+	public static Kind classify(GradleBuildEvent event) {
+		switch (event.getLevel()) {
+		case ERROR:
+			return Kind.ERROR;
+		case WARN:
+			return Kind.WARNING;
+		case INFO:
+		case DEBUG:
+		case TRACE:
+			return null;
+		default:
+			break;
+		}
+		switch (event.getDiagnosticLevel()) {
+		case ERROR:
+			return Kind.ERROR;
+		case WARN:
+			return Kind.WARNING;
+		default:
+			break;
+		}
+		String message = event.getMessage();
+		if (message.endsWith(FAILED) || message.startsWith(BUILD_FAILURE) || message.startsWith(EXECUTION_FAILED)) {
+			return Kind.FAILURE;
+		}
+		return null;
+	}
+
+	/**
+	 * @see org.eclipse.debug.core.IStreamListener#streamAppended(java.lang.String, org.eclipse.debug.core.model.IStreamMonitor)
+	 */
+	public synchronized void streamAppended(String text, IStreamMonitor monitor) {
+		fLength += text.length();
+	}
+
+	/**
+	 * Records a problem line about to be appended at the current end of the output.
+	 * 
+	 * @param kind what the line reports
+	 * @param message the line without log prefix
+	 * @param task the path of the task writing the line, <code>null</code> if no task is running
+	 * @param length the length of the line including its line delimiter
+	 */
+	public synchronized void problemFound(Kind kind, String message, String task, int length) {
+		int size = fProblems.size();
+		if (size > 0) {
+			Problem last = fProblems.get(size - 1);
+			if (last.getKind() == kind && last.getOffset() + last.getLength() == fLength) {
+				last.fLength += length;
+				return;
+			}
+		}
+		String text = message.trim();
+		if (text.length() > MAX_TEXT_LENGTH) {
+			text = text.substring(0, MAX_TEXT_LENGTH);
+		}
+		fProblems.add(new Problem(kind, text, task, fLength, length));
+	}
+
+	/**
+	 * @return all problems in the order of the output
+	 */
+	public synchronized List<Problem> getProblems() {
+		return new ArrayList<Problem>(fProblems);
+	}
+
+	/**
+	 * @return the first problem starting after the given offset, <code>null</code> if there is none
+	 */
+	public synchronized Problem getNext(long offset) {
+		int index;
+		if (isCursorAt(offset)) {
+			index = fCursor + 1;
+		} else {
+			index = search(offset + 1);
+		}
+		return moveCursor(index);
+	}
+
+	/**
+	 * @return the last problem starting before the given offset, <code>null</code> if there is none
+	 */
+	public synchronized Problem getPrevious(long offset) {
+		int index;
+		if (isCursorAt(offset)) {
+			index = fCursor - 1;
+		} else {
+			index = search(offset) - 1;
+		}
+		return moveCursor(index);
+	}
+
+	private boolean isCursorAt(long offset) {
+		return fCursor >= 0 && fCursor < fProblems.size() && fProblems.get(fCursor).getOffset() == offset;
+	}
+
+	private Problem moveCursor(int index) {
+		if (index < 0 || index >= fProblems.size()) {
+			return null;
+		}
+		fCursor = index;
+		return fProblems.get(index);
+	}
+
+	/**
+	 * @return the index of the first problem starting at or after the given offset
+	 */
+	private int search(long offset) {
+		int low = 0;
+		int high = fProblems.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (fProblems.get(middle).getOffset() < offset) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @return the number of characters dispatched to the stream monitors so far
+	 */
+	public synchronized long getLength() {
+		return fLength;
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.eclipse.osgi.util.NLS;
+import org.gradle.eclipse.GradlePlugin;
+
+/**
+ * Keeps floods of debug output out of the console. While more than the maximum number of debug 
+ * lines per second arrive, the lines are written to a side file and the console shows one rate 
+ * summary per second instead. Once the rate has dropped below half of the maximum, the console 
+ * shows the debug lines again. The rate is measured when lines arrive, no timer is involved.
+ * 
+ * Only lines of the debug stream are passed to the throttle, errors and warnings always reach 
+ * the console. This class is not thread safe.
+ */
+public class DebugOutputThrottle {
+
+	/**
+	 * default maximum number of debug lines per second shown in the console
+	 */
+	public static final int DEFAULT_MAX_LINE_RATE = 2000;
+
+	private static final long WINDOW = 1000000000L;
+
+	private final int fMaxLineRate;
+	private final File fSideFile;
+	private Writer fWriter = null;
+	private boolean fWriterFailed = false;
+
+	private boolean fThrottling = false;
+	private long fWindowStart = 0;
+	private int fWindowLines = 0;
+	private long fThrottledLines = 0;
+
+	/**
+	 * @param maxLineRate the number of debug lines per second above which lines go to the side file
+	 * @param sideFile the file receiving the debug lines kept out of the console
+	 */
+	public DebugOutputThrottle(int maxLineRate, File sideFile) {
+		fMaxLineRate = maxLineRate;
+		fSideFile = sideFile;
+	}
+
+	/**
+	 * @param line a debug line
+	 * @return the text to show in the console instead of the line, 
+	 * <code>null</code> to show nothing
+	 */
+	public String filter(String line) {
+		return filter(line, System.nanoTime());
+	}
+
+	String filter(String line, long now) {
+		String summary = null;
+		long elapsed = now - fWindowStart;
+		if (elapsed >= WINDOW) {
+			long rate = fWindowLines * WINDOW / elapsed;
+			if (fThrottling) {
+				if (rate < fMaxLineRate / 2) {
+					fThrottling = false;
+					summary = NLS.bind(GradleLaunchConfigurationMessages.DebugOutputThrottle_Resumed, 
+							String.valueOf(fThrottledLines), fSideFile.getPath());
+				} else {
+					summary = NLS.bind(GradleLaunchConfigurationMessages.DebugOutputThrottle_Rate, 
+							String.valueOf(rate), fSideFile.getPath());
+				}
+			}
+			fWindowStart = now;
+			fWindowLines = 0;
+		}
+		fWindowLines++;
+		if (!fThrottling && fWindowLines > fMaxLineRate) {
+			fThrottling = true;
+			summary = NLS.bind(GradleLaunchConfigurationMessages.DebugOutputThrottle_Started, 
+					String.valueOf(fMaxLineRate), fSideFile.getPath());
+		}
+		if (!fThrottling) {
+			return summary == null ? line : summary + line;
+		}
+		write(line);
+		return summary;
+	}
+
+	/**
+	 * Ends throttling, e.g. when a build has finished.
+	 * 
+	 * @return the summary to show in the console, <code>null</code> if the output was not throttled
+	 */
+	public String finish() {
+		flushWriter();
+		fWindowLines = 0;
+		if (!fThrottling) {
+			return null;
+		}
+		fThrottling = false;
+		return NLS.bind(GradleLaunchConfigurationMessages.DebugOutputThrottle_Resumed, 
+				String.valueOf(fThrottledLines), fSideFile.getPath());
+	}
+
+	/**
+	 * @return <code>true</code> while debug lines go to the side file
+	 */
+	public boolean isThrottling() {
+		return fThrottling;
+	}
+
+	/**
+	 * @return the number of debug lines written to the side file
+	 */
+	public long getThrottledLineCount() {
+		return fThrottledLines;
+	}
+
+	public File getSideFile() {
+		return fSideFile;
+	}
+
+	private void write(String line) {
+		fThrottledLines++;
+		if (fWriterFailed) {
+			return;
+		}
+		try {
+			if (fWriter == null) {
+				fWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fSideFile, true), "UTF-8")); //$NON-NLS-1$
+			}
+			fWriter.write(line);
+		} catch (IOException e) {
+			fWriterFailed = true;
+			GradlePlugin.log("Unable to write throttled debug output to " + fSideFile, e); //$NON-NLS-1$
+		}
+	}
+
+	private void flushWriter() {
+		if (fWriter != null) {
+			try {
+				fWriter.flush();
+			} catch (IOException e) {
+				GradlePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Closes the side file.
+	 */
+	public void close() {
+		if (fWriter != null) {
+			try {
+				fWriter.close();
+			} catch (IOException e) {
+				GradlePlugin.log(e);
+			}
+			fWriter = null;
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchConfigurationListener;
+import org.eclipse.debug.core.ILaunchConfigurationType;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.ui.externaltools.internal.launchConfigurations.ExternalToolsUtil;
+import org.gradle.eclipse.GradlePlugin;
+
+/**
+ * Maps the resolved build file locations to the gradle launch configurations launching them. 
+ * The locations of all gradle launch configurations are resolved on first use, afterwards only 
+ * the configurations added, changed or removed since are resolved, so the launch shortcut does not 
+ * substitute the variables of every configuration on each invocation. Locations usually depend 
+ * on the location of a project, e.g. <code>${workspace_loc:/p/build.gradle}</code>, so the index 
+ * is dropped and resolved again whenever a project is added, removed, opened, closed or moved.
+ */
+public class GradleLaunchConfigurationIndex implements ILaunchConfigurationListener, IResourceChangeListener {
+
+	private static GradleLaunchConfigurationIndex instance = null;
+
+	/**
+	 * key		the resolved build file location
+	 * value 	the configurations launching the build file
+	 * */
+	private Map<IPath, List<ILaunchConfiguration>> fConfigurations = null;
+
+	/**
+	 * key		an indexed configuration
+	 * value 	its resolved build file location
+	 * */
+	private final Map<ILaunchConfiguration, IPath> fLocations = new HashMap<ILaunchConfiguration, IPath>();
+
+	public static synchronized GradleLaunchConfigurationIndex getDefault() {
+		if (instance == null) {
+			instance = new GradleLaunchConfigurationIndex();
+			DebugPlugin.getDefault().getLaunchManager().addLaunchConfigurationListener(instance);
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(instance, IResourceChangeEvent.POST_CHANGE);
+		}
+		return instance;
+	}
+
+	/**
+	 * Stops listening for launch configuration and project changes.
+	 */
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			DebugPlugin.getDefault().getLaunchManager().removeLaunchConfigurationListener(instance);
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+			instance = null;
+		}
+	}
+
+	private GradleLaunchConfigurationIndex() {
+	}
+
+	/**
+	 * @param location the location of a build file
+	 * @return the gradle launch configurations launching the build file
+	 */
+	public synchronized List<ILaunchConfiguration> getLaunchConfigurations(IPath location) {
+		if (fConfigurations == null) {
+			buildIndex();
+		}
+		List<ILaunchConfiguration> configurations = fConfigurations.get(location);
+		if (configurations == null) {
+			return new ArrayList<ILaunchConfiguration>();
+		}
+		return new ArrayList<ILaunchConfiguration>(configurations);
+	}
+
+	private void buildIndex() {
+		fConfigurations = new HashMap<IPath, List<ILaunchConfiguration>>();
+		ILaunchManager manager = DebugPlugin.getDefault().getLaunchManager();
+		ILaunchConfigurationType type = manager.getLaunchConfigurationType(IGradleLaunchConfigurationConstants.ID_GRADLE_LAUNCH_CONFIGURATION_TYPE);
+		if (type == null) {
+			return;
+		}
+		try {
+			ILaunchConfiguration[] configurations = manager.getLaunchConfigurations(type);
+			for (int i = 0; i < configurations.length; i++) {
+				add(configurations[i]);
+			}
+		} catch (CoreException e) {
+			GradlePlugin.log(GradleLaunchConfigurationMessages.GradleLaunchShortcut_3, e);
+		}
+	}
+
+	private void add(ILaunchConfiguration configuration) {
+		IPath location;
+		try {
+			location = ExternalToolsUtil.getLocation(configuration);
+		} catch (CoreException e) {
+			// e.g. an undefined variable, the configuration cannot launch a build file
+			return;
+		}
+		if (location == null) {
+			return;
+		}
+		fLocations.put(configuration, location);
+		List<ILaunchConfiguration> configurations = fConfigurations.get(location);
+		if (configurations == null) {
+			configurations = new ArrayList<ILaunchConfiguration>(1);
+			fConfigurations.put(location, configurations);
+		}
+		configurations.add(configuration);
+	}
+
+	private void remove(ILaunchConfiguration configuration) {
+		IPath location = fLocations.remove(configuration);
+		if (location != null) {
+			List<ILaunchConfiguration> configurations = fConfigurations.get(location);
+			configurations.remove(configuration);
+			if (configurations.isEmpty()) {
+				fConfigurations.remove(location);
+			}
+		}
+	}
+
+	private static boolean isGradleConfiguration(ILaunchConfiguration configuration) {
+		if (configuration.isWorkingCopy()) {
+			return false;
+		}
+		try {
+			return IGradleLaunchConfigurationConstants.ID_GRADLE_LAUNCH_CONFIGURATION_TYPE.equals(configuration.getType().getIdentifier());
+		} catch (CoreException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @see org.eclipse.core.resources.IResourceChangeListener#resourceChanged(org.eclipse.core.resources.IResourceChangeEvent)
+	 */
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		IResourceDelta[] projectDeltas = delta.getAffectedChildren(IResourceDelta.ADDED | IResourceDelta.REMOVED | IResourceDelta.CHANGED);
+		for (int i = 0; i < projectDeltas.length; i++) {
+			// moved projects are removed and added
+			if (projectDeltas[i].getKind() != IResourceDelta.CHANGED 
+					|| (projectDeltas[i].getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) {
+				invalidate();
+				return;
+			}
+		}
+	}
+
+	private synchronized void invalidate() {
+		fConfigurations = null;
+		fLocations.clear();
+	}
+
+	/**
+	 * @see org.eclipse.debug.core.ILaunchConfigurationListener#launchConfigurationAdded(org.eclipse.debug.core.ILaunchConfiguration)
+	 */
+	public synchronized void launchConfigurationAdded(ILaunchConfiguration configuration) {
+		if (fConfigurations != null && isGradleConfiguration(configuration)) {
+			remove(configuration);
+			add(configuration);
+		}
+	}
+
+	/**
+	 * @see org.eclipse.debug.core.ILaunchConfigurationListener#launchConfigurationChanged(org.eclipse.debug.core.ILaunchConfiguration)
+	 */
+	public synchronized void launchConfigurationChanged(ILaunchConfiguration configuration) {
+		if (fConfigurations != null && isGradleConfiguration(configuration)) {
+			remove(configuration);
+			add(configuration);
+		}
+	}
+
+	/**
+	 * @see org.eclipse.debug.core.ILaunchConfigurationListener#launchConfigurationRemoved(org.eclipse.debug.core.ILaunchConfiguration)
+	 */
+	public synchronized void launchConfigurationRemoved(ILaunchConfiguration configuration) {
+		if (fConfigurations != null) {
+			// the type of a removed configuration cannot be read anymore
+			remove(configuration);
+		}
+	}
+}
@@ -48,6 +48,8 @@ public class GradleLaunchConfigurationMessages extends NLS {
 	
 	public static String GradleMainTab_Error_reading_configuration;
 	
+	public static String GradleMainTab_Continuous_build;
+	
 	public static String GradleLaunchDelegate_23;
 
 	public static String GradleLaunchShortcut_Unable;
@@ -73,6 +75,16 @@ public class GradleLaunchConfigurationMessages extends NLS {
 	public static String GradleTasksTab_Description_6;
 
 	public static String GradleTasksTab_1;
+
+	public static String GradleStreamMonitor_Dropped_characters;
+
+	public static String StreamNotificationDispatcher_Dropped_lines;
+
+	public static String DebugOutputThrottle_Started;
+
+	public static String DebugOutputThrottle_Rate;
+
+	public static String DebugOutputThrottle_Resumed;
 	
 	
 	static {
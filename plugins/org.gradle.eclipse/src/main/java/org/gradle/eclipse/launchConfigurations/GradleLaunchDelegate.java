@@ -69,8 +69,9 @@ public class GradleLaunchDelegate extends LaunchConfigurationDelegate  {
 		if(mode.equals("debug")){
 			cmdLine.append(" ").append("-d");
 		}
+		boolean continuous = configuration.getAttribute(IGradleConstants.ATTR_CONTINUOUS_BUILD, false);
 		monitor.worked(1);
-		runGradleBuild(configuration, launch, monitor, "idStamp" + System.currentTimeMillis(), tasks, cmdLine);
+		runGradleBuild(configuration, launch, monitor, "idStamp" + System.currentTimeMillis(), tasks, cmdLine, continuous);
 		monitor.worked(1);
 		if (monitor.isCanceled()) {
 			return;
@@ -78,12 +79,13 @@ public class GradleLaunchDelegate extends LaunchConfigurationDelegate  {
 		monitor.done();
 	}
 	
-	private void runGradleBuild(ILaunchConfiguration configuration, ILaunch launch, IProgressMonitor monitor, String idStamp, List<String> tasks, StringBuffer cmdLine) throws CoreException {
+	private void runGradleBuild(ILaunchConfiguration configuration, ILaunch launch, IProgressMonitor monitor, String idStamp, List<String> tasks, StringBuffer cmdLine, boolean continuous) throws CoreException {
 		Map<String, String> attributes= new HashMap<String, String>(2);
 		attributes.put(IProcess.ATTR_PROCESS_TYPE, IGradleConstants.ID_GRADLE_PROCESS_TYPE);
 		final GradleProcess process = new GradleProcess("GradleProcess", launch, attributes);
 		
 		GradleRunner runner = new GradleRunner(configuration, launch, tasks, cmdLine);
+		runner.setContinuous(continuous);
 		try {
 			runner.run(monitor);
 		} catch (CoreException e) {
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchesListener;
+import org.eclipse.debug.core.model.IProcess;
+import org.gradle.eclipse.GradlePlugin;
+
+/**
+ * Manages the directories keeping the spilled output of gradle launches. Every launch gets 
+ * its own directory below the state location of the plugin. The directory is deleted 
+ * when the launch is removed. Directories left behind by an earlier session are purged 
+ * on startup, since launches do not survive a restart.
+ */
+public class GradleLaunchLogs implements ILaunchesListener {
+
+	private static final String LOG_FOLDER = "launchLogs"; //$NON-NLS-1$
+
+	private static GradleLaunchLogs instance = null;
+
+	private final File fRoot;
+	private int fCounter = 0;
+
+	/**
+	 * key		the launch
+	 * value 	the directory keeping the output of the launch
+	 * */
+	private final Map<ILaunch, File> fDirectories = new HashMap<ILaunch, File>();
+
+	public static synchronized GradleLaunchLogs getDefault() {
+		if (instance == null) {
+			instance = new GradleLaunchLogs(getRoot());
+		}
+		return instance;
+	}
+
+	/**
+	 * Starts listening for removed launches, so the output of every gradle process, 
+	 * e.g. its log files or its paged console, is released together with its launch.
+	 */
+	public static synchronized void startup() {
+		DebugPlugin.getDefault().getLaunchManager().addLaunchListener(getDefault());
+	}
+
+	/**
+	 * Stops listening for removed launches.
+	 */
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			DebugPlugin.getDefault().getLaunchManager().removeLaunchListener(instance);
+			instance = null;
+		}
+	}
+
+	/**
+	 * Deletes the log directories of an earlier session.
+	 */
+	public static void purgeStaleLogs() {
+		GradleLaunchLogs logs = getDefault();
+		List<File> stale = new ArrayList<File>();
+		// directories are created and registered under the same lock, 
+		// so every directory listed but not registered is an old one
+		synchronized (logs) {
+			File[] directories = logs.fRoot.listFiles();
+			if (directories != null) {
+				for (int i = 0; i < directories.length; i++) {
+					if (!logs.fDirectories.containsValue(directories[i])) {
+						stale.add(directories[i]);
+					}
+				}
+			}
+		}
+		for (File directory : stale) {
+			delete(directory);
+		}
+	}
+
+	private GradleLaunchLogs(File root) {
+		fRoot = root;
+	}
+
+	/**
+	 * @return a new, empty directory for the output of the given launch
+	 */
+	public synchronized File createLogDirectory(ILaunch launch) {
+		File directory = fDirectories.get(launch);
+		if (directory == null) {
+			directory = new File(fRoot, System.currentTimeMillis() + "-" + fCounter++); //$NON-NLS-1$
+			directory.mkdirs();
+			fDirectories.put(launch, directory);
+		}
+		return directory;
+	}
+
+	public void launchesRemoved(ILaunch[] launches) {
+		for (int i = 0; i < launches.length; i++) {
+			File directory = null;
+			synchronized (this) {
+				directory = fDirectories.remove(launches[i]);
+			}
+			// the output is released even without log directory, e.g. to remove a paged console
+			IProcess[] processes = launches[i].getProcesses();
+			for (int j = 0; j < processes.length; j++) {
+				if (processes[j] instanceof GradleProcess) {
+					((GradleProcess) processes[j]).disposeOutput();
+				}
+			}
+			if (directory != null) {
+				delete(directory);
+			}
+		}
+	}
+
+	public void launchesAdded(ILaunch[] launches) {
+	}
+
+	public void launchesChanged(ILaunch[] launches) {
+	}
+
+	private static File getRoot() {
+		return GradlePlugin.getDefault().getStateLocation().append(LOG_FOLDER).toFile();
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (int i = 0; i < children.length; i++) {
+				delete(children[i]);
+			}
+		}
+		file.delete();
+	}
+}
@@ -50,7 +50,6 @@ import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.dialogs.ElementListSelectionDialog;
 import org.eclipse.ui.editors.text.ILocationProvider;
-import org.eclipse.ui.externaltools.internal.launchConfigurations.ExternalToolsUtil;
 import org.eclipse.ui.externaltools.internal.model.IExternalToolConstants;
 import org.gradle.eclipse.GradlePlugin;
 import org.gradle.eclipse.IGradleConstants;
@@ -329,30 +328,13 @@ public class GradleLaunchShortcut implements ILaunchShortcut2 {
 	 * @return list of launch configurations
 	 */
 	public static List<ILaunchConfiguration> findExistingLaunchConfigurations(IFile file) {
-		List<ILaunchConfiguration> validConfigs = new ArrayList<ILaunchConfiguration>();
 		if(file != null) {
 			IPath filePath = file.getLocation();
 			if(filePath != null) {
-				ILaunchManager manager = DebugPlugin.getDefault().getLaunchManager();
-				ILaunchConfigurationType type = manager.getLaunchConfigurationType(IGradleLaunchConfigurationConstants.ID_GRADLE_LAUNCH_CONFIGURATION_TYPE);
-				if (type != null) {
-					try {
-						ILaunchConfiguration[] configs = manager.getLaunchConfigurations(type);
-						for (int i = 0; i < configs.length; i++) {
-							try {
-								if (filePath.equals(ExternalToolsUtil.getLocation(configs[i]))) {
-									validConfigs.add(configs[i]);
-								}
-							}
-							catch(CoreException ce) {}
-						}
-					} catch (CoreException e) {
-						reportError(GradleLaunchConfigurationMessages.GradleLaunchShortcut_3, e);
-					}
-				}
+				return GradleLaunchConfigurationIndex.getDefault().getLaunchConfigurations(filePath);
 			}
 		}
-		return validConfigs;
+		return new ArrayList<ILaunchConfiguration>();
 	}
 	
 	/**
@@ -473,28 +455,7 @@ public class GradleLaunchShortcut implements ILaunchShortcut2 {
 	 * @since 3.4
 	 */
 	protected List<ILaunchConfiguration> collectConfigurations(IPath filepath) {
-		ILaunchManager manager = DebugPlugin.getDefault().getLaunchManager();
-		ILaunchConfigurationType type = manager.getLaunchConfigurationType(IGradleLaunchConfigurationConstants.ID_GRADLE_LAUNCH_CONFIGURATION_TYPE);
-		if(type != null) {
-			try {
-				ILaunchConfiguration[] configs = manager.getLaunchConfigurations(type);
-				List<ILaunchConfiguration> list = new ArrayList<ILaunchConfiguration>();
-				IPath location = null;
-				for(int i = 0; i < configs.length; i++) {
-					if(configs[i].exists()) {
-						try {
-							location = ExternalToolsUtil.getLocation(configs[i]);
-							if(location != null && location.equals(filepath)) {
-								list.add(configs[i]);
-							}
-						}
-						catch(CoreException ce) {}
-					}
-				}
-				return list;
-			} catch (CoreException e) {}
-		}
-		return new ArrayList<ILaunchConfiguration>();
+		return GradleLaunchConfigurationIndex.getDefault().getLaunchConfigurations(filepath);
 	}
 	
 	/* (non-Javadoc)
@@ -0,0 +1,32 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+/**
+ * The log levels gradle prefixes its output lines with when running with <code>--debug</code>.
+ * {@link #NONE} marks lines without a level prefix, e.g. the output of a build running 
+ * with the default log level.
+ */
+public enum GradleLogLevel {
+	ERROR, 
+	WARN, 
+	QUIET, 
+	LIFECYCLE, 
+	INFO, 
+	DEBUG, 
+	TRACE, 
+	NONE;
+}
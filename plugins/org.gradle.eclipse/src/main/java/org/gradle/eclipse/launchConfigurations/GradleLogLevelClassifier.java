@@ -0,0 +1,126 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+/**
+ * Determines the log level of a gradle output line in a single pass over its prefix. 
+ * Two prefix formats are recognized:
+ * <pre>
+ * 12:34:56.789 [main] DEBUG org.gradle.Logger - message
+ * 12:34:56.789 [DEBUG] [org.gradle.Logger] message
+ * </pre>
+ * The level is located at a known offset behind the timestamp, the rest of the line is never scanned.
+ */
+public final class GradleLogLevelClassifier {
+
+	/**
+	 * length of the "HH:mm:ss.SSS " timestamp prefix
+	 */
+	private static final int TIMESTAMP_LENGTH = 13;
+
+	private GradleLogLevelClassifier() {
+	}
+
+	/**
+	 * @return the log level of the given line, {@link GradleLogLevel#NONE} if the line has no level prefix
+	 */
+	public static GradleLogLevel classify(CharSequence line) {
+		if (!hasTimestamp(line)) {
+			return GradleLogLevel.NONE;
+		}
+		int length = line.length();
+		int position = TIMESTAMP_LENGTH;
+		if (position < length && line.charAt(position) == '[') {
+			// either the level itself or the thread name in brackets
+			GradleLogLevel level = parseLevel(line, position + 1, ']');
+			if (level != GradleLogLevel.NONE) {
+				return level;
+			}
+			position = indexOf(line, ']', position + 1);
+			if (position == -1 || position + 1 >= length || line.charAt(position + 1) != ' ') {
+				return GradleLogLevel.NONE;
+			}
+			position += 2;
+		}
+		return parseLevel(line, position, ' ');
+	}
+
+	private static boolean hasTimestamp(CharSequence line) {
+		return line.length() > TIMESTAMP_LENGTH 
+				&& line.charAt(2) == ':' 
+				&& line.charAt(5) == ':' 
+				&& line.charAt(8) == '.' 
+				&& line.charAt(12) == ' ' 
+				&& isDigit(line.charAt(0)) 
+				&& isDigit(line.charAt(11));
+	}
+
+	/**
+	 * Parses the level name starting at the given position, which must be terminated 
+	 * by the given character. Level names are padded with blanks to five characters, 
+	 * so a blank terminates every level.
+	 */
+	private static GradleLogLevel parseLevel(CharSequence line, int position, char terminator) {
+		if (position >= line.length()) {
+			return GradleLogLevel.NONE;
+		}
+		switch (line.charAt(position)) {
+		case 'D':
+			return matchLevel(line, position, "DEBUG", GradleLogLevel.DEBUG, terminator); //$NON-NLS-1$
+		case 'I':
+			return matchLevel(line, position, "INFO", GradleLogLevel.INFO, terminator); //$NON-NLS-1$
+		case 'L':
+			return matchLevel(line, position, "LIFECYCLE", GradleLogLevel.LIFECYCLE, terminator); //$NON-NLS-1$
+		case 'Q':
+			return matchLevel(line, position, "QUIET", GradleLogLevel.QUIET, terminator); //$NON-NLS-1$
+		case 'W':
+			return matchLevel(line, position, "WARN", GradleLogLevel.WARN, terminator); //$NON-NLS-1$
+		case 'E':
+			return matchLevel(line, position, "ERROR", GradleLogLevel.ERROR, terminator); //$NON-NLS-1$
+		case 'T':
+			return matchLevel(line, position, "TRACE", GradleLogLevel.TRACE, terminator); //$NON-NLS-1$
+		default:
+			return GradleLogLevel.NONE;
+		}
+	}
+
+	private static GradleLogLevel matchLevel(CharSequence line, int position, String name, GradleLogLevel level, char terminator) {
+		int end = position + name.length();
+		if (end >= line.length()) {
+			return GradleLogLevel.NONE;
+		}
+		for (int i = 1; i < name.length(); i++) {
+			if (line.charAt(position + i) != name.charAt(i)) {
+				return GradleLogLevel.NONE;
+			}
+		}
+		char next = line.charAt(end);
+		return next == terminator || next == ' ' ? level : GradleLogLevel.NONE;
+	}
+
+	private static int indexOf(CharSequence line, char c, int from) {
+		for (int i = from; i < line.length(); i++) {
+			if (line.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+}
@@ -24,8 +24,11 @@ import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
 import org.eclipse.jface.dialogs.Dialog;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.ui.externaltools.internal.launchConfigurations.ExternalToolsLaunchConfigurationMessages;
 import org.eclipse.ui.externaltools.internal.launchConfigurations.ExternalToolsMainTab;
@@ -42,6 +45,7 @@ import org.gradle.eclipse.IGradleConstants;
 public class GradleMainTab extends ExternalToolsMainTab {
 
 	private IFile fNewFile;
+	private Button continuousBuildButton;
 
     /* (non-Javadoc)
 	 * @see org.eclipse.debug.ui.ILaunchConfigurationTab#createControl(org.eclipse.swt.widgets.Composite)
@@ -57,10 +61,39 @@ public class GradleMainTab extends ExternalToolsMainTab {
 		mainComposite.setFont(parent.getFont());
 		createLocationComponent(mainComposite);
 		createArgumentComponent(mainComposite);
+		createContinuousBuildComponent(mainComposite);
 		createVerticalSpacer(mainComposite, 2);
 		Dialog.applyDialogFont(parent);
 	}
 	
+	/**
+	 * Creates the check box to keep the launch active and re-run the tasks on save.
+	 */
+	protected void createContinuousBuildComponent(Composite parent) {
+		continuousBuildButton = new Button(parent, SWT.CHECK);
+		continuousBuildButton.setText(GradleLaunchConfigurationMessages.GradleMainTab_Continuous_build);
+		continuousBuildButton.setFont(parent.getFont());
+		continuousBuildButton.addSelectionListener(new SelectionAdapter() {
+			public void widgetSelected(SelectionEvent e) {
+				updateLaunchConfigurationDialog();
+			}
+		});
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.eclipse.ui.externaltools.internal.launchConfigurations.ExternalToolsMainTab#initializeFrom(org.eclipse.debug.core.ILaunchConfiguration)
+	 */
+	public void initializeFrom(ILaunchConfiguration configuration) {
+		super.initializeFrom(configuration);
+		boolean continuous = false;
+		try {
+			continuous = configuration.getAttribute(IGradleConstants.ATTR_CONTINUOUS_BUILD, false);
+		} catch (CoreException ce) {
+			ExternalToolsPlugin.getDefault().log(GradleLaunchConfigurationMessages.GradleMainTab_Error_reading_configuration, ce);
+		}
+		continuousBuildButton.setSelection(continuous);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.eclipse.ui.externaltools.internal.launchConfigurations.ExternalToolsMainTab#handleWorkspaceLocationButtonSelected()
 	 */
@@ -103,6 +136,12 @@ public class GradleMainTab extends ExternalToolsMainTab {
 		} else {
 			configuration.setAttribute(IGradleConstants.ATTR_TOOL_ARGUMENTS, arguments);
 		}
+		
+		if (continuousBuildButton.getSelection()) {
+			configuration.setAttribute(IGradleConstants.ATTR_CONTINUOUS_BUILD, true);
+		} else {
+			configuration.setAttribute(IGradleConstants.ATTR_CONTINUOUS_BUILD, (String)null);
+		}
 	}
 	
 	/**
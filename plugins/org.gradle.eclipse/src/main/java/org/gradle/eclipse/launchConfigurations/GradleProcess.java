@@ -15,22 +15,44 @@
  */
 package org.gradle.eclipse.launchConfigurations;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Map;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.PlatformObject;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchManager;
 import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.debug.core.model.IStreamMonitor;
 import org.eclipse.debug.core.model.IStreamsProxy;
 import org.eclipse.debug.ui.console.IConsole;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.ui.console.ConsolePlugin;
+import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.events.GradleBuildEventPublisher;
+import org.gradle.eclipse.job.ContinuousBuildWatcher;
+import org.gradle.eclipse.preferences.IGradlePreferenceConstants;
+import org.gradle.eclipse.ui.console.ConsoleOutputOffsets;
+import org.gradle.eclipse.ui.console.GradleConsole;
 
 /**
  * @author Rene Groeschke
  *
  */
 public class GradleProcess extends PlatformObject implements IProcess, IProgressMonitor {
+
+	/**
+	 * time in milliseconds a terminated continuous build may take to stop writing output
+	 */
+	private static final long CONTINUOUS_BUILD_STOP_TIMEOUT = 10000;
+
 	private GradleStreamsProxy fProxy;
 	private String fLabel = null;
 	private ILaunch fLaunch = null;
@@ -40,14 +62,66 @@ public class GradleProcess extends PlatformObject implements IProcess, IProgress
 	private boolean fTerminated = false;
 	private boolean fCancelled = false;
 	private IConsole fConsole = null;
+	private ContinuousBuildWatcher fContinuousBuildWatcher = null;
+	private BuildLogArchiveWriter fArchive = null;
+	private GradleConsole fPagedConsole = null;
+	private ConsoleOutputOffsets fOutputOffsets = null;
 	
 	@SuppressWarnings("unchecked")
 	public GradleProcess(String label, ILaunch launch, Map attributes) {
 		fLabel = label;
 		fLaunch = launch;
 		fAttributes = attributes;
-		fProxy= new GradleStreamsProxy();
+		IPreferenceStore store = GradlePlugin.getDefault().getPreferenceStore();
+		int contentBudget = store.getInt(IGradlePreferenceConstants.CONSOLE_BUFFER_SIZE);
+		if(store.getBoolean(IGradlePreferenceConstants.CONSOLE_SPILL_TO_DISK)){
+			fProxy= new GradleStreamsProxy(GradleLaunchLogs.getDefault().createLogDirectory(launch), contentBudget);
+		}else{
+			fProxy= new GradleStreamsProxy(contentBudget);
+		}
+		if(IGradlePreferenceConstants.CONSOLE_OVERFLOW_DROP_DEBUG.equals(store.getString(IGradlePreferenceConstants.CONSOLE_OVERFLOW_POLICY))){
+			fProxy.getDispatcher().setOverflowPolicy(StreamNotificationDispatcher.OverflowPolicy.DROP_DEBUG);
+		}
+		int maxDebugLineRate = store.getInt(IGradlePreferenceConstants.CONSOLE_DEBUG_MAX_LINE_RATE);
+		if(ILaunchManager.DEBUG_MODE.equals(launch.getLaunchMode()) && maxDebugLineRate > 0){
+			File sideFile = new File(GradleLaunchLogs.getDefault().createLogDirectory(launch), "debug-throttled.log"); //$NON-NLS-1$
+			fProxy.setDebugThrottle(new DebugOutputThrottle(maxDebugLineRate, sideFile));
+		}
+		if(store.getBoolean(IGradlePreferenceConstants.CONSOLE_ARCHIVE_BUILD_LOGS)){
+			createArchive();
+		}
+		if(store.getBoolean(IGradlePreferenceConstants.CONSOLE_PAGED_DOCUMENT)){
+			// created before the process is added, so no debug process console gets created
+			fPagedConsole = new GradleConsole(this);
+		}
 		launch.addProcess(this);
+		if(fPagedConsole != null){
+			fPagedConsole.connect(new IStreamMonitor[] { fProxy.getErrorStreamMonitor(), fProxy.getOutputStreamMonitor(), 
+					fProxy.getDebugStreamMonitor(), fProxy.getVerboseStreamMonitor(), fProxy.getWarningStreamMonitor() });
+			ConsolePlugin.getDefault().getConsoleManager().addConsoles(new org.eclipse.ui.console.IConsole[] { fPagedConsole });
+			ConsolePlugin.getDefault().getConsoleManager().showConsoleView(fPagedConsole);
+		}
+	}
+
+	private void createArchive() {
+		ILaunchConfiguration configuration = fLaunch.getLaunchConfiguration();
+		if(configuration == null){
+			return;
+		}
+		try {
+			fArchive = new BuildLogArchiveWriter(BuildLogArchives.createArchiveFile(configuration.getName()));
+			fProxy.getEventPublisher().addListener(fArchive);
+		} catch (IOException e) {
+			GradlePlugin.log("Unable to create build log archive for " + configuration.getName(), e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @return the compressed archive receiving the output of this process, 
+	 * <code>null</code> if the output is not archived
+	 */
+	public File getArchiveFile() {
+		return fArchive == null ? null : fArchive.getFile();
 	}
 
 	/**
@@ -100,8 +174,12 @@ public class GradleProcess extends PlatformObject implements IProcess, IProgress
 		return fTerminated;
 	}
 	
-	public void terminated() {
+	public synchronized void terminated() {
 		if (!fTerminated) {
+			fProxy.flush();
+			if (fArchive != null) {
+				fArchive.close();
+			}
 			fTerminated = true;
 			if (DebugPlugin.getDefault() != null) {
 				DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] {new DebugEvent(this, DebugEvent.TERMINATE)});
@@ -109,11 +187,103 @@ public class GradleProcess extends PlatformObject implements IProcess, IProgress
 		}
 	}
 
+	/**
+	 * Releases the output of this process, called when its launch gets removed.
+	 */
+	public void disposeOutput() {
+		if (fPagedConsole != null) {
+			ConsolePlugin.getDefault().getConsoleManager().removeConsoles(new org.eclipse.ui.console.IConsole[] { fPagedConsole });
+		}
+		fProxy.dispose();
+	}
+
+	/**
+	 * Passes output reported by gradle to the stream monitors of this process.
+	 */
+	public void writeOutput(String output) {
+		fProxy.write(output);
+	}
+
+	/**
+	 * Writes output of the last build still pending in the streams proxy to the console.
+	 */
+	public void flushOutput() {
+		fProxy.flush();
+	}
+
+	/**
+	 * @return the publisher of the parsed output lines of this process
+	 */
+	public GradleBuildEventPublisher getEventPublisher() {
+		return fProxy.getEventPublisher();
+	}
+
+	/**
+	 * @return the console output range of every task run by this process
+	 */
+	public TaskOutputIndex getTaskOutputIndex() {
+		return fProxy.getTaskOutputIndex();
+	}
+
+	/**
+	 * @return the console output range of every error, warning and failure of this process
+	 */
+	public BuildProblemIndex getBuildProblemIndex() {
+		return fProxy.getBuildProblemIndex();
+	}
+
+	/**
+	 * @return the mapping of the offsets of the task output and build problem indexes 
+	 * to the document of the console showing this process, <code>null</code> if no console is connected
+	 */
+	public synchronized ConsoleOutputOffsets getOutputOffsets() {
+		return fOutputOffsets;
+	}
+
+	/**
+	 * Called by the console showing the output of this process once its streams are connected.
+	 */
+	public synchronized void setOutputOffsets(ConsoleOutputOffsets offsets) {
+		fOutputOffsets = offsets;
+	}
+
 	/**
 	 * @see org.eclipse.debug.core.model.ITerminate#terminate()
 	 */
 	public void terminate() {
 		setCanceled(true);
+		final ContinuousBuildWatcher watcher = fContinuousBuildWatcher;
+		if (watcher != null) {
+			// a continuous build has no final execution reporting the termination
+			fContinuousBuildWatcher = null;
+			watcher.dispose();
+			// the cancelled build still writes output, the streams are closed once it has stopped
+			Job termination = new Job("Terminating continuous Gradle build") {
+				protected IStatus run(IProgressMonitor monitor) {
+					try {
+						if (!watcher.awaitBuildStopped(CONTINUOUS_BUILD_STOP_TIMEOUT)) {
+							GradlePlugin.log("Continuous build did not stop within " + CONTINUOUS_BUILD_STOP_TIMEOUT + "ms, its remaining output is discarded", null); //$NON-NLS-1$ //$NON-NLS-2$
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					terminated();
+					return Status.OK_STATUS;
+				}
+			};
+			termination.setSystem(true);
+			termination.schedule();
+		}
+	}
+	
+	/**
+	 * Attaches the watcher of a continuous build to this process. The watcher is
+	 * disposed when this process gets terminated.
+	 * 
+	 * @param watcher
+	 */
+	public void setContinuousBuildWatcher(ContinuousBuildWatcher watcher) {
+		fContinuousBuildWatcher = watcher;
 	}
 
 	/**
@@ -187,7 +357,11 @@ public class GradleProcess extends PlatformObject implements IProcess, IProgress
 	public void worked(int work) {
 	}
 
+	/**
+	 * @return the streams proxy of this process, <code>null</code> if the output is shown in a 
+	 * {@link GradleConsole} instead of the debug process console
+	 */
 	public IStreamsProxy getStreamsProxy() {
-		return fProxy;
+		return fPagedConsole == null ? fProxy : null;
 	}
 }
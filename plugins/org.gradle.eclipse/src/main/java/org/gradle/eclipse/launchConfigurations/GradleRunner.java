@@ -35,6 +35,7 @@ public class GradleRunner {
 	private StringBuffer commandLine;
 	private ILaunch launch;
 	private List<String> tasks;
+	private boolean continuous = false;
 
 	public GradleRunner(ILaunchConfiguration configuration, ILaunch launch, List<String>tasks, StringBuffer commandLine) throws CoreException {
 		this.launch = launch;
@@ -46,10 +47,21 @@ public class GradleRunner {
 	public void run(IProgressMonitor monitor) throws CoreException{
 		monitor.beginTask("Invoking Gradle", 100);
 		monitor.worked(5);
-		GradleExecScheduler.getInstance().startGradleBuildRun(configuration, tasks, commandLine, getProcess());
+		if(continuous){
+			GradleExecScheduler.getInstance().startContinuousGradleBuildRun(configuration, tasks, commandLine, getProcess());
+		}else{
+			GradleExecScheduler.getInstance().startGradleBuildRun(configuration, tasks, commandLine, getProcess());
+		}
 		monitor.done();
 	}
 
+	/**
+	 * @param continuous whether the tasks are re-run on every change below the build root
+	 * */
+	public void setContinuous(boolean continuous) {
+		this.continuous = continuous;
+	}
+
 	private GradleProcess getProcess() {
 		IProcess[] processes = launch.getProcesses();
 		for(IProcess process : processes){
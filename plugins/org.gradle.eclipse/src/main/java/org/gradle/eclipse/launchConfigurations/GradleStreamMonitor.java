@@ -18,6 +18,7 @@ package org.gradle.eclipse.launchConfigurations;
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.debug.core.IStreamListener;
 import org.eclipse.debug.core.model.IFlushableStreamMonitor;
+import org.eclipse.osgi.util.NLS;
 
 /**
  * @author Rene Groeschke
@@ -25,9 +26,24 @@ import org.eclipse.debug.core.model.IFlushableStreamMonitor;
  */
 public class GradleStreamMonitor implements IFlushableStreamMonitor {
 
-	private StringBuffer fContents = new StringBuffer();
+	private final IStreamContentStore fContents;
 	private ListenerList fListeners = new ListenerList(1);
 	private boolean fBuffered = true;
+	private volatile StreamNotificationDispatcher fDispatcher = null;
+
+	/**
+	 * Creates a monitor retaining all of its contents.
+	 */
+	public GradleStreamMonitor() {
+		this(new StringContentStore());
+	}
+
+	/**
+	 * @param contents the store keeping the contents of this monitor
+	 */
+	public GradleStreamMonitor(IStreamContentStore contents) {
+		fContents = contents;
+	}
 	
 	/**
 	 * @see org.eclipse.debug.core.model.IStreamMonitor#addListener(org.eclipse.debug.core.IStreamListener)
@@ -39,8 +55,53 @@ public class GradleStreamMonitor implements IFlushableStreamMonitor {
 	/**
 	 * @see org.eclipse.debug.core.model.IStreamMonitor#getContents()
 	 */
-	public String getContents() {
-		return fContents.toString();
+	public synchronized String getContents() {
+		long dropped = fContents.getDroppedCharacterCount();
+		if (dropped > 0) {
+			return getDroppedNotice(dropped) + fContents.getContents();
+		}
+		return fContents.getContents();
+	}
+
+	/**
+	 * @return the number of characters the contents returned by {@link #getContents()} are shifted 
+	 * against the appended characters, the length of the notice about dropped characters minus their number
+	 */
+	public synchronized long getContentsShift() {
+		long dropped = fContents.getDroppedCharacterCount();
+		if (dropped > 0) {
+			return getDroppedNotice(dropped).length() - dropped;
+		}
+		return 0;
+	}
+
+	private static String getDroppedNotice(long dropped) {
+		return NLS.bind(GradleLaunchConfigurationMessages.GradleStreamMonitor_Dropped_characters, String.valueOf(dropped));
+	}
+
+	/**
+	 * @return the number of characters appended to this monitor which are not retained anymore
+	 */
+	public long getDroppedCharacterCount() {
+		return fContents.getDroppedCharacterCount();
+	}
+
+	/**
+	 * @return the store keeping the contents of this monitor
+	 */
+	public IStreamContentStore getContentStore() {
+		return fContents;
+	}
+
+	/**
+	 * Releases the contents of this monitor. Spilled contents are deleted.
+	 */
+	public void dispose() {
+		if (fContents instanceof SpillFileContentStore) {
+			((SpillFileContentStore) fContents).dispose();
+		} else {
+			fContents.clear();
+		}
 	}
 
 	/**
@@ -51,25 +112,48 @@ public class GradleStreamMonitor implements IFlushableStreamMonitor {
 	}
 
 	/**
-	 * Appends the given message to this stream, and notifies listeners.
+	 * Appends the given message to this stream, and notifies listeners. If a
+	 * dispatcher is set, listeners are notified later by the dispatcher.
 	 * 
 	 * @param message
 	 */
 	public void append(String message) {
+		StreamNotificationDispatcher dispatcher = fDispatcher;
+		if (dispatcher != null) {
+			dispatcher.enqueue(this, message);
+		} else {
+			dispatch(message);
+		}
+	}
+
+	/**
+	 * Stores the given text and notifies the listeners. Connecting consoles synchronize on this 
+	 * monitor, so they neither miss text nor receive it twice.
+	 */
+	synchronized void dispatch(String text) {
 		if (isBuffered()) {
-			fContents.append(message);
+			fContents.append(text);
 		}
 		Object[] listeners = fListeners.getListeners();
 		for (int i = 0; i < listeners.length; i++) {
 			IStreamListener listener = (IStreamListener)listeners[i];
-			listener.streamAppended(message, this);
+			listener.streamAppended(text, this);
 		}
 	}
+
+	/**
+	 * @param dispatcher the dispatcher batching the notifications of this monitor, 
+	 * <code>null</code> to notify listeners on every append
+	 */
+	public void setDispatcher(StreamNotificationDispatcher dispatcher) {
+		fDispatcher = dispatcher;
+	}
+
 	/**
 	 * @see org.eclipse.debug.core.model.IFlushableStreamMonitor#flushContents()
 	 */
 	public void flushContents() {
-		fContents.setLength(0);
+		fContents.clear();
 	}
 
 	/**
@@ -15,9 +15,15 @@
  */
 package org.gradle.eclipse.launchConfigurations;
 
+import java.io.File;
+import java.io.IOException;
+
 import org.eclipse.debug.core.model.IStreamMonitor;
 import org.eclipse.debug.core.model.IStreamsProxy;
 import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.events.GradleBuildEvent;
+import org.gradle.eclipse.events.GradleBuildEventPublisher;
+import org.gradle.eclipse.events.IGradleBuildEventListener;
 
 
 /**
@@ -26,16 +32,162 @@ import org.gradle.eclipse.GradlePlugin;
  */
 public class GradleStreamsProxy implements IStreamsProxy {
 	
-	private GradleStreamMonitor fErrorMonitor = new GradleStreamMonitor();
-	private GradleStreamMonitor fOutputMonitor = new GradleStreamMonitor();
+	private final GradleStreamMonitor fErrorMonitor;
+	private final GradleStreamMonitor fOutputMonitor;
 	
 	public static final String GRADLE_DEBUG_STREAM = GradlePlugin.PLUGIN_ID + ".GRADLE_DEBUG_STREAM"; //$NON-NLS-1$
 	public static final String GRADLE_VERBOSE_STREAM = GradlePlugin.PLUGIN_ID + ".GRADLE_VERBOSE_STREAM"; //$NON-NLS-1$
 	public static final String GRADLE_WARNING_STREAM = GradlePlugin.PLUGIN_ID  + ".GRADLE_WARNING_STREAM"; //$NON-NLS-1$
 	
-	private GradleStreamMonitor fDebugMonitor = new GradleStreamMonitor();
-	private GradleStreamMonitor fVerboseMonitor = new GradleStreamMonitor();
-	private GradleStreamMonitor fWarningMonitor = new GradleStreamMonitor();
+	private final GradleStreamMonitor fDebugMonitor;
+	private final GradleStreamMonitor fVerboseMonitor;
+	private final GradleStreamMonitor fWarningMonitor;
+
+	/**
+	 * batches the listener notifications of all monitors
+	 */
+	private final StreamNotificationDispatcher fDispatcher = new StreamNotificationDispatcher();
+
+	/**
+	 * parses every complete line of the gradle output once for all consumers
+	 */
+	private final GradleBuildEventPublisher fEventPublisher = new GradleBuildEventPublisher();
+
+	/**
+	 * the output range of every task
+	 */
+	private final TaskOutputIndex fTaskOutputIndex = new TaskOutputIndex();
+
+	/**
+	 * the output range of every error, warning and failure
+	 */
+	private final BuildProblemIndex fBuildProblemIndex = new BuildProblemIndex();
+
+	/**
+	 * removes the colors and cursor movements of a rich console before the output is split into lines
+	 */
+	private final AnsiEscapeDecoder fAnsiDecoder = new AnsiEscapeDecoder();
+
+	/**
+	 * keeps floods of debug lines out of the console, <code>null</code> to show all debug lines
+	 */
+	private DebugOutputThrottle fDebugThrottle = null;
+
+	private final StreamLineSplitter fLineSplitter = new StreamLineSplitter(new StreamLineSplitter.ILineHandler() {
+		public void handleLine(String line) {
+			fEventPublisher.publish(line);
+		}
+	});
+
+	/**
+	 * Creates a proxy whose monitors retain all of their contents.
+	 */
+	public GradleStreamsProxy() {
+		this(0);
+	}
+
+	/**
+	 * @param contentBudget number of characters retained by each stream monitor, 
+	 * <code>0</code> to retain all contents
+	 */
+	public GradleStreamsProxy(int contentBudget) {
+		fErrorMonitor = new GradleStreamMonitor(createContentStore(contentBudget));
+		fOutputMonitor = new GradleStreamMonitor(createContentStore(contentBudget));
+		fDebugMonitor = new GradleStreamMonitor(createContentStore(contentBudget));
+		fVerboseMonitor = new GradleStreamMonitor(createContentStore(contentBudget));
+		fWarningMonitor = new GradleStreamMonitor(createContentStore(contentBudget));
+		attachDispatcher();
+	}
+
+	/**
+	 * Creates a proxy writing the complete output of each stream to a log file in the given directory.
+	 * 
+	 * @param logDirectory the directory receiving one log file per stream
+	 * @param contentBudget number of characters replayed by {@link GradleStreamMonitor#getContents()}, 
+	 * <code>0</code> to replay the complete log
+	 */
+	public GradleStreamsProxy(File logDirectory, int contentBudget) {
+		fErrorMonitor = new GradleStreamMonitor(createSpillStore(logDirectory, "error", contentBudget)); //$NON-NLS-1$
+		fOutputMonitor = new GradleStreamMonitor(createSpillStore(logDirectory, "output", contentBudget)); //$NON-NLS-1$
+		fDebugMonitor = new GradleStreamMonitor(createSpillStore(logDirectory, "debug", contentBudget)); //$NON-NLS-1$
+		fVerboseMonitor = new GradleStreamMonitor(createSpillStore(logDirectory, "verbose", contentBudget)); //$NON-NLS-1$
+		fWarningMonitor = new GradleStreamMonitor(createSpillStore(logDirectory, "warning", contentBudget)); //$NON-NLS-1$
+		attachDispatcher();
+	}
+
+	private void attachDispatcher() {
+		fErrorMonitor.setDispatcher(fDispatcher);
+		fOutputMonitor.setDispatcher(fDispatcher);
+		fDebugMonitor.setDispatcher(fDispatcher);
+		fVerboseMonitor.setDispatcher(fDispatcher);
+		fWarningMonitor.setDispatcher(fDispatcher);
+		fDispatcher.setDroppableMonitor(fDebugMonitor);
+		fErrorMonitor.addListener(fTaskOutputIndex);
+		fOutputMonitor.addListener(fTaskOutputIndex);
+		fDebugMonitor.addListener(fTaskOutputIndex);
+		fVerboseMonitor.addListener(fTaskOutputIndex);
+		fWarningMonitor.addListener(fTaskOutputIndex);
+		fErrorMonitor.addListener(fBuildProblemIndex);
+		fOutputMonitor.addListener(fBuildProblemIndex);
+		fDebugMonitor.addListener(fBuildProblemIndex);
+		fVerboseMonitor.addListener(fBuildProblemIndex);
+		fWarningMonitor.addListener(fBuildProblemIndex);
+		fEventPublisher.addListener(new IGradleBuildEventListener() {
+			private String fTask = null;
+
+			public void handleEvent(GradleBuildEvent event) {
+				final String task = event.getTask();
+				if (task == null ? fTask != null : !task.equals(fTask)) {
+					fTask = task;
+					// the task boundary passes the dispatcher in order with the output
+					fDispatcher.enqueueAction(new Runnable() {
+						public void run() {
+							if (task == null) {
+								fTaskOutputIndex.taskFinished();
+							} else {
+								fTaskOutputIndex.taskStarted(task);
+							}
+						}
+					});
+				}
+				final BuildProblemIndex.Kind problem = BuildProblemIndex.classify(event);
+				if (problem != null) {
+					final String message = event.getMessage();
+					final int length = event.getLine().length();
+					fDispatcher.enqueueAction(new Runnable() {
+						public void run() {
+							fBuildProblemIndex.problemFound(problem, message, task, length);
+						}
+					});
+				}
+				GradleStreamMonitor monitor = getMonitor(event.getLevel());
+				if (monitor == fDebugMonitor && fDebugThrottle != null) {
+					String text = fDebugThrottle.filter(event.getLine());
+					if (text != null) {
+						monitor.append(text);
+					}
+				} else {
+					monitor.append(event.getLine());
+				}
+			}
+		});
+	}
+
+	private static IStreamContentStore createSpillStore(File logDirectory, String stream, int contentBudget) {
+		try {
+			return new SpillFileContentStore(new File(logDirectory, stream + ".log"), contentBudget); //$NON-NLS-1$
+		} catch (IOException e) {
+			GradlePlugin.log("Unable to create log file for gradle " + stream + " stream", e); //$NON-NLS-1$ //$NON-NLS-2$
+			return createContentStore(contentBudget);
+		}
+	}
+
+	private static IStreamContentStore createContentStore(int contentBudget) {
+		if(contentBudget > 0){
+			return new RingBufferContentStore(contentBudget);
+		}
+		return new StringContentStore();
+	}
 
 	/**
 	 * @see org.eclipse.debug.core.model.IStreamsProxy#getErrorStreamMonitor()
@@ -55,30 +207,105 @@ public class GradleStreamsProxy implements IStreamsProxy {
 	 * @see org.eclipse.debug.core.model.IStreamsProxy#write(java.lang.String)
 	 */
 	public void write(String input) {
-		//change this: @FIXME use more sophisticated approach
-		String[] split = input.split("\n");
-		for(String line : split){
-			GradleStreamMonitor monitor = getMonitorByLineParsing(line);
-			monitor.append(line);
-			monitor.append("\n");
+		// a full notification queue is awaited without holding the lock of this proxy
+		fDispatcher.awaitCapacity();
+		synchronized (this) {
+			fLineSplitter.append(fAnsiDecoder.decode(input));
 		}
 	}
 
-	private GradleStreamMonitor getMonitorByLineParsing(String line) {
-		if(line.contains(" [main] DEBUG ")){
-			return fDebugMonitor;
-		}else if(line.contains("[main] WARN  ")){
-			return fWarningMonitor;
-		}else if(line.contains("[main] INFO  ")){
-			return fWarningMonitor;
-		}else if(line.contains("[main] ERROR ")){
-			return fErrorMonitor;
-		}else if(line.contains("[main] ERROR ")){
+	/**
+	 * Writes a pending partial line, e.g. after the build has finished, 
+	 * and makes spilled output available in the log files.
+	 */
+	public synchronized void flush() {
+		fLineSplitter.flush();
+		if (fDebugThrottle != null) {
+			String summary = fDebugThrottle.finish();
+			if (summary != null) {
+				fDebugMonitor.append(summary);
+			}
+		}
+		fDispatcher.flush();
+		flushLogFile(fErrorMonitor);
+		flushLogFile(fOutputMonitor);
+		flushLogFile(fDebugMonitor);
+		flushLogFile(fVerboseMonitor);
+		flushLogFile(fWarningMonitor);
+	}
+
+	private void flushLogFile(GradleStreamMonitor monitor) {
+		if(monitor.getContentStore() instanceof SpillFileContentStore){
+			((SpillFileContentStore)monitor.getContentStore()).flush();
+		}
+	}
+
+	private GradleStreamMonitor getMonitor(GradleLogLevel level) {
+		switch(level){
+		case ERROR:
 			return fErrorMonitor;
+		case WARN:
+			return fWarningMonitor;
+		case INFO:
+			return fVerboseMonitor;
+		case DEBUG:
+		case TRACE:
+			return fDebugMonitor;
+		default:
+			// QUIET, LIFECYCLE and lines without level prefix
+			return fOutputMonitor;
 		}
-		
-		return fOutputMonitor;
-		
+	}
+
+	/**
+	 * Releases the contents of all stream monitors, e.g. deletes their log files.
+	 */
+	public synchronized void dispose() {
+		fDispatcher.flush();
+		fErrorMonitor.dispose();
+		fOutputMonitor.dispose();
+		fDebugMonitor.dispose();
+		fVerboseMonitor.dispose();
+		fWarningMonitor.dispose();
+		if (fDebugThrottle != null) {
+			fDebugThrottle.close();
+		}
+	}
+
+	/**
+	 * @param throttle keeps floods of debug lines out of the debug stream monitor, 
+	 * <code>null</code> to pass all debug lines
+	 */
+	public synchronized void setDebugThrottle(DebugOutputThrottle throttle) {
+		fDebugThrottle = throttle;
+	}
+
+	/**
+	 * @return the publisher of the parsed output lines, its first listener routes the lines to the stream monitors
+	 */
+	public GradleBuildEventPublisher getEventPublisher() {
+		return fEventPublisher;
+	}
+
+	/**
+	 * @return the output range of every task written through this proxy
+	 */
+	public TaskOutputIndex getTaskOutputIndex() {
+		return fTaskOutputIndex;
+	}
+
+	/**
+	 * @return the errors, warnings and failures written through this proxy
+	 */
+	public BuildProblemIndex getBuildProblemIndex() {
+		return fBuildProblemIndex;
+	}
+
+	/**
+	 * @return the dispatcher notifying the listeners of all stream monitors
+	 */
+	public StreamNotificationDispatcher getDispatcher() {
+		return fDispatcher;
 	}
 
 	public IStreamMonitor getWarningStreamMonitor() {
@@ -0,0 +1,46 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+/**
+ * Keeps the contents of a {@link GradleStreamMonitor}. Implementations decide 
+ * how much of the appended text is retained. 
+ * 
+ * Implementations must be thread safe, contents are appended by the build 
+ * while the console may read them at any time.
+ */
+public interface IStreamContentStore {
+
+	/**
+	 * Appends the given text to this store.
+	 */
+	void append(String text);
+
+	/**
+	 * @return the retained contents of this store
+	 */
+	String getContents();
+
+	/**
+	 * @return the number of appended characters that are not retained anymore
+	 */
+	long getDroppedCharacterCount();
+
+	/**
+	 * Removes all contents of this store.
+	 */
+	void clear();
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+/**
+ * Content store retaining only the most recent characters up to a fixed budget. 
+ * Older characters are overwritten and counted as dropped.
+ */
+public class RingBufferContentStore implements IStreamContentStore {
+
+	private final char[] fBuffer;
+	/**
+	 * index of the oldest retained character
+	 */
+	private int fStart = 0;
+	private int fSize = 0;
+	private long fDropped = 0;
+
+	/**
+	 * @param budget maximum number of characters retained, must be positive
+	 */
+	public RingBufferContentStore(int budget) {
+		if (budget <= 0) {
+			throw new IllegalArgumentException("budget must be positive: " + budget); //$NON-NLS-1$
+		}
+		fBuffer = new char[budget];
+	}
+
+	public synchronized void append(String text) {
+		int length = text.length();
+		int capacity = fBuffer.length;
+		int offset = 0;
+		if (length >= capacity) {
+			// only the tail of the text fits
+			fDropped += fSize + (length - capacity);
+			offset = length - capacity;
+			fStart = 0;
+			fSize = 0;
+		}
+		int count = length - offset;
+		int overflow = fSize + count - capacity;
+		if (overflow > 0) {
+			fStart = (fStart + overflow) % capacity;
+			fSize -= overflow;
+			fDropped += overflow;
+		}
+		int end = (fStart + fSize) % capacity;
+		int firstPart = Math.min(count, capacity - end);
+		text.getChars(offset, offset + firstPart, fBuffer, end);
+		if (firstPart < count) {
+			text.getChars(offset + firstPart, offset + count, fBuffer, 0);
+		}
+		fSize += count;
+	}
+
+	public synchronized String getContents() {
+		int capacity = fBuffer.length;
+		if (fStart + fSize <= capacity) {
+			return new String(fBuffer, fStart, fSize);
+		}
+		int firstPart = capacity - fStart;
+		StringBuilder contents = new StringBuilder(fSize);
+		contents.append(fBuffer, fStart, firstPart);
+		contents.append(fBuffer, 0, fSize - firstPart);
+		return contents.toString();
+	}
+
+	public synchronized long getDroppedCharacterCount() {
+		return fDropped;
+	}
+
+	public synchronized void clear() {
+		fStart = 0;
+		fSize = 0;
+		fDropped = 0;
+	}
+
+	/**
+	 * @return the maximum number of characters retained by this store
+	 */
+	public int getBudget() {
+		return fBuffer.length;
+	}
+}
@@ -0,0 +1,350 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import org.gradle.eclipse.GradlePlugin;
+
+/**
+ * Content store writing everything appended to it to a log file instead of keeping it on the heap.
+ * 
+ * Text is encoded as UTF-8 and written through a buffered {@link FileChannel}. A sparse index 
+ * keeps the byte and character offset of every {@value #INDEX_INTERVAL}th line, so any range of 
+ * lines can be replayed by memory mapping the file from the closest indexed line. 
+ * {@link #getContents()} replays the tail of the log within the replay budget, the complete
+ * log is only available from the file. 
+ */
+public class SpillFileContentStore implements IStreamContentStore {
+
+	/**
+	 * every n-th line start is kept in the index
+	 */
+	static final int INDEX_INTERVAL = 256;
+
+	/**
+	 * number of characters replayed if no replay budget is given, the default console buffer size
+	 */
+	static final int DEFAULT_REPLAY_BUDGET = 500000;
+
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+	private static final int SCAN_WINDOW_SIZE = 16 * 1024 * 1024;
+	private static final Charset UTF8 = Charset.forName("UTF-8"); //$NON-NLS-1$
+
+	private final File fFile;
+	private final int fReplayBudget;
+	private final RandomAccessFile fRandomAccessFile;
+	private final FileChannel fChannel;
+	private final ByteBuffer fWriteBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+	private final CharsetEncoder fEncoder = UTF8.newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+	private boolean fClosed = false;
+	private long fFlushedBytes = 0;
+	private long fCharCount = 0;
+	private long fLineCount = 0;
+
+	/**
+	 * entry i holds the byte and character offset of line i * INDEX_INTERVAL
+	 */
+	private long[] fByteIndex = new long[64];
+	private long[] fCharIndex = new long[64];
+	private int fIndexSize = 1;
+
+	/**
+	 * @param file the log file, existing contents are replaced
+	 * @param replayBudget maximum number of characters returned by {@link #getContents()}, 
+	 * <code>0</code> to use the {@link #DEFAULT_REPLAY_BUDGET}
+	 */
+	public SpillFileContentStore(File file, int replayBudget) throws IOException {
+		fFile = file;
+		fReplayBudget = replayBudget > 0 ? replayBudget : DEFAULT_REPLAY_BUDGET;
+		fRandomAccessFile = new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+		fRandomAccessFile.setLength(0);
+		fChannel = fRandomAccessFile.getChannel();
+	}
+
+	public synchronized void append(String text) {
+		if (fClosed) {
+			return;
+		}
+		try {
+			int start = 0;
+			int end = text.indexOf('\n');
+			while (end != -1) {
+				encode(CharBuffer.wrap(text, start, end + 1));
+				fCharCount += end + 1 - start;
+				fLineCount++;
+				if (fLineCount % INDEX_INTERVAL == 0) {
+					addIndexEntry(fFlushedBytes + fWriteBuffer.position(), fCharCount);
+				}
+				start = end + 1;
+				end = text.indexOf('\n', start);
+			}
+			if (start < text.length()) {
+				encode(CharBuffer.wrap(text, start, text.length()));
+				fCharCount += text.length() - start;
+			}
+		} catch (IOException e) {
+			GradlePlugin.log("Unable to write gradle output to " + fFile, e); //$NON-NLS-1$
+			close();
+		}
+	}
+
+	/**
+	 * Returns the tail of the log, starting at the first line that fits into the replay budget.
+	 * A trailing line longer than the budget is cut.
+	 */
+	public synchronized String getContents() {
+		try {
+			flushWriteBuffer();
+			return decode(getReplayStart()[0], fFlushedBytes);
+		} catch (IOException e) {
+			GradlePlugin.log("Unable to read gradle output from " + fFile, e); //$NON-NLS-1$
+			return ""; //$NON-NLS-1$
+		}
+	}
+
+	public synchronized long getDroppedCharacterCount() {
+		try {
+			flushWriteBuffer();
+			return getReplayStart()[1];
+		} catch (IOException e) {
+			GradlePlugin.log("Unable to read gradle output from " + fFile, e); //$NON-NLS-1$
+			return fCharCount;
+		}
+	}
+
+	/**
+	 * Replays a range of lines of the log.
+	 * 
+	 * @param firstLine index of the first line to return, starting with <code>0</code>
+	 * @param lineCount maximum number of lines to return
+	 * @return the requested lines including their line feeds
+	 */
+	public synchronized String getContents(long firstLine, int lineCount) throws IOException {
+		if (!fChannel.isOpen()) {
+			throw new IOException("Log file is closed: " + fFile); //$NON-NLS-1$
+		}
+		flushWriteBuffer();
+		int entry = (int) Math.min(firstLine / INDEX_INTERVAL, fIndexSize - 1);
+		long line = (long) entry * INDEX_INTERVAL;
+		long start = skipLines(fByteIndex[entry], firstLine - line);
+		long end = skipLines(start, lineCount);
+		return decode(start, end);
+	}
+
+	/**
+	 * @return the number of lines of the log, a trailing partial line is not counted
+	 */
+	public synchronized long getLineCount() {
+		return fLineCount;
+	}
+
+	/**
+	 * @return the number of characters appended to this store
+	 */
+	public synchronized long getCharacterCount() {
+		return fCharCount;
+	}
+
+	public File getFile() {
+		return fFile;
+	}
+
+	public synchronized void clear() {
+		try {
+			fWriteBuffer.clear();
+			fChannel.truncate(0);
+		} catch (IOException e) {
+			GradlePlugin.log("Unable to clear " + fFile, e); //$NON-NLS-1$
+		}
+		fFlushedBytes = 0;
+		fCharCount = 0;
+		fLineCount = 0;
+		fIndexSize = 1;
+	}
+
+	/**
+	 * Writes buffered output to the log file.
+	 */
+	public synchronized void flush() {
+		try {
+			flushWriteBuffer();
+		} catch (IOException e) {
+			GradlePlugin.log("Unable to write gradle output to " + fFile, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Writes buffered output to the log file. Further appended text is ignored.
+	 */
+	public synchronized void close() {
+		if (fClosed) {
+			return;
+		}
+		fClosed = true;
+		try {
+			flushWriteBuffer();
+		} catch (IOException e) {
+			GradlePlugin.log("Unable to write gradle output to " + fFile, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Closes the log file and deletes it.
+	 */
+	public synchronized void dispose() {
+		close();
+		try {
+			fRandomAccessFile.close();
+		} catch (IOException e) {
+			GradlePlugin.log(e);
+		}
+		fFile.delete();
+	}
+
+	/**
+	 * Looks up the closest indexed line in front of the replay and scans the lines behind it 
+	 * until the rest of the log fits into the replay budget.
+	 * 
+	 * @return the byte and character offset the replay starts at
+	 */
+	private long[] getReplayStart() throws IOException {
+		int entry = 0;
+		while (entry < fIndexSize - 1 && fCharCount - fCharIndex[entry + 1] > fReplayBudget) {
+			entry++;
+		}
+		long position = fByteIndex[entry];
+		long chars = fCharIndex[entry];
+		long line = (long) entry * INDEX_INTERVAL;
+		boolean lineStart = true;
+		while (position < fFlushedBytes) {
+			long windowSize = Math.min(SCAN_WINDOW_SIZE, fFlushedBytes - position);
+			MappedByteBuffer window = fChannel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+			while (window.hasRemaining()) {
+				byte b = window.get(window.position());
+				boolean charStart = (b & 0xC0) != 0x80;
+				// stop at a line start, or within the trailing line if it alone exceeds the budget
+				if (charStart && fCharCount - chars <= fReplayBudget && (lineStart || line == fLineCount)) {
+					return new long[] { position + window.position(), chars };
+				}
+				window.get();
+				if (charStart) {
+					// a four byte sequence is decoded to a surrogate pair
+					chars += (b & 0xF8) == 0xF0 ? 2 : 1;
+				}
+				lineStart = b == '\n';
+				if (lineStart) {
+					line++;
+				}
+			}
+			position += window.position();
+		}
+		return new long[] { fFlushedBytes, fCharCount };
+	}
+
+	private void encode(CharBuffer chars) throws IOException {
+		fEncoder.reset();
+		while (true) {
+			CoderResult result = fEncoder.encode(chars, fWriteBuffer, true);
+			if (result.isOverflow()) {
+				flushWriteBuffer();
+			} else {
+				break;
+			}
+		}
+		while (fEncoder.flush(fWriteBuffer).isOverflow()) {
+			flushWriteBuffer();
+		}
+	}
+
+	private void flushWriteBuffer() throws IOException {
+		if (fWriteBuffer.position() == 0) {
+			return;
+		}
+		fWriteBuffer.flip();
+		while (fWriteBuffer.hasRemaining()) {
+			fFlushedBytes += fChannel.write(fWriteBuffer, fFlushedBytes);
+		}
+		fWriteBuffer.clear();
+	}
+
+	private void addIndexEntry(long byteOffset, long charOffset) {
+		if (fIndexSize == fByteIndex.length) {
+			long[] byteIndex = new long[fIndexSize * 2];
+			long[] charIndex = new long[fIndexSize * 2];
+			System.arraycopy(fByteIndex, 0, byteIndex, 0, fIndexSize);
+			System.arraycopy(fCharIndex, 0, charIndex, 0, fIndexSize);
+			fByteIndex = byteIndex;
+			fCharIndex = charIndex;
+		}
+		fByteIndex[fIndexSize] = byteOffset;
+		fCharIndex[fIndexSize] = charOffset;
+		fIndexSize++;
+	}
+
+	/**
+	 * @return the byte offset behind the given number of line feeds starting at the given offset,
+	 * or the end of the file if there are less lines
+	 */
+	private long skipLines(long offset, long lines) throws IOException {
+		long position = offset;
+		long remaining = lines;
+		while (remaining > 0 && position < fFlushedBytes) {
+			long windowSize = Math.min(SCAN_WINDOW_SIZE, fFlushedBytes - position);
+			MappedByteBuffer window = fChannel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+			while (remaining > 0 && window.hasRemaining()) {
+				// a line feed byte never occurs inside a multi byte UTF-8 sequence
+				if (window.get() == '\n') {
+					remaining--;
+				}
+			}
+			position += window.position();
+		}
+		return position;
+	}
+
+	private String decode(long start, long end) throws IOException {
+		if (end <= start) {
+			return ""; //$NON-NLS-1$
+		}
+		// a single string can't hold more than Integer.MAX_VALUE characters
+		long from = Math.max(start, end - Integer.MAX_VALUE);
+		MappedByteBuffer bytes = fChannel.map(FileChannel.MapMode.READ_ONLY, from, end - from);
+		CharsetDecoder decoder = UTF8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		try {
+			return decoder.decode(bytes).toString();
+		} catch (CharacterCodingException e) {
+			throw new IOException(e.getMessage());
+		}
+	}
+}
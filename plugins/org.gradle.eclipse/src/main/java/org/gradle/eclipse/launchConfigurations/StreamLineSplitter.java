@@ -0,0 +1,98 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+/**
+ * Assembles lines from output chunks of arbitrary size. Chunk boundaries are not 
+ * line boundaries, a line split across several chunks is passed to the 
+ * {@link ILineHandler} as a whole once its line separator arrives.
+ * 
+ * This class is not thread safe.
+ */
+public class StreamLineSplitter {
+
+	/**
+	 * Receives the completed lines of a {@link StreamLineSplitter}
+	 */
+	public interface ILineHandler {
+
+		/**
+		 * @param line a complete line including its trailing line feed; the last line 
+		 * passed on {@link StreamLineSplitter#flush()} may miss the line feed
+		 */
+		void handleLine(String line);
+	}
+
+	/**
+	 * a partial line buffer grown above this capacity is not retained for the next line
+	 */
+	private static final int MAX_RETAINED_CAPACITY = 8192;
+
+	private final ILineHandler handler;
+	private StringBuilder partialLine = new StringBuilder();
+
+	public StreamLineSplitter(ILineHandler handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * Passes all lines completed by the given chunk to the handler 
+	 * and keeps the remaining characters for the next chunk.
+	 */
+	public void append(String chunk) {
+		int start = 0;
+		int end = chunk.indexOf('\n');
+		while (end != -1) {
+			if (partialLine.length() == 0) {
+				handler.handleLine(chunk.substring(start, end + 1));
+			} else {
+				partialLine.append(chunk, start, end + 1);
+				handler.handleLine(partialLine.toString());
+				resetPartialLine();
+			}
+			start = end + 1;
+			end = chunk.indexOf('\n', start);
+		}
+		if (start < chunk.length()) {
+			partialLine.append(chunk, start, chunk.length());
+		}
+	}
+
+	/**
+	 * Passes a remaining partial line to the handler, e.g. when the stream is closed.
+	 */
+	public void flush() {
+		if (partialLine.length() > 0) {
+			handler.handleLine(partialLine.toString());
+			resetPartialLine();
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if characters of an incomplete line are pending
+	 */
+	public boolean hasPartialLine() {
+		return partialLine.length() > 0;
+	}
+
+	private void resetPartialLine() {
+		if (partialLine.capacity() > MAX_RETAINED_CAPACITY) {
+			partialLine = new StringBuilder();
+		} else {
+			partialLine.setLength(0);
+		}
+	}
+}
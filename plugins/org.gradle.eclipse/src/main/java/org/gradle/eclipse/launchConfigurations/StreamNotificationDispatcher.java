@@ -0,0 +1,397 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Collects the text appended to the stream monitors of one {@link GradleStreamsProxy} and 
+ * passes it to the monitors in batches. Listeners are notified once per batch instead of once 
+ * per line, so the console updates its document a few times per second instead of thousands
+ * of times when gradle prints a lot of output.
+ * 
+ * Batches are flushed {@value #FLUSH_DELAY} ms after the first pending text or as soon as 
+ * {@value #FLUSH_THRESHOLD} characters are pending. Flushing happens on a dispatcher thread of 
+ * its own, never on the thread reporting the gradle output, so a busy console of one launch does 
+ * not delay the output of other launches. The thread is started with the first pending text and 
+ * ends after {@value #IDLE_TIMEOUT} ms without output. The order of the text across all streams 
+ * of the proxy is preserved; consecutive text of the same stream is merged into one notification.
+ * 
+ * About {@link #getCapacity()} characters wait for their notification. When the listeners 
+ * cannot keep up, the {@link OverflowPolicy} decides whether the thread reporting the output 
+ * waits in {@link #awaitCapacity()} or debug output is dropped.
+ * 
+ * Actions queued with {@link #enqueueAction(Runnable)} run on the dispatcher thread after the 
+ * text queued before them has been passed to the monitors.
+ */
+public class StreamNotificationDispatcher {
+
+	/**
+	 * milliseconds pending text waits for more text
+	 */
+	static final long FLUSH_DELAY = 50;
+
+	/**
+	 * number of pending characters flushed without waiting
+	 */
+	static final int FLUSH_THRESHOLD = 8192;
+
+	/**
+	 * milliseconds the dispatcher thread waits for text before it ends
+	 */
+	static final long IDLE_TIMEOUT = 1000;
+
+	/**
+	 * default number of characters waiting for their notification
+	 */
+	public static final int DEFAULT_CAPACITY = 1024 * 1024;
+
+	/**
+	 * What happens to appended text while the queue is full
+	 */
+	public static enum OverflowPolicy {
+		/**
+		 * the reporting thread waits in {@link StreamNotificationDispatcher#awaitCapacity()} until the queue has been flushed
+		 */
+		BLOCK,
+		/**
+		 * debug output is dropped and replaced by a line counting the dropped lines, 
+		 * other output is queued beyond the capacity
+		 */
+		DROP_DEBUG
+	}
+
+	private final Runnable fDispatchLoop = new Runnable() {
+		public void run() {
+			while (awaitFlush()) {
+				flush();
+			}
+		}
+	};
+
+	/**
+	 * guards the pending segments
+	 */
+	private final Object fQueueLock = new Object();
+	/**
+	 * serializes flushes of the dispatcher thread and of callers of {@link #flush()}
+	 */
+	private final Object fDispatchLock = new Object();
+
+	private List<Segment> fPending = new ArrayList<Segment>();
+	private int fPendingCharacters = 0;
+	private long fFirstPendingTime = 0;
+	private boolean fFlushScheduled = false;
+	private boolean fImmediateFlushScheduled = false;
+	private long fFlushDeadline = 0;
+	private Thread fDispatchThread = null;
+
+	private final int fCapacity;
+	private volatile OverflowPolicy fOverflowPolicy = OverflowPolicy.BLOCK;
+	private GradleStreamMonitor fDroppableMonitor = null;
+	private int fMaxPendingCharacters = 0;
+	private long fDroppedLineCount = 0;
+
+	private long fNotificationCount = 0;
+	private long fTotalLatency = 0;
+	private long fMaxLatency = 0;
+
+	/**
+	 * Creates a dispatcher queuing at most {@link #DEFAULT_CAPACITY} characters.
+	 */
+	public StreamNotificationDispatcher() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity number of characters waiting for their notification before the 
+	 * overflow policy applies
+	 */
+	public StreamNotificationDispatcher(int capacity) {
+		fCapacity = Math.max(capacity, FLUSH_THRESHOLD);
+	}
+
+	/**
+	 * @param policy what happens to appended text while the queue is full
+	 */
+	public void setOverflowPolicy(OverflowPolicy policy) {
+		fOverflowPolicy = policy;
+	}
+
+	/**
+	 * @return what happens to appended text while the queue is full
+	 */
+	public OverflowPolicy getOverflowPolicy() {
+		return fOverflowPolicy;
+	}
+
+	/**
+	 * @param monitor the monitor whose text is dropped by {@link OverflowPolicy#DROP_DEBUG}
+	 */
+	void setDroppableMonitor(GradleStreamMonitor monitor) {
+		synchronized (fQueueLock) {
+			fDroppableMonitor = monitor;
+		}
+	}
+
+	/**
+	 * Queues text appended to the given monitor.
+	 */
+	void enqueue(GradleStreamMonitor monitor, String text) {
+		synchronized (fQueueLock) {
+			if (fPendingCharacters >= fCapacity && fOverflowPolicy == OverflowPolicy.DROP_DEBUG && monitor == fDroppableMonitor) {
+				dropLine(monitor);
+				return;
+			}
+			int size = fPending.size();
+			Segment last = size > 0 ? fPending.get(size - 1) : null;
+			if (last != null && last.monitor == monitor && last.droppedLines == 0 && last.action == null) {
+				last.text.append(text);
+			} else {
+				fPending.add(new Segment(monitor, text));
+			}
+			if (fPendingCharacters == 0) {
+				fFirstPendingTime = System.nanoTime();
+			}
+			fPendingCharacters += text.length();
+			fMaxPendingCharacters = Math.max(fMaxPendingCharacters, fPendingCharacters);
+			scheduleFlush();
+		}
+	}
+
+	/**
+	 * Queues an action running after all text queued so far has been passed to the monitors, 
+	 * e.g. to mark a position in the output.
+	 */
+	void enqueueAction(Runnable action) {
+		synchronized (fQueueLock) {
+			Segment segment = new Segment(null, ""); //$NON-NLS-1$
+			segment.action = action;
+			fPending.add(segment);
+			if (fPendingCharacters == 0) {
+				fFirstPendingTime = System.nanoTime();
+			}
+			scheduleFlush();
+		}
+	}
+
+	/**
+	 * Counts a dropped line in the summary segment at the end of the queue.
+	 */
+	private void dropLine(GradleStreamMonitor monitor) {
+		fDroppedLineCount++;
+		int size = fPending.size();
+		Segment last = size > 0 ? fPending.get(size - 1) : null;
+		if (last != null && last.monitor == monitor && last.droppedLines > 0) {
+			last.droppedLines++;
+		} else {
+			Segment summary = new Segment(monitor, ""); //$NON-NLS-1$
+			summary.droppedLines = 1;
+			fPending.add(summary);
+		}
+	}
+
+	/**
+	 * Waits until the dispatcher thread has flushed the full queue if the policy is {@link OverflowPolicy#BLOCK}. 
+	 * Called by the thread reporting the output before it takes any lock the listeners may need, 
+	 * the text of one report is queued even if it exceeds the capacity.
+	 */
+	void awaitCapacity() {
+		if (fOverflowPolicy != OverflowPolicy.BLOCK) {
+			return;
+		}
+		synchronized (fQueueLock) {
+			if (fPendingCharacters < fCapacity) {
+				return;
+			}
+			scheduleFlush();
+			boolean interrupted = false;
+			while (fPendingCharacters >= fCapacity) {
+				try {
+					fQueueLock.wait();
+				} catch (InterruptedException e) {
+					// queue the text anyway, the output must not be lost
+					interrupted = true;
+					break;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void scheduleFlush() {
+		if (fPendingCharacters >= FLUSH_THRESHOLD) {
+			if (!fImmediateFlushScheduled) {
+				fImmediateFlushScheduled = true;
+				fQueueLock.notifyAll();
+			}
+		} else if (!fFlushScheduled) {
+			fFlushScheduled = true;
+			fFlushDeadline = System.nanoTime() + FLUSH_DELAY * 1000000;
+		}
+		if (fDispatchThread == null) {
+			fDispatchThread = new Thread(fDispatchLoop, "Gradle Console Dispatcher"); //$NON-NLS-1$
+			fDispatchThread.setDaemon(true);
+			fDispatchThread.start();
+		}
+	}
+
+	/**
+	 * Waits on the dispatcher thread until pending text is due.
+	 * 
+	 * @return <code>false</code> if the thread ends since no text has been queued for {@value #IDLE_TIMEOUT} ms
+	 */
+	private boolean awaitFlush() {
+		synchronized (fQueueLock) {
+			long idleDeadline = System.nanoTime() + IDLE_TIMEOUT * 1000000;
+			try {
+				while (!fImmediateFlushScheduled) {
+					long now = System.nanoTime();
+					if (fFlushScheduled) {
+						if (now >= fFlushDeadline) {
+							return true;
+						}
+						fQueueLock.wait(Math.max(1, (fFlushDeadline - now) / 1000000));
+					} else {
+						if (now >= idleDeadline) {
+							fDispatchThread = null;
+							return false;
+						}
+						fQueueLock.wait(Math.max(1, (idleDeadline - now) / 1000000));
+					}
+				}
+				return true;
+			} catch (InterruptedException e) {
+				// the next queued text starts a new thread
+				fDispatchThread = null;
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Passes all pending text to the monitors on the calling thread, e.g. when the build has finished.
+	 */
+	public void flush() {
+		synchronized (fDispatchLock) {
+			List<Segment> segments = null;
+			long firstPendingTime = 0;
+			synchronized (fQueueLock) {
+				segments = fPending;
+				firstPendingTime = fFirstPendingTime;
+				fPending = new ArrayList<Segment>();
+				fPendingCharacters = 0;
+				fFlushScheduled = false;
+				fImmediateFlushScheduled = false;
+				fQueueLock.notifyAll();
+			}
+			if (segments.isEmpty()) {
+				return;
+			}
+			for (Segment segment : segments) {
+				if (segment.action != null) {
+					segment.action.run();
+				} else if (segment.droppedLines > 0) {
+					segment.monitor.dispatch(NLS.bind(GradleLaunchConfigurationMessages.StreamNotificationDispatcher_Dropped_lines, String.valueOf(segment.droppedLines)));
+				} else {
+					segment.monitor.dispatch(segment.text.toString());
+				}
+			}
+			recordNotifications(segments.size(), System.nanoTime() - firstPendingTime);
+		}
+	}
+
+	/**
+	 * @return the number of characters the queue holds before the overflow policy applies
+	 */
+	public int getCapacity() {
+		return fCapacity;
+	}
+
+	/**
+	 * @return the number of characters currently waiting for their notification
+	 */
+	public int getQueueDepth() {
+		synchronized (fQueueLock) {
+			return fPendingCharacters;
+		}
+	}
+
+	/**
+	 * @return the largest number of characters that waited for their notification at once
+	 */
+	public int getMaxQueueDepth() {
+		synchronized (fQueueLock) {
+			return fMaxPendingCharacters;
+		}
+	}
+
+	/**
+	 * @return the number of lines dropped by {@link OverflowPolicy#DROP_DEBUG}
+	 */
+	public long getDroppedLineCount() {
+		synchronized (fQueueLock) {
+			return fDroppedLineCount;
+		}
+	}
+
+	/**
+	 * @return the number of notifications passed to the monitors so far
+	 */
+	public synchronized long getNotificationCount() {
+		return fNotificationCount;
+	}
+
+	/**
+	 * @return the average time in milliseconds text waited for its notification
+	 */
+	public synchronized double getAverageLatency() {
+		return fNotificationCount == 0 ? 0 : fTotalLatency / (double) fNotificationCount / 1000000d;
+	}
+
+	/**
+	 * @return the maximum time in milliseconds text waited for its notification
+	 */
+	public synchronized double getMaxLatency() {
+		return fMaxLatency / 1000000d;
+	}
+
+	private synchronized void recordNotifications(int count, long latency) {
+		fNotificationCount += count;
+		fTotalLatency += latency * count;
+		fMaxLatency = Math.max(fMaxLatency, latency);
+	}
+
+	/**
+	 * consecutive text appended to one monitor, the number of consecutive lines dropped or a queued action
+	 */
+	private static class Segment {
+		final GradleStreamMonitor monitor;
+		final StringBuilder text;
+		int droppedLines = 0;
+		Runnable action = null;
+
+		Segment(GradleStreamMonitor monitor, String text) {
+			this.monitor = monitor;
+			this.text = new StringBuilder(text);
+		}
+	}
+}
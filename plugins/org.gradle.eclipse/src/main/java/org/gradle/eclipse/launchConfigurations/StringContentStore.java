@@ -0,0 +1,40 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+/**
+ * Content store retaining everything appended to it.
+ */
+public class StringContentStore implements IStreamContentStore {
+
+	private final StringBuffer fContents = new StringBuffer();
+
+	public void append(String text) {
+		fContents.append(text);
+	}
+
+	public String getContents() {
+		return fContents.toString();
+	}
+
+	public long getDroppedCharacterCount() {
+		return 0;
+	}
+
+	public void clear() {
+		fContents.setLength(0);
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.launchConfigurations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.debug.core.IStreamListener;
+import org.eclipse.debug.core.model.IStreamMonitor;
+import org.gradle.eclipse.ui.console.ConsoleOutputOffsets;
+
+/**
+ * Records which range of the console output each gradle task has written. The index listens 
+ * to all stream monitors of a {@link GradleStreamsProxy} and counts the dispatched characters, 
+ * task boundaries are queued by the proxy in order with the output. Only one range is kept per 
+ * task, so the index grows with the number of tasks and not with the number of lines.
+ */
+public class TaskOutputIndex implements IStreamListener {
+
+	/**
+	 * The output of one task, offsets count the characters dispatched to the stream monitors. 
+	 * The console maps them to its document with a {@link ConsoleOutputOffsets}.
+	 */
+	public static class Range {
+		private final String fTask;
+		private final long fOffset;
+		private final long fLength;
+		private final boolean fFinished;
+
+		Range(String task, long offset, long length, boolean finished) {
+			fTask = task;
+			fOffset = offset;
+			fLength = length;
+			fFinished = finished;
+		}
+
+		/**
+		 * @return the path of the task, e.g. <code>:core:compileJava</code>
+		 */
+		public String getTask() {
+			return fTask;
+		}
+
+		public long getOffset() {
+			return fOffset;
+		}
+
+		public long getLength() {
+			return fLength;
+		}
+
+		/**
+		 * @return <code>false</code> if the task may still write output
+		 */
+		public boolean isFinished() {
+			return fFinished;
+		}
+
+		@Override
+		public String toString() {
+			return fTask + " [" + fOffset + ", " + fLength + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	private final List<Range> fRanges = new ArrayList<Range>();
+	private long fLength = 0;
+	private String fOpenTask = null;
+	private long fOpenOffset = 0;
+
+	/**
+	 * @see org.eclipse.debug.core.IStreamListener#streamAppended(java.lang.String, org.eclipse.debug.core.model.IStreamMonitor)
+	 */
+	public synchronized void streamAppended(String text, IStreamMonitor monitor) {
+		fLength += text.length();
+	}
+
+	/**
+	 * Starts the range of the given task at the current end of the output and 
+	 * finishes the range of the previous task.
+	 */
+	public synchronized void taskStarted(String task) {
+		taskFinished();
+		fOpenTask = task;
+		fOpenOffset = fLength;
+	}
+
+	/**
+	 * Finishes the range of the current task at the current end of the output.
+	 */
+	public synchronized void taskFinished() {
+		if (fOpenTask != null) {
+			fRanges.add(new Range(fOpenTask, fOpenOffset, fLength - fOpenOffset, true));
+			fOpenTask = null;
+		}
+	}
+
+	/**
+	 * @return the ranges of all tasks in the order the tasks started, 
+	 * the range of a running task ends at the current end of the output
+	 */
+	public synchronized List<Range> getRanges() {
+		List<Range> ranges = new ArrayList<Range>(fRanges.size() + 1);
+		ranges.addAll(fRanges);
+		if (fOpenTask != null) {
+			ranges.add(new Range(fOpenTask, fOpenOffset, fLength - fOpenOffset, false));
+		}
+		return ranges;
+	}
+
+	/**
+	 * @return the range of the task whose output contains the given offset, 
+	 * <code>null</code> if no task wrote output at that offset
+	 */
+	public synchronized Range getRange(long offset) {
+		if (fOpenTask != null && offset >= fOpenOffset && offset < fLength) {
+			return new Range(fOpenTask, fOpenOffset, fLength - fOpenOffset, false);
+		}
+		int low = 0;
+		int high = fRanges.size() - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			Range range = fRanges.get(middle);
+			if (offset < range.getOffset()) {
+				high = middle - 1;
+			} else if (offset >= range.getOffset() + range.getLength()) {
+				low = middle + 1;
+			} else {
+				return range;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the number of characters dispatched to the stream monitors so far
+	 */
+	public synchronized long getLength() {
+		return fLength;
+	}
+}
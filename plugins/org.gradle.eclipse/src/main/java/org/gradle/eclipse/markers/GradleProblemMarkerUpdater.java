@@ -0,0 +1,224 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.markers;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.events.GradleBuildEvent;
+import org.gradle.eclipse.events.IGradleBuildEventListener;
+import org.gradle.eclipse.launchConfigurations.GradleLogLevel;
+import org.gradle.eclipse.util.WorkspaceFileResolver;
+
+/**
+ * Creates problem markers for the compiler diagnostics of one gradle build. 
+ * 
+ * Diagnostics are collected from the build events and written in batches of 
+ * {@value #BATCH_SIZE} diagnostics, or {@value #FLUSH_DELAY} ms after the first pending 
+ * diagnostic, by a single {@link IWorkspaceRunnable}. Each batch causes one resource 
+ * change notification, no matter how many markers it creates. 
+ * 
+ * The markers of earlier builds are removed file by file when a file receives its first 
+ * diagnostic of this build. A successful build also removes the remaining error markers
+ * of earlier builds below its build directory.
+ */
+public class GradleProblemMarkerUpdater implements IGradleBuildEventListener {
+
+	/**
+	 * marker type of gradle build problems, a subtype of {@link IMarker#PROBLEM}
+	 */
+	public static final String MARKER_TYPE = GradlePlugin.PLUGIN_ID + ".gradleProblem"; //$NON-NLS-1$
+
+	/**
+	 * marker attribute identifying the build which created the marker
+	 */
+	private static final String BUILD_STAMP = "buildStamp"; //$NON-NLS-1$
+
+	/**
+	 * diagnostics written by one workspace operation at most
+	 */
+	static final int BATCH_SIZE = 200;
+
+	/**
+	 * milliseconds pending diagnostics wait for more diagnostics
+	 */
+	static final long FLUSH_DELAY = 500;
+
+	private static final String[] ATTRIBUTE_NAMES = { IMarker.MESSAGE, IMarker.SEVERITY, IMarker.LINE_NUMBER, 
+			IMarker.LOCATION, IMarker.SOURCE_ID, BUILD_STAMP };
+
+	private final File buildDirectory;
+	private final String buildStamp = String.valueOf(System.currentTimeMillis());
+	private final Set<IFile> clearedFiles = new HashSet<IFile>();
+	private final MarkerJob markerJob = new MarkerJob();
+
+	private List<Diagnostic> pending = new ArrayList<Diagnostic>();
+	private boolean removeStaleErrors = false;
+
+	/**
+	 * @param buildDirectory the directory relative diagnostic paths are resolved against
+	 */
+	public GradleProblemMarkerUpdater(File buildDirectory) {
+		this.buildDirectory = buildDirectory;
+	}
+
+	public void handleEvent(GradleBuildEvent event) {
+		if (!event.isDiagnostic()) {
+			return;
+		}
+		IFile file = WorkspaceFileResolver.getDefault().getFile(event.getFile(), buildDirectory);
+		if (file == null) {
+			return;
+		}
+		int size;
+		synchronized (this) {
+			pending.add(new Diagnostic(file, event));
+			size = pending.size();
+		}
+		if (size >= BATCH_SIZE) {
+			markerJob.schedule();
+		} else if (size == 1) {
+			markerJob.schedule(FLUSH_DELAY);
+		}
+	}
+
+	/**
+	 * Writes the pending diagnostics without waiting for more.
+	 * 
+	 * @param successful <code>true</code> if the build succeeded, so no error of an earlier build remains
+	 */
+	public void buildFinished(boolean successful) {
+		synchronized (this) {
+			removeStaleErrors = successful;
+		}
+		markerJob.schedule();
+	}
+
+	/**
+	 * @return the marker job, e.g. to wait for pending markers
+	 */
+	public Job getJob() {
+		return markerJob;
+	}
+
+	private void writeMarkers(List<Diagnostic> diagnostics, boolean removeStale) throws CoreException {
+		for (Diagnostic diagnostic : diagnostics) {
+			IFile file = diagnostic.file;
+			if (!file.exists()) {
+				continue;
+			}
+			if (clearedFiles.add(file)) {
+				file.deleteMarkers(MARKER_TYPE, false, IResource.DEPTH_ZERO);
+			}
+			IMarker marker = file.createMarker(MARKER_TYPE);
+			marker.setAttributes(ATTRIBUTE_NAMES, new Object[] { 
+					diagnostic.message,
+					Integer.valueOf(diagnostic.severity), 
+					Integer.valueOf(diagnostic.lineNumber), 
+					"line " + diagnostic.lineNumber, //$NON-NLS-1$
+					"Gradle", //$NON-NLS-1$
+					buildStamp });
+		}
+		if (removeStale) {
+			removeStaleErrors();
+		}
+	}
+
+	private void removeStaleErrors() throws CoreException {
+		IMarker[] markers = ResourcesPlugin.getWorkspace().getRoot().findMarkers(MARKER_TYPE, false, IResource.DEPTH_INFINITE);
+		IPath buildLocation = buildDirectory == null ? null : new Path(buildDirectory.getAbsolutePath());
+		for (IMarker marker : markers) {
+			if (buildStamp.equals(marker.getAttribute(BUILD_STAMP, null)) 
+					|| marker.getAttribute(IMarker.SEVERITY, -1) != IMarker.SEVERITY_ERROR) {
+				continue;
+			}
+			IPath location = marker.getResource().getLocation();
+			if (buildLocation == null || (location != null && buildLocation.isPrefixOf(location))) {
+				marker.delete();
+			}
+		}
+	}
+
+	/**
+	 * a compiler diagnostic waiting for its marker
+	 */
+	private static class Diagnostic {
+		final IFile file;
+		final int lineNumber;
+		final int severity;
+		final String message;
+
+		Diagnostic(IFile file, GradleBuildEvent event) {
+			this.file = file;
+			this.lineNumber = event.getLineNumber();
+			this.severity = event.getDiagnosticLevel() == GradleLogLevel.WARN ? IMarker.SEVERITY_WARNING : IMarker.SEVERITY_ERROR;
+			this.message = event.getDiagnosticMessage();
+		}
+	}
+
+	/**
+	 * writes all pending diagnostics in one workspace operation
+	 */
+	private class MarkerJob extends Job {
+
+		MarkerJob() {
+			super("Updating Gradle problem markers");
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			final List<Diagnostic> diagnostics;
+			final boolean removeStale;
+			synchronized (GradleProblemMarkerUpdater.this) {
+				diagnostics = pending;
+				pending = new ArrayList<Diagnostic>();
+				removeStale = removeStaleErrors;
+				removeStaleErrors = false;
+			}
+			if (diagnostics.isEmpty() && !removeStale) {
+				return Status.OK_STATUS;
+			}
+			try {
+				ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+					public void run(IProgressMonitor monitor) throws CoreException {
+						writeMarkers(diagnostics, removeStale);
+					}
+				}, null, IWorkspace.AVOID_UPDATE, monitor);
+			} catch (CoreException e) {
+				return e.getStatus();
+			}
+			return Status.OK_STATUS;
+		}
+	}
+}
@@ -20,6 +20,7 @@ import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.preference.PreferenceConverter;
 import org.eclipse.swt.graphics.RGB;
 import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.launchConfigurations.DebugOutputThrottle;
 
 
 public class GradlePreferenceInitializer extends AbstractPreferenceInitializer {
@@ -45,6 +46,16 @@ public class GradlePreferenceInitializer extends AbstractPreferenceInitializer {
 		prefs.setDefault(IGradlePreferenceConstants.GRADLE_FIND_BUILD_FILE_NAMES, "build.gradle");
 		prefs.setDefault(IGradlePreferenceConstants.USE_SPECIFIC_GRADLE_CACHE, false);
 		prefs.setDefault(IGradlePreferenceConstants.GRADLE_CACHE, getDefaultGradleCache());
+		prefs.setDefault(IGradlePreferenceConstants.GRADLE_EXECUTION_ENGINE, IGradlePreferenceConstants.EXECUTION_ENGINE_PLUGIN_LORD);
+		prefs.setDefault(IGradlePreferenceConstants.DAEMON_WARM_STANDBY, false);
+		prefs.setDefault(IGradlePreferenceConstants.DAEMON_IDLE_TIMEOUT, 30);
+		prefs.setDefault(IGradlePreferenceConstants.DAEMON_MAX_HEAP, 0);
+		prefs.setDefault(IGradlePreferenceConstants.CONSOLE_BUFFER_SIZE, 500000);
+		prefs.setDefault(IGradlePreferenceConstants.CONSOLE_SPILL_TO_DISK, false);
+		prefs.setDefault(IGradlePreferenceConstants.CONSOLE_OVERFLOW_POLICY, IGradlePreferenceConstants.CONSOLE_OVERFLOW_BLOCK);
+		prefs.setDefault(IGradlePreferenceConstants.CONSOLE_ARCHIVE_BUILD_LOGS, true);
+		prefs.setDefault(IGradlePreferenceConstants.CONSOLE_PAGED_DOCUMENT, false);
+		prefs.setDefault(IGradlePreferenceConstants.CONSOLE_DEBUG_MAX_LINE_RATE, DebugOutputThrottle.DEFAULT_MAX_LINE_RATE);
 
 		PreferenceConverter.setDefault(prefs, IGradlePreferenceConstants.CONSOLE_ERROR_COLOR, new RGB(255, 0, 0)); // red - exactly the same as debug Console
 		PreferenceConverter.setDefault(prefs, IGradlePreferenceConstants.CONSOLE_WARNING_COLOR, new RGB(250, 100, 0)); // orange
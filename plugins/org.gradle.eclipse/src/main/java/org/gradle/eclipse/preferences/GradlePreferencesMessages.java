@@ -51,6 +51,34 @@ public class GradlePreferencesMessages extends NLS {
 	public static String GradlePreferencePage_Deb_ug__6;
 
 	public static String GradleRuntimePreferencePage_ADDITIONAL_COMMANDLINE_PARAMS;
+
+	public static String GradleRuntimePreferencePage_EXECUTION_ENGINE;
+
+	public static String GradleRuntimePreferencePage_EXECUTION_ENGINE_PLUGIN_LORD;
+
+	public static String GradleRuntimePreferencePage_EXECUTION_ENGINE_TOOLING_API;
+
+	public static String GradleRuntimePreferencePage_DAEMON_WARM_STANDBY;
+
+	public static String GradleRuntimePreferencePage_DAEMON_IDLE_TIMEOUT;
+
+	public static String GradleRuntimePreferencePage_DAEMON_MAX_HEAP;
+
+	public static String GradlePreferencePage_Console_buffer_size;
+
+	public static String GradlePreferencePage_Console_spill_to_disk;
+
+	public static String GradlePreferencePage_Console_overflow_policy;
+
+	public static String GradlePreferencePage_Console_overflow_block;
+
+	public static String GradlePreferencePage_Console_overflow_drop_debug;
+
+	public static String GradlePreferencePage_Console_archive_build_logs;
+
+	public static String GradlePreferencePage_Console_paged_document;
+
+	public static String GradlePreferencePage_Console_debug_max_line_rate;
 	
 	static {
 		// load message values from bundle file
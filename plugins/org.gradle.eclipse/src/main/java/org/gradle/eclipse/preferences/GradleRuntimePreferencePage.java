@@ -16,9 +16,11 @@
 package org.gradle.eclipse.preferences;
 
 import org.eclipse.jface.preference.BooleanFieldEditor;
+import org.eclipse.jface.preference.ComboFieldEditor;
 import org.eclipse.jface.preference.DirectoryFieldEditor;
 import org.eclipse.jface.preference.FieldEditor;
 import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.preference.PreferenceConverter;
 import org.eclipse.jface.preference.StringFieldEditor;
 import org.eclipse.jface.util.PropertyChangeEvent;
@@ -186,10 +188,70 @@ public class GradleRuntimePreferencePage extends FieldEditorOverlayPage
 				GradlePreferencesMessages.GradleRuntimePreferencePage_ADDITIONAL_COMMANDLINE_PARAMS,
 				getFieldEditorParent());
 		addField(gradleCmdParamsEditor);
+		
+		FieldEditor executionEngineEditor = new ComboFieldEditor(
+				IGradlePreferenceConstants.GRADLE_EXECUTION_ENGINE,
+				GradlePreferencesMessages.GradleRuntimePreferencePage_EXECUTION_ENGINE,
+				new String[][] {
+					{ GradlePreferencesMessages.GradleRuntimePreferencePage_EXECUTION_ENGINE_PLUGIN_LORD, IGradlePreferenceConstants.EXECUTION_ENGINE_PLUGIN_LORD },
+					{ GradlePreferencesMessages.GradleRuntimePreferencePage_EXECUTION_ENGINE_TOOLING_API, IGradlePreferenceConstants.EXECUTION_ENGINE_TOOLING_API } },
+				getFieldEditorParent());
+		addField(executionEngineEditor);
+		
+		if(!isPropertyPage()){
+			// daemons are shared by all projects using the same gradle home
+			addField(new BooleanFieldEditor(
+					IGradlePreferenceConstants.DAEMON_WARM_STANDBY,
+					GradlePreferencesMessages.GradleRuntimePreferencePage_DAEMON_WARM_STANDBY,
+					getFieldEditorParent()));
+			IntegerFieldEditor idleTimeoutEditor = new IntegerFieldEditor(
+					IGradlePreferenceConstants.DAEMON_IDLE_TIMEOUT,
+					GradlePreferencesMessages.GradleRuntimePreferencePage_DAEMON_IDLE_TIMEOUT,
+					getFieldEditorParent());
+			idleTimeoutEditor.setValidRange(0, 24 * 60);
+			addField(idleTimeoutEditor);
+			IntegerFieldEditor maxHeapEditor = new IntegerFieldEditor(
+					IGradlePreferenceConstants.DAEMON_MAX_HEAP,
+					GradlePreferencesMessages.GradleRuntimePreferencePage_DAEMON_MAX_HEAP,
+					getFieldEditorParent());
+			maxHeapEditor.setValidRange(0, 64 * 1024);
+			addField(maxHeapEditor);
+		}
 		createSpace();
 		getPreferenceStore().addPropertyChangeListener(this);
 
 		if(!isPropertyPage()){
+			IntegerFieldEditor consoleBufferEditor = new IntegerFieldEditor(
+					IGradlePreferenceConstants.CONSOLE_BUFFER_SIZE,
+					GradlePreferencesMessages.GradlePreferencePage_Console_buffer_size,
+					getFieldEditorParent());
+			consoleBufferEditor.setValidRange(0, Integer.MAX_VALUE);
+			addField(consoleBufferEditor);
+			addField(new BooleanFieldEditor(
+					IGradlePreferenceConstants.CONSOLE_SPILL_TO_DISK,
+					GradlePreferencesMessages.GradlePreferencePage_Console_spill_to_disk,
+					getFieldEditorParent()));
+			addField(new ComboFieldEditor(
+					IGradlePreferenceConstants.CONSOLE_OVERFLOW_POLICY,
+					GradlePreferencesMessages.GradlePreferencePage_Console_overflow_policy,
+					new String[][] {
+						{ GradlePreferencesMessages.GradlePreferencePage_Console_overflow_block, IGradlePreferenceConstants.CONSOLE_OVERFLOW_BLOCK },
+						{ GradlePreferencesMessages.GradlePreferencePage_Console_overflow_drop_debug, IGradlePreferenceConstants.CONSOLE_OVERFLOW_DROP_DEBUG } },
+					getFieldEditorParent()));
+			addField(new BooleanFieldEditor(
+					IGradlePreferenceConstants.CONSOLE_ARCHIVE_BUILD_LOGS,
+					GradlePreferencesMessages.GradlePreferencePage_Console_archive_build_logs,
+					getFieldEditorParent()));
+			addField(new BooleanFieldEditor(
+					IGradlePreferenceConstants.CONSOLE_PAGED_DOCUMENT,
+					GradlePreferencesMessages.GradlePreferencePage_Console_paged_document,
+					getFieldEditorParent()));
+			IntegerFieldEditor debugLineRateEditor = new IntegerFieldEditor(
+					IGradlePreferenceConstants.CONSOLE_DEBUG_MAX_LINE_RATE,
+					GradlePreferencesMessages.GradlePreferencePage_Console_debug_max_line_rate,
+					getFieldEditorParent());
+			debugLineRateEditor.setValidRange(0, Integer.MAX_VALUE);
+			addField(debugLineRateEditor);
 			createColorComposite();
 		}
 		
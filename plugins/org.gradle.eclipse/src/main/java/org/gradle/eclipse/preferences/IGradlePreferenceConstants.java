@@ -28,6 +28,13 @@ public interface IGradlePreferenceConstants {
 	public static final String USE_SPECIFIC_GRADLE_HOME = "_USE_SPECIFIC_GRADLE_HOME";
 	public static final String USE_PROJECT_SETTINGS = "_USE_PROJECT_SETTINGS";
 
+	/**
+	 * The default gradle home resolved by an earlier session and the 
+	 * gradle bundle versions it was resolved from.
+	 */
+	public static final String DEFAULT_GRADLE_HOME = "_DEFAULT_GRADLE_HOME"; //$NON-NLS-1$
+	public static final String DEFAULT_GRADLE_HOME_STAMP = "_DEFAULT_GRADLE_HOME_STAMP"; //$NON-NLS-1$
+
 	/**
 	 * The symbolic names for colors for displaying the content in the Console
 	 * @see org.eclipse.jface.resource.ColorRegistry
@@ -39,9 +46,60 @@ public interface IGradlePreferenceConstants {
 	public static final String CONSOLE_VERBOSE_COLOR = "org.gradle.eclipse.ui.verboseColor"; //$NON-NLS-1$
 	public static final String CONSOLE_DEBUG_COLOR = "org.gradle.eclipse.ui.debugColor"; //$NON-NLS-1$	
 	
+	/**
+	 * Number of characters each console stream of a launch retains, 0 to retain everything
+	 */
+	public static final String CONSOLE_BUFFER_SIZE = "_CONSOLE_BUFFER_SIZE"; //$NON-NLS-1$
+
+	/**
+	 * Whether the complete output of a launch is written to log files in the state location
+	 */
+	public static final String CONSOLE_SPILL_TO_DISK = "_CONSOLE_SPILL_TO_DISK"; //$NON-NLS-1$
+
+	/**
+	 * What happens to build output while the console cannot keep up with it
+	 * @see #CONSOLE_OVERFLOW_BLOCK
+	 * @see #CONSOLE_OVERFLOW_DROP_DEBUG
+	 */
+	public static final String CONSOLE_OVERFLOW_POLICY = "_CONSOLE_OVERFLOW_POLICY"; //$NON-NLS-1$
+	public static final String CONSOLE_OVERFLOW_BLOCK = "block"; //$NON-NLS-1$
+	public static final String CONSOLE_OVERFLOW_DROP_DEBUG = "dropDebug"; //$NON-NLS-1$
+
+	/**
+	 * Whether the output of every launch is kept in a compressed archive for later inspection
+	 */
+	public static final String CONSOLE_ARCHIVE_BUILD_LOGS = "_CONSOLE_ARCHIVE_BUILD_LOGS"; //$NON-NLS-1$
+
+	/**
+	 * Whether the output is shown in a console whose document keeps most of its text on disk
+	 */
+	public static final String CONSOLE_PAGED_DOCUMENT = "_CONSOLE_PAGED_DOCUMENT"; //$NON-NLS-1$
+
+	/**
+	 * Number of debug lines per second of a debug mode launch above which further debug lines 
+	 * are written to a side file instead of the console, 0 to show all debug lines
+	 */
+	public static final String CONSOLE_DEBUG_MAX_LINE_RATE = "_CONSOLE_DEBUG_MAX_LINE_RATE"; //$NON-NLS-1$
+
 	public static final String GRADLE_ERROR_DIALOG = "GRADLE_ERROR_DIALOG";
 	public static final String GRADLE_CACHE = "GRADLE_CACHE";
 	public static final String USE_SPECIFIC_GRADLE_CACHE = "_USE_SPECIFIC_GRADLE_HOME";
 	public static final String ADDITIONAL_COMMANDLINE_PARAMS= "_ADDITIONAL_COMMANDLINE_PARAMS";
 
+	/**
+	 * The engine used to execute gradle builds
+	 * @see #EXECUTION_ENGINE_PLUGIN_LORD
+	 * @see #EXECUTION_ENGINE_TOOLING_API
+	 */
+	public static final String GRADLE_EXECUTION_ENGINE = "_GRADLE_EXECUTION_ENGINE"; //$NON-NLS-1$
+	public static final String EXECUTION_ENGINE_PLUGIN_LORD = "pluginLord"; //$NON-NLS-1$
+	public static final String EXECUTION_ENGINE_TOOLING_API = "toolingApi"; //$NON-NLS-1$
+
+	/**
+	 * Settings of the gradle daemons used by the tooling api execution engine
+	 */
+	public static final String DAEMON_WARM_STANDBY = "_DAEMON_WARM_STANDBY"; //$NON-NLS-1$
+	public static final String DAEMON_IDLE_TIMEOUT = "_DAEMON_IDLE_TIMEOUT"; //$NON-NLS-1$
+	public static final String DAEMON_MAX_HEAP = "_DAEMON_MAX_HEAP"; //$NON-NLS-1$
+
 }
@@ -0,0 +1,68 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.text.ITextSelection;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.console.TextConsolePage;
+import org.eclipse.ui.console.TextConsoleViewer;
+import org.gradle.eclipse.launchConfigurations.BuildProblemIndex;
+import org.gradle.eclipse.launchConfigurations.GradleProcess;
+
+/**
+ * Selects the next or previous problem of the {@link BuildProblemIndex} of a gradle process 
+ * relative to the caret of the console.
+ */
+public class BuildProblemNavigationAction extends Action {
+
+	private final GradleProcess fProcess;
+	private final TextConsolePage fPage;
+	private final boolean fNext;
+
+	/**
+	 * @param next <code>true</code> to select the next problem, <code>false</code> to select the previous one
+	 */
+	public BuildProblemNavigationAction(GradleProcess process, TextConsolePage page, boolean next) {
+		super(next ? GradleConsoleMessages.NextBuildProblemAction_Text : GradleConsoleMessages.PreviousBuildProblemAction_Text);
+		setImageDescriptor(PlatformUI.getWorkbench().getSharedImages().getImageDescriptor(
+				next ? ISharedImages.IMG_TOOL_FORWARD : ISharedImages.IMG_TOOL_BACK));
+		fProcess = process;
+		fPage = page;
+		fNext = next;
+	}
+
+	@Override
+	public void run() {
+		TextConsoleViewer viewer = fPage.getViewer();
+		if (viewer == null || viewer.getDocument() == null) {
+			return;
+		}
+		ConsoleOutputOffsets offsets = fProcess.getOutputOffsets();
+		if (offsets == null) {
+			return;
+		}
+		long offset = offsets.toOutputOffset(((ITextSelection) viewer.getSelection()).getOffset());
+		BuildProblemIndex index = fProcess.getBuildProblemIndex();
+		BuildProblemIndex.Problem problem = fNext ? index.getNext(offset) : index.getPrevious(offset);
+		if (problem == null || offsets.toDocumentOffset(problem.getOffset()) > viewer.getDocument().getLength()) {
+			viewer.getControl().getDisplay().beep();
+			return;
+		}
+		BuildProblemsAction.select(viewer, offsets, problem);
+	}
+}
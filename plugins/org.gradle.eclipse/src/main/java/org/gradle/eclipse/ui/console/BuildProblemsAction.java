@@ -0,0 +1,112 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import java.util.List;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextSelection;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.window.Window;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.console.TextConsolePage;
+import org.eclipse.ui.console.TextConsoleViewer;
+import org.eclipse.ui.dialogs.ElementListSelectionDialog;
+import org.gradle.eclipse.launchConfigurations.BuildProblemIndex;
+import org.gradle.eclipse.launchConfigurations.GradleProcess;
+
+/**
+ * Shows an outline of the {@link BuildProblemIndex} of a gradle process and selects 
+ * the output of the chosen problem in the console.
+ */
+public class BuildProblemsAction extends Action {
+
+	private final GradleProcess fProcess;
+	private final TextConsolePage fPage;
+
+	public BuildProblemsAction(GradleProcess process, TextConsolePage page) {
+		super(GradleConsoleMessages.BuildProblemsAction_Text);
+		setToolTipText(GradleConsoleMessages.BuildProblemsAction_Tooltip);
+		fProcess = process;
+		fPage = page;
+	}
+
+	@Override
+	public void run() {
+		TextConsoleViewer viewer = fPage.getViewer();
+		if (viewer == null || viewer.getDocument() == null) {
+			return;
+		}
+		ConsoleOutputOffsets offsets = fProcess.getOutputOffsets();
+		if (offsets == null) {
+			return;
+		}
+		BuildProblemIndex index = fProcess.getBuildProblemIndex();
+		List<BuildProblemIndex.Problem> problems = index.getProblems();
+		if (problems.isEmpty()) {
+			MessageDialog.openInformation(viewer.getControl().getShell(), 
+					GradleConsoleMessages.BuildProblemsAction_Select_title, GradleConsoleMessages.BuildProblemsAction_No_problems);
+			return;
+		}
+		ElementListSelectionDialog dialog = new ElementListSelectionDialog(viewer.getControl().getShell(), new LabelProvider() {
+			@Override
+			public String getText(Object element) {
+				return getLabel((BuildProblemIndex.Problem) element);
+			}
+		});
+		dialog.setTitle(GradleConsoleMessages.BuildProblemsAction_Select_title);
+		dialog.setMessage(GradleConsoleMessages.BuildProblemsAction_Select_message);
+		dialog.setMultipleSelection(false);
+		dialog.setAllowDuplicates(true);
+		dialog.setElements(problems.toArray());
+		// the problem at or after the caret
+		BuildProblemIndex.Problem current = index.getNext(offsets.toOutputOffset(((ITextSelection) viewer.getSelection()).getOffset()) - 1);
+		dialog.setInitialSelections(new Object[] { current != null ? current : problems.get(problems.size() - 1) });
+		if (dialog.open() != Window.OK || dialog.getFirstResult() == null) {
+			return;
+		}
+		select(viewer, offsets, (BuildProblemIndex.Problem) dialog.getFirstResult());
+	}
+
+	/**
+	 * Selects the output of the given problem in the console.
+	 */
+	static void select(TextConsoleViewer viewer, ConsoleOutputOffsets offsets, BuildProblemIndex.Problem problem) {
+		IRegion region = offsets.toDocumentRegion(problem.getOffset(), problem.getLength());
+		GoToTaskOutputAction.select(viewer, region.getOffset(), region.getLength());
+	}
+
+	private static String getLabel(BuildProblemIndex.Problem problem) {
+		String kind;
+		switch (problem.getKind()) {
+		case ERROR:
+			kind = GradleConsoleMessages.BuildProblemsAction_Error;
+			break;
+		case WARNING:
+			kind = GradleConsoleMessages.BuildProblemsAction_Warning;
+			break;
+		default:
+			kind = GradleConsoleMessages.BuildProblemsAction_Failure;
+			break;
+		}
+		if (problem.getTask() == null) {
+			return NLS.bind(GradleConsoleMessages.BuildProblemsAction_Problem, kind, problem.getText());
+		}
+		return NLS.bind(GradleConsoleMessages.BuildProblemsAction_Problem_in_task, new Object[] { kind, problem.getText(), problem.getTask() });
+	}
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.ui.console.IHyperlink;
+
+/**
+ * The hyperlinks of a {@link GradleConsole} sorted by their document offset. Unlike document
+ * positions, which the document updates on every change, the links are kept in pages of plain
+ * arrays and are only looked up by a binary search when the console draws, hovers or
+ * activates them. Links are added as the output is appended, so almost always at the end.
+ */
+public class ConsoleLinkStore {
+
+	/**
+	 * number of links per page
+	 */
+	static final int PAGE_SIZE = 1024;
+
+	private final List<Page> fPages = new ArrayList<Page>();
+	private int fSize = 0;
+
+	/**
+	 * Adds a link at the given range of the document.
+	 */
+	public synchronized void add(IHyperlink link, int offset, int length) {
+		Page page = fPages.isEmpty() ? null : fPages.get(fPages.size() - 1);
+		if (page != null && page.size > 0 && offset < page.offsets[page.size - 1]) {
+			// a link before the last one, e.g. of a line matched out of order
+			page = fPages.get(findPage(offset));
+		} else if (page == null || page.size == PAGE_SIZE) {
+			page = new Page();
+			fPages.add(page);
+		}
+		page.insert(link, offset, length);
+		fSize++;
+	}
+
+	/**
+	 * @return the link containing the given offset, <code>null</code> if there is none
+	 */
+	public synchronized IHyperlink find(int offset) {
+		if (fPages.isEmpty()) {
+			return null;
+		}
+		Page page = fPages.get(findPage(offset));
+		int index = page.lastStartingAt(offset);
+		if (index >= 0 && offset < page.offsets[index] + page.lengths[index]) {
+			return page.links[index];
+		}
+		return null;
+	}
+
+	/**
+	 * @return the ranges of the links overlapping the given range of the document in
+	 * offset order, each as a pair of offset and length
+	 */
+	public synchronized int[] getRanges(int offset, int length) {
+		int[] ranges = new int[8];
+		int count = 0;
+		int end = offset + length;
+		for (int p = fPages.isEmpty() ? 0 : findPage(offset); p < fPages.size(); p++) {
+			Page page = fPages.get(p);
+			int index = Math.max(0, page.lastStartingAt(offset));
+			for (; index < page.size && page.offsets[index] < end; index++) {
+				if (page.offsets[index] + page.lengths[index] > offset) {
+					if (count == ranges.length) {
+						ranges = Arrays.copyOf(ranges, count * 2);
+					}
+					ranges[count++] = page.offsets[index];
+					ranges[count++] = page.lengths[index];
+				}
+			}
+			if (index < page.size) {
+				break;
+			}
+		}
+		return Arrays.copyOf(ranges, count);
+	}
+
+	/**
+	 * @return the range of the given link, <code>null</code> if it is not part of this store
+	 */
+	public synchronized IRegion getRegion(IHyperlink link) {
+		// links are asked for their region rarely, recently added ones most likely
+		for (int p = fPages.size() - 1; p >= 0; p--) {
+			Page page = fPages.get(p);
+			for (int index = page.size - 1; index >= 0; index--) {
+				if (page.links[index] == link) {
+					return new Region(page.offsets[index], page.lengths[index]);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return all links in offset order
+	 */
+	public synchronized IHyperlink[] getLinks() {
+		IHyperlink[] links = new IHyperlink[fSize];
+		int count = 0;
+		for (Page page : fPages) {
+			System.arraycopy(page.links, 0, links, count, page.size);
+			count += page.size;
+		}
+		return links;
+	}
+
+	/**
+	 * @return the number of links
+	 */
+	public synchronized int size() {
+		return fSize;
+	}
+
+	/**
+	 * Removes all links.
+	 */
+	public synchronized void clear() {
+		fPages.clear();
+		fSize = 0;
+	}
+
+	/**
+	 * @return the index of the last page whose first link does not start after the given
+	 * offset, <code>0</code> if there is none
+	 */
+	private int findPage(int offset) {
+		int low = 0;
+		int high = fPages.size() - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (fPages.get(middle).offsets[0] <= offset) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	private static class Page {
+		int[] offsets = new int[PAGE_SIZE];
+		int[] lengths = new int[PAGE_SIZE];
+		IHyperlink[] links = new IHyperlink[PAGE_SIZE];
+		int size = 0;
+
+		/**
+		 * @return the index of the last link starting at or before the given offset,
+		 * <code>-1</code> if there is none
+		 */
+		int lastStartingAt(int offset) {
+			int low = 0;
+			int high = size - 1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				if (offsets[middle] <= offset) {
+					low = middle + 1;
+				} else {
+					high = middle - 1;
+				}
+			}
+			return low - 1;
+		}
+
+		void insert(IHyperlink link, int offset, int length) {
+			if (size == offsets.length) {
+				// only pages links are inserted into out of order grow beyond the page size
+				offsets = Arrays.copyOf(offsets, size * 2);
+				lengths = Arrays.copyOf(lengths, size * 2);
+				links = Arrays.copyOf(links, size * 2);
+			}
+			int index = lastStartingAt(offset) + 1;
+			System.arraycopy(offsets, index, offsets, index + 1, size - index);
+			System.arraycopy(lengths, index, lengths, index + 1, size - index);
+			System.arraycopy(links, index, links, index + 1, size - index);
+			offsets[index] = offset;
+			lengths[index] = length;
+			links[index] = link;
+			size++;
+		}
+	}
+}
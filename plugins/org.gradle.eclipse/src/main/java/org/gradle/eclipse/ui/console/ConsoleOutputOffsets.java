@@ -0,0 +1,119 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import org.eclipse.debug.core.model.IStreamMonitor;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.gradle.eclipse.launchConfigurations.GradleStreamMonitor;
+import org.gradle.eclipse.launchConfigurations.TaskOutputIndex;
+
+/**
+ * Maps the output offsets of the {@link TaskOutputIndex} and the build problem index of a gradle
+ * process, which count the characters dispatched to its stream monitors, to offsets of the document
+ * of the console showing the output.
+ *
+ * The two differ by a shift. A console connecting to monitors that do not retain all of their
+ * output receives a notice instead of the dropped characters. Text removed from the start of the
+ * document, e.g. when the console limits its output or is cleared, shifts the rest of the output
+ * to the front.
+ */
+public class ConsoleOutputOffsets implements IDocumentListener {
+
+	private final IDocument fDocument;
+
+	/**
+	 * the document offset minus the output offset of the same character
+	 */
+	private long fShift = 0;
+
+	/**
+	 * Starts tracking the removals from the start of the given document.
+	 */
+	public ConsoleOutputOffsets(IDocument document) {
+		fDocument = document;
+		fDocument.addDocumentListener(this);
+	}
+
+	/**
+	 * Accounts for the contents of the given monitor the console receives on connecting.
+	 * Called while synchronized on the monitor, right before or after its contents are read.
+	 */
+	public synchronized void connected(IStreamMonitor monitor) {
+		if (monitor instanceof GradleStreamMonitor) {
+			fShift += ((GradleStreamMonitor) monitor).getContentsShift();
+		}
+	}
+
+	/**
+	 * Accounts for output received by the console which will never reach the document.
+	 */
+	public synchronized void discarded(int length) {
+		fShift -= length;
+	}
+
+	/**
+	 * @return the document offset of the given output offset, negative if the output has
+	 * been removed from the document and beyond its end if the output has not been appended yet
+	 */
+	public synchronized long toDocumentOffset(long outputOffset) {
+		return outputOffset + fShift;
+	}
+
+	/**
+	 * @return the output offset of the given document offset
+	 */
+	public synchronized long toOutputOffset(int documentOffset) {
+		return documentOffset - fShift;
+	}
+
+	/**
+	 * @return the part of the given output range contained in the document,
+	 * an empty region at its start or end if the range is not contained at all
+	 */
+	public IRegion toDocumentRegion(long outputOffset, long length) {
+		int documentLength = fDocument.getLength();
+		long start = Math.max(0, Math.min(toDocumentOffset(outputOffset), documentLength));
+		long end = Math.max(start, Math.min(toDocumentOffset(outputOffset + length), documentLength));
+		return new Region((int) start, (int) (end - start));
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.IDocumentListener#documentAboutToBeChanged(org.eclipse.jface.text.DocumentEvent)
+	 */
+	public synchronized void documentAboutToBeChanged(DocumentEvent event) {
+		// consoles only append output, except for trimming or clearing the start of the document
+		if (event.getOffset() == 0 && event.getLength() > 0 && (event.getText() == null || event.getText().length() == 0)) {
+			fShift -= event.getLength();
+		}
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.IDocumentListener#documentChanged(org.eclipse.jface.text.DocumentEvent)
+	 */
+	public void documentChanged(DocumentEvent event) {
+	}
+
+	/**
+	 * Stops tracking the document.
+	 */
+	public void dispose() {
+		fDocument.removeDocumentListener(this);
+	}
+}
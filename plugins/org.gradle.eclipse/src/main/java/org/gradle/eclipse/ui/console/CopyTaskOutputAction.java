@@ -0,0 +1,56 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.swt.dnd.Clipboard;
+import org.eclipse.swt.dnd.TextTransfer;
+import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.ui.console.TextConsolePage;
+import org.eclipse.ui.console.TextConsoleViewer;
+import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.launchConfigurations.GradleProcess;
+
+/**
+ * Copies the output of a task to the clipboard.
+ */
+public class CopyTaskOutputAction extends TaskOutputAction {
+
+	public CopyTaskOutputAction(GradleProcess process, TextConsolePage page) {
+		super(GradleConsoleMessages.CopyTaskOutputAction_Text, process, page);
+		setToolTipText(GradleConsoleMessages.CopyTaskOutputAction_Tooltip);
+	}
+
+	@Override
+	protected void run(TextConsoleViewer viewer, int offset, int length) {
+		if (length == 0) {
+			return;
+		}
+		String text;
+		try {
+			text = viewer.getDocument().get(offset, length);
+		} catch (BadLocationException e) {
+			GradlePlugin.log(e);
+			return;
+		}
+		Clipboard clipboard = new Clipboard(viewer.getControl().getDisplay());
+		try {
+			clipboard.setContents(new Object[] { text }, new Transfer[] { TextTransfer.getInstance() });
+		} finally {
+			clipboard.dispose();
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.ui.console.TextConsolePage;
+import org.eclipse.ui.console.TextConsoleViewer;
+import org.gradle.eclipse.launchConfigurations.GradleProcess;
+
+/**
+ * Selects the output of a task in the console and scrolls to its first line.
+ */
+public class GoToTaskOutputAction extends TaskOutputAction {
+
+	public GoToTaskOutputAction(GradleProcess process, TextConsolePage page) {
+		super(GradleConsoleMessages.GoToTaskOutputAction_Text, process, page);
+		setToolTipText(GradleConsoleMessages.GoToTaskOutputAction_Tooltip);
+	}
+
+	@Override
+	protected void run(TextConsoleViewer viewer, int offset, int length) {
+		select(viewer, offset, length);
+	}
+
+	/**
+	 * Selects the given range of the console and scrolls to its first line.
+	 */
+	static void select(TextConsoleViewer viewer, int offset, int length) {
+		viewer.setSelectedRange(offset, length);
+		try {
+			viewer.setTopIndex(viewer.getDocument().getLineOfOffset(offset));
+		} catch (BadLocationException e) {
+			viewer.revealRange(offset, length);
+		}
+	}
+}
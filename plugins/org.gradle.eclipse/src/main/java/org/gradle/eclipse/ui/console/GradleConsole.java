@@ -0,0 +1,311 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.core.IStreamListener;
+import org.eclipse.debug.core.model.IStreamMonitor;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.console.IConsoleDocumentPartitioner;
+import org.eclipse.ui.console.IHyperlink;
+import org.eclipse.ui.console.TextConsole;
+import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.launchConfigurations.GradleProcess;
+
+/**
+ * A console for the output of a gradle process whose document is a {@link PagedConsoleDocument}, 
+ * so build output far beyond the size the debug process console can handle is browsed with a 
+ * small heap footprint. The output is read from the stream monitors of the process and appended 
+ * to the document on the UI thread in batches. Console pattern match listeners do not see this 
+ * document, so the {@link GradleConsoleLinkMatcher} runs on every received line instead. Its 
+ * hyperlinks are kept in a {@link ConsoleLinkStore} rather than as positions of the document.
+ */
+public class GradleConsole extends TextConsole implements IStreamListener, IDebugEventSetListener {
+
+	public static final String CONSOLE_TYPE = GradlePlugin.PLUGIN_ID + ".gradleConsole"; //$NON-NLS-1$
+
+	/**
+	 * number of characters of a line searched for links
+	 */
+	private static final int MAX_MATCHED_LINE_LENGTH = 4096;
+
+	private final GradleProcess fProcess;
+	private final PagedConsoleDocument fDocument;
+	private final GradleConsolePartitioner fPartitioner;
+	private final ConsoleOutputOffsets fOutputOffsets;
+	private final ConsoleLinkStore fLinks = new ConsoleLinkStore();
+	private IStreamMonitor[] fMonitors = new IStreamMonitor[0];
+
+	/**
+	 * output received from the monitors, not yet appended to the document
+	 */
+	private final StringBuilder fPending = new StringBuilder();
+	private boolean fUpdateScheduled = false;
+	private volatile boolean fDisposed = false;
+
+	/**
+	 * number of characters received, the document offset of the next received text
+	 */
+	private int fReceived = 0;
+
+	/**
+	 * the received part of the current line, at most {@link #MAX_MATCHED_LINE_LENGTH} characters
+	 */
+	private final StringBuilder fPartialLine = new StringBuilder();
+	private int fPartialLineOffset = 0;
+
+	/**
+	 * hyperlinks into the pending output
+	 */
+	private final List<PendingLink> fPendingLinks = new ArrayList<PendingLink>();
+
+	private final Runnable fUpdate = new Runnable() {
+		public void run() {
+			appendPending();
+		}
+	};
+
+	public GradleConsole(GradleProcess process) {
+		super(process.getLabel(), CONSOLE_TYPE, null, true);
+		fProcess = process;
+		fDocument = new PagedConsoleDocument();
+		fPartitioner = new GradleConsolePartitioner(fLinks);
+		fPartitioner.connect(fDocument);
+		fDocument.setDocumentPartitioner(fPartitioner);
+		fOutputOffsets = new ConsoleOutputOffsets(fDocument);
+	}
+
+	/**
+	 * Shows the current and all future contents of the given monitors in this console.
+	 */
+	public void connect(IStreamMonitor[] monitors) {
+		fMonitors = monitors;
+		DebugPlugin.getDefault().addDebugEventListener(this);
+		for (IStreamMonitor monitor : monitors) {
+			// the gradle stream monitors notify their listeners while synchronized on themselves
+			synchronized (monitor) {
+				String contents = monitor.getContents();
+				if (contents.length() > 0) {
+					streamAppended(contents, monitor);
+				}
+				fOutputOffsets.connected(monitor);
+				monitor.addListener(this);
+			}
+		}
+		fProcess.setOutputOffsets(fOutputOffsets);
+	}
+
+	/**
+	 * @return the process whose output this console shows
+	 */
+	public GradleProcess getProcess() {
+		return fProcess;
+	}
+
+	/**
+	 * @see org.eclipse.ui.console.TextConsole#getDocument()
+	 */
+	@Override
+	public IDocument getDocument() {
+		return fDocument;
+	}
+
+	/**
+	 * @see org.eclipse.ui.console.TextConsole#getPartitioner()
+	 */
+	@Override
+	protected IConsoleDocumentPartitioner getPartitioner() {
+		return fPartitioner;
+	}
+
+	/**
+	 * @see org.eclipse.ui.console.TextConsole#getHyperlink(int)
+	 */
+	@Override
+	public IHyperlink getHyperlink(int offset) {
+		return fLinks.find(offset);
+	}
+
+	/**
+	 * @see org.eclipse.ui.console.TextConsole#getHyperlinks()
+	 */
+	@Override
+	public IHyperlink[] getHyperlinks() {
+		return fLinks.getLinks();
+	}
+
+	/**
+	 * @see org.eclipse.ui.console.TextConsole#getRegion(org.eclipse.ui.console.IHyperlink)
+	 */
+	@Override
+	public IRegion getRegion(IHyperlink link) {
+		return fLinks.getRegion(link);
+	}
+
+	/**
+	 * @see org.eclipse.ui.console.TextConsole#clearConsole()
+	 */
+	@Override
+	public void clearConsole() {
+		GradlePlugin.getStandardDisplay().asyncExec(new Runnable() {
+			public void run() {
+				synchronized (fPending) {
+					// pending output never reaches the document
+					fOutputOffsets.discarded(fPending.length());
+					fPending.setLength(0);
+					fPendingLinks.clear();
+					fPartialLine.setLength(0);
+					fReceived = 0;
+				}
+				fLinks.clear();
+				fDocument.set(""); //$NON-NLS-1$
+			}
+		});
+	}
+
+	/**
+	 * @see org.eclipse.debug.core.IStreamListener#streamAppended(java.lang.String, org.eclipse.debug.core.model.IStreamMonitor)
+	 */
+	public void streamAppended(String text, IStreamMonitor monitor) {
+		synchronized (fPending) {
+			matchLinks(text);
+			fPending.append(text);
+			if (!fUpdateScheduled) {
+				fUpdateScheduled = true;
+				GradlePlugin.getStandardDisplay().asyncExec(fUpdate);
+			}
+		}
+	}
+
+	/**
+	 * Collects the hyperlinks of the complete lines of the given received text.
+	 */
+	private void matchLinks(String text) {
+		int start = 0;
+		for (int end = text.indexOf('\n'); end != -1; end = text.indexOf('\n', start)) {
+			String line;
+			int lineOffset;
+			if (fPartialLine.length() > 0) {
+				appendPartialLine(text, start, end);
+				line = fPartialLine.toString();
+				lineOffset = fPartialLineOffset;
+				fPartialLine.setLength(0);
+			} else {
+				line = text.substring(start, Math.min(end, start + MAX_MATCHED_LINE_LENGTH));
+				lineOffset = fReceived + start;
+			}
+			for (GradleConsoleLinkMatcher.Link link : GradleConsoleLinkMatcher.match(line)) {
+				IHyperlink hyperlink = GradleLinkPatternMatcher.createHyperlink(link);
+				if (hyperlink != null) {
+					fPendingLinks.add(new PendingLink(hyperlink, lineOffset + link.getOffset(), link.getLength()));
+				}
+			}
+			start = end + 1;
+		}
+		if (start < text.length()) {
+			if (fPartialLine.length() == 0) {
+				fPartialLineOffset = fReceived + start;
+			}
+			appendPartialLine(text, start, text.length());
+		}
+		fReceived += text.length();
+	}
+
+	private void appendPartialLine(String text, int start, int end) {
+		int count = Math.min(end - start, MAX_MATCHED_LINE_LENGTH - fPartialLine.length());
+		if (count > 0) {
+			fPartialLine.append(text, start, start + count);
+		}
+	}
+
+	private void appendPending() {
+		String text;
+		PendingLink[] links;
+		synchronized (fPending) {
+			text = fPending.toString();
+			fPending.setLength(0);
+			links = fPendingLinks.toArray(new PendingLink[fPendingLinks.size()]);
+			fPendingLinks.clear();
+			fUpdateScheduled = false;
+		}
+		if (text.length() > 0 && !fDisposed) {
+			try {
+				fDocument.replace(fDocument.getLength(), 0, text);
+				for (PendingLink link : links) {
+					fLinks.add(link.hyperlink, link.offset, link.length);
+				}
+			} catch (BadLocationException e) {
+				GradlePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * @see org.eclipse.debug.core.IDebugEventSetListener#handleDebugEvents(org.eclipse.debug.core.DebugEvent[])
+	 */
+	public void handleDebugEvents(DebugEvent[] events) {
+		for (DebugEvent event : events) {
+			if (event.getSource() == fProcess && event.getKind() == DebugEvent.TERMINATE) {
+				DebugPlugin.getDefault().removeDebugEventListener(this);
+				GradlePlugin.getStandardDisplay().asyncExec(new Runnable() {
+					public void run() {
+						setName(NLS.bind(GradleConsoleMessages.GradleConsole_Terminated, fProcess.getLabel()));
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * @see org.eclipse.ui.console.TextConsole#dispose()
+	 */
+	@Override
+	protected void dispose() {
+		super.dispose();
+		fDisposed = true;
+		DebugPlugin.getDefault().removeDebugEventListener(this);
+		for (IStreamMonitor monitor : fMonitors) {
+			monitor.removeListener(this);
+		}
+		fOutputOffsets.dispose();
+		fLinks.clear();
+		fPartitioner.disconnect();
+		fDocument.dispose();
+	}
+
+	/**
+	 * a hyperlink into output not yet appended to the document
+	 */
+	private static class PendingLink {
+		final IHyperlink hyperlink;
+		final int offset;
+		final int length;
+
+		PendingLink(IHyperlink hyperlink, int offset, int length) {
+			this.hyperlink = hyperlink;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+}
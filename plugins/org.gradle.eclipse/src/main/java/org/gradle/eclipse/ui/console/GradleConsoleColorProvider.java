@@ -16,7 +16,7 @@
 package org.gradle.eclipse.ui.console;
 
 import org.eclipse.debug.core.model.IProcess;
-import org.eclipse.debug.ui.IDebugUIConstants;
+import org.eclipse.debug.core.model.IStreamMonitor;
 import org.eclipse.debug.ui.console.ConsoleColorProvider;
 import org.eclipse.debug.ui.console.IConsole;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -26,7 +26,6 @@ import org.eclipse.ui.console.IOConsoleOutputStream;
 import org.gradle.eclipse.GradlePlugin;
 import org.gradle.eclipse.launchConfigurations.GradleProcess;
 import org.gradle.eclipse.launchConfigurations.GradleStreamsProxy;
-import org.gradle.eclipse.preferences.IGradlePreferenceConstants;
 
 
 /**
@@ -35,24 +34,15 @@ import org.gradle.eclipse.preferences.IGradlePreferenceConstants;
  */
 public class GradleConsoleColorProvider extends ConsoleColorProvider implements IPropertyChangeListener {
 
+	private ConsoleOutputOffsets outputOffsets = null;
+
  	/* (non-Javadoc)
 	 * @see org.eclipse.debug.ui.console.IConsoleColorProvider#getColor(java.lang.String)
 	 */
 	public Color getColor(String streamIdentifer) {
-		if (streamIdentifer.equals(IDebugUIConstants.ID_STANDARD_OUTPUT_STREAM)) {
-			return GradlePlugin.getPreferenceColor(IGradlePreferenceConstants.CONSOLE_INFO_COLOR);
-		}
-		if (streamIdentifer.equals(IDebugUIConstants.ID_STANDARD_ERROR_STREAM)) {
-			return GradlePlugin.getPreferenceColor(IGradlePreferenceConstants.CONSOLE_ERROR_COLOR);
-		}				
-		if (streamIdentifer.equals(GradleStreamsProxy.GRADLE_DEBUG_STREAM)) {
-			return GradlePlugin.getPreferenceColor(IGradlePreferenceConstants.CONSOLE_DEBUG_COLOR);
-		}
-		if (streamIdentifer.equals(GradleStreamsProxy.GRADLE_VERBOSE_STREAM)) {
-			return GradlePlugin.getPreferenceColor(IGradlePreferenceConstants.CONSOLE_VERBOSE_COLOR);
-		}
-		if (streamIdentifer.equals(GradleStreamsProxy.GRADLE_WARNING_STREAM)) {
-			return GradlePlugin.getPreferenceColor(IGradlePreferenceConstants.CONSOLE_WARNING_COLOR);
+		Color color = GradleConsoleStyleCache.getDefault().getStreamColor(streamIdentifer);
+		if (color != null) {
+			return color;
 		}
 		return super.getColor(streamIdentifer);
 	}
@@ -66,12 +56,27 @@ public class GradleConsoleColorProvider extends ConsoleColorProvider implements
 			((GradleProcess)process).setConsole(console);
 		}
 		if (proxy != null) {
-			console.connect(proxy.getDebugStreamMonitor(), GradleStreamsProxy.GRADLE_DEBUG_STREAM);
-			console.connect(proxy.getWarningStreamMonitor(), GradleStreamsProxy.GRADLE_WARNING_STREAM);
-			console.connect(proxy.getVerboseStreamMonitor(), GradleStreamsProxy.GRADLE_VERBOSE_STREAM);
+			// the process console flushes the monitors it connects to, their shift is read before
+			outputOffsets = new ConsoleOutputOffsets(console.getDocument());
+			connect(console, proxy.getDebugStreamMonitor(), GradleStreamsProxy.GRADLE_DEBUG_STREAM);
+			connect(console, proxy.getWarningStreamMonitor(), GradleStreamsProxy.GRADLE_WARNING_STREAM);
+			connect(console, proxy.getVerboseStreamMonitor(), GradleStreamsProxy.GRADLE_VERBOSE_STREAM);
+			outputOffsets.connected(proxy.getOutputStreamMonitor());
+			outputOffsets.connected(proxy.getErrorStreamMonitor());
 		}
 		
 		super.connect(process, console);
+		if (outputOffsets != null && process instanceof GradleProcess) {
+			((GradleProcess)process).setOutputOffsets(outputOffsets);
+		}
+		GradlePlugin.getDefault().getPreferenceStore().addPropertyChangeListener(this);
+	}
+
+	private void connect(IConsole console, IStreamMonitor monitor, String streamIdentifier) {
+		synchronized (monitor) {
+			outputOffsets.connected(monitor);
+			console.connect(monitor, streamIdentifier);
+		}
 	}
 	
 	/* (non-Javadoc)
@@ -85,11 +90,16 @@ public class GradleConsoleColorProvider extends ConsoleColorProvider implements
 	 * @see org.eclipse.jface.util.IPropertyChangeListener#propertyChange(org.eclipse.jface.util.PropertyChangeEvent)
 	 */
 	public void propertyChange(PropertyChangeEvent event) {
-	    final String streamId = getStreamId(event.getProperty());
+	    final String streamId = GradleConsoleStyleCache.getStreamId(event.getProperty());
 		if (streamId != null) {
 			GradlePlugin.getStandardDisplay().asyncExec(new Runnable() {
 				public void run() {
-				    IOConsoleOutputStream stream = getConsole().getStream(streamId);
+				    IConsole console = getConsole();
+				    if (console == null) {
+				        // disconnected in the meantime
+				        return;
+				    }
+				    IOConsoleOutputStream stream = console.getStream(streamId);
 				    if (stream != null) {
 				        stream.setColor(getColor(streamId));
 				    }
@@ -98,26 +108,15 @@ public class GradleConsoleColorProvider extends ConsoleColorProvider implements
 		}
 	}
 
-	private String getStreamId(String colorId) {
-		if (IGradlePreferenceConstants.CONSOLE_DEBUG_COLOR.equals(colorId)) {
-			return GradleStreamsProxy.GRADLE_DEBUG_STREAM;
-		} else if (IGradlePreferenceConstants.CONSOLE_ERROR_COLOR.equals(colorId)) {
-			return IDebugUIConstants.ID_STANDARD_ERROR_STREAM;
-		} else if (IGradlePreferenceConstants.CONSOLE_INFO_COLOR.equals(colorId)) {
-			return IDebugUIConstants.ID_STANDARD_OUTPUT_STREAM;
-		} else if (IGradlePreferenceConstants.CONSOLE_VERBOSE_COLOR.equals(colorId)) {
-			return GradleStreamsProxy.GRADLE_VERBOSE_STREAM;
-		} else if (IGradlePreferenceConstants.CONSOLE_WARNING_COLOR.equals(colorId)) {
-			return GradleStreamsProxy.GRADLE_WARNING_STREAM;
-		}
-		return null;
-	}
-	
 	/* (non-Javadoc)
 	 * @see org.eclipse.debug.ui.console.IConsoleColorProvider#disconnect()
 	 */
 	public void disconnect() {
 		super.disconnect();
+		if (outputOffsets != null) {
+			outputOffsets.dispose();
+			outputOffsets = null;
+		}
 		GradlePlugin.getDefault().getPreferenceStore().removePropertyChangeListener(this);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,259 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.gradle.eclipse.events.GradleBuildEvent;
+import org.gradle.eclipse.events.GradleBuildEventParser;
+
+/**
+ * Finds all hyperlink targets of a gradle console line in one pass: compiler diagnostics of 
+ * javac, groovyc and scalac, source files compiled by javac, stack trace frames, failed tests 
+ * and report locations. Every pattern is guarded by a literal pre-filter, so most lines are 
+ * rejected with a few <code>indexOf</code> calls and no regular expression is run for them. 
+ * Where targets overlap, the link found first wins: source locations and failed tests before 
+ * URLs before report paths.
+ */
+public final class GradleConsoleLinkMatcher {
+
+	/**
+	 * what a link points to
+	 */
+	public static enum Kind {
+		/**
+		 * a source file, {@link Link#getTarget()} is its path
+		 */
+		FILE,
+		/**
+		 * a java type, {@link Link#getTarget()} is its qualified name
+		 */
+		JAVA_TYPE,
+		/**
+		 * a URL opened in the browser
+		 */
+		URL,
+		/**
+		 * a report file or directory in the local file system
+		 */
+		REPORT
+	}
+
+	/**
+	 * A link found in a console line, its offset is relative to the start of the line.
+	 */
+	public static class Link {
+		private final Kind fKind;
+		private final int fOffset;
+		private final int fLength;
+		private final String fTarget;
+		private final int fLineNumber;
+
+		Link(Kind kind, int offset, int length, String target, int lineNumber) {
+			fKind = kind;
+			fOffset = offset;
+			fLength = length;
+			fTarget = target;
+			fLineNumber = lineNumber;
+		}
+
+		public Kind getKind() {
+			return fKind;
+		}
+
+		public int getOffset() {
+			return fOffset;
+		}
+
+		public int getLength() {
+			return fLength;
+		}
+
+		public String getTarget() {
+			return fTarget;
+		}
+
+		/**
+		 * @return the 1-based line number within the target, <code>0</code> if unknown
+		 */
+		public int getLineNumber() {
+			return fLineNumber;
+		}
+
+		@Override
+		public String toString() {
+			return fKind + " " + fTarget + ":" + fLineNumber + " [" + fOffset + ", " + fLength + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+	}
+
+	/**
+	 * regular expression qualifying the lines which may contain a link, 
+	 * mirrors the pre-filters of {@link #match(String)}
+	 */
+	public static final String LINE_QUALIFIER = "\\.java|\\.groovy|\\.scala|FAILED|://|file:/|report at"; //$NON-NLS-1$
+
+	private static final String COMPILED_FILE = "File to be compiled:"; //$NON-NLS-1$
+	private static final String GROOVYC_SEPARATOR = ": "; //$NON-NLS-1$
+	private static final String FAILED = " FAILED"; //$NON-NLS-1$
+	private static final String REPORT_AT = "report at"; //$NON-NLS-1$
+
+	private static final Pattern STACK_FRAME = Pattern.compile(
+			"\\bat\\s+((?:[\\w$]+\\.)*[\\w$]+)\\.[\\w$<>]+\\(([\\w$]+\\.(?:java|groovy|scala)):(\\d{1,9})\\)"); //$NON-NLS-1$
+	private static final Pattern GROOVYC_ERROR = Pattern.compile("(\\S+\\.groovy): (\\d{1,9}): "); //$NON-NLS-1$
+	private static final Pattern FAILED_TEST = Pattern.compile("(?:^|\\s)(?:Test\\s+)?((?:[\\w$]+\\.)+[\\w$]+)(?:\\s+>\\s+.*)?\\s+FAILED\\s*$"); //$NON-NLS-1$
+	private static final Pattern URL = Pattern.compile("(?:https?|file):/+[^\\s'\"<>]+"); //$NON-NLS-1$
+	private static final Pattern REPORT_PATH = Pattern.compile("report at:?\\s+(\\S+)"); //$NON-NLS-1$
+
+	private static final Comparator<Link> BY_OFFSET = new Comparator<Link>() {
+		public int compare(Link link, Link other) {
+			return link.getOffset() - other.getOffset();
+		}
+	};
+
+	private GradleConsoleLinkMatcher() {
+	}
+
+	/**
+	 * @param line a console line with or without its line delimiter
+	 * @return the links found in the line in offset order, not overlapping each other, 
+	 * empty if there are none
+	 */
+	public static List<Link> match(String line) {
+		List<Link> links = null;
+		if (line.indexOf(".java") != -1 || line.indexOf(".groovy") != -1 || line.indexOf(".scala") != -1) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			links = matchSourceLocations(line, links);
+		}
+		if (line.indexOf(FAILED) != -1) {
+			links = matchFailedTest(line, links);
+		}
+		if (line.indexOf(":/") != -1) { //$NON-NLS-1$
+			links = matchUrls(line, links);
+		}
+		if (line.indexOf(REPORT_AT) != -1) {
+			links = matchReportPath(line, links);
+		}
+		if (links == null) {
+			return Collections.emptyList();
+		}
+		if (links.size() > 1) {
+			Collections.sort(links, BY_OFFSET);
+		}
+		return links;
+	}
+
+	private static List<Link> matchSourceLocations(String line, List<Link> links) {
+		GradleBuildEvent event = GradleBuildEventParser.parse(line, null);
+		if (event.isDiagnostic()) {
+			int offset = line.indexOf(event.getFile());
+			String location = event.getFile() + ':' + event.getLineNumber();
+			int length = line.startsWith(location, offset) ? location.length() : event.getFile().length();
+			return add(links, new Link(Kind.FILE, offset, length, event.getFile(), event.getLineNumber()));
+		}
+		int compiledFile = line.indexOf(COMPILED_FILE);
+		if (compiledFile != -1) {
+			int start = compiledFile + COMPILED_FILE.length();
+			while (start < line.length() && Character.isWhitespace(line.charAt(start))) {
+				start++;
+			}
+			String path = line.substring(start).trim();
+			if (path.length() > 0) {
+				return add(links, new Link(Kind.FILE, start, path.length(), path, 0));
+			}
+			return links;
+		}
+		if (line.indexOf(".groovy: ") != -1) { //$NON-NLS-1$
+			Matcher matcher = GROOVYC_ERROR.matcher(line);
+			if (matcher.find()) {
+				int length = matcher.end(2) - matcher.start(1);
+				return add(links, new Link(Kind.FILE, matcher.start(1), length, matcher.group(1), Integer.parseInt(matcher.group(2))));
+			}
+		}
+		if (line.indexOf("at ") != -1 && line.indexOf(')') != -1) { //$NON-NLS-1$
+			Matcher matcher = STACK_FRAME.matcher(line);
+			if (matcher.find()) {
+				String type = matcher.group(1);
+				int inner = type.indexOf('$');
+				if (inner != -1) {
+					type = type.substring(0, inner);
+				}
+				int length = matcher.end(3) - matcher.start(2);
+				return add(links, new Link(Kind.JAVA_TYPE, matcher.start(2), length, type, Integer.parseInt(matcher.group(3))));
+			}
+		}
+		return links;
+	}
+
+	private static List<Link> matchFailedTest(String line, List<Link> links) {
+		Matcher matcher = FAILED_TEST.matcher(line);
+		if (matcher.find()) {
+			return add(links, new Link(Kind.JAVA_TYPE, matcher.start(1), matcher.end(1) - matcher.start(1), matcher.group(1), 0));
+		}
+		return links;
+	}
+
+	private static List<Link> matchUrls(String line, List<Link> links) {
+		Matcher matcher = URL.matcher(line);
+		while (matcher.find()) {
+			int end = trimPunctuation(line, matcher.start(), matcher.end());
+			links = add(links, new Link(Kind.URL, matcher.start(), end - matcher.start(), line.substring(matcher.start(), end), 0));
+		}
+		return links;
+	}
+
+	private static List<Link> matchReportPath(String line, List<Link> links) {
+		Matcher matcher = REPORT_PATH.matcher(line);
+		if (matcher.find()) {
+			int end = trimPunctuation(line, matcher.start(1), matcher.end(1));
+			return add(links, new Link(Kind.REPORT, matcher.start(1), end - matcher.start(1), line.substring(matcher.start(1), end), 0));
+		}
+		return links;
+	}
+
+	/**
+	 * @return the end of the given range without trailing sentence punctuation
+	 */
+	private static int trimPunctuation(String line, int start, int end) {
+		while (end > start + 1) {
+			char c = line.charAt(end - 1);
+			if (c != '.' && c != ',' && c != ')' && c != ';') {
+				break;
+			}
+			end--;
+		}
+		return end;
+	}
+
+	/**
+	 * Adds the given link unless it overlaps a link found before.
+	 */
+	private static List<Link> add(List<Link> links, Link link) {
+		if (links == null) {
+			links = new ArrayList<Link>(2);
+		}
+		for (Link found : links) {
+			if (link.getOffset() < found.getOffset() + found.getLength() && found.getOffset() < link.getOffset() + link.getLength()) {
+				return links;
+			}
+		}
+		links.add(link);
+		return links;
+	}
+}
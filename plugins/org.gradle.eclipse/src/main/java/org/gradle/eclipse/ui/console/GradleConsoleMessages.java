@@ -0,0 +1,100 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import org.eclipse.osgi.util.NLS;
+
+public class GradleConsoleMessages extends NLS {
+
+	private static final String BUNDLE_NAME = "org.gradle.eclipse.ui.console.GradleConsoleMessages";//$NON-NLS-1$
+
+	public static String OpenPreviousBuildLogAction_Text;
+
+	public static String OpenPreviousBuildLogAction_Tooltip;
+
+	public static String OpenPreviousBuildLogAction_No_archive;
+
+	public static String OpenPreviousBuildLogAction_Select_title;
+
+	public static String OpenPreviousBuildLogAction_Select_message;
+
+	public static String OpenPreviousBuildLogAction_Search_title;
+
+	public static String OpenPreviousBuildLogAction_Search_message;
+
+	public static String OpenPreviousBuildLogAction_Reading;
+
+	public static String OpenPreviousBuildLogAction_Console_name;
+
+	public static String OpenPreviousBuildLogAction_Showing_lines;
+
+	public static String OpenPreviousBuildLogAction_Not_found;
+
+	public static String OpenPreviousBuildLogAction_No_error;
+
+	public static String TaskOutputAction_Select_title;
+
+	public static String TaskOutputAction_Select_message;
+
+	public static String TaskOutputAction_No_tasks;
+
+	public static String TaskOutputAction_Running;
+
+	public static String GoToTaskOutputAction_Text;
+
+	public static String GoToTaskOutputAction_Tooltip;
+
+	public static String CopyTaskOutputAction_Text;
+
+	public static String CopyTaskOutputAction_Tooltip;
+
+	public static String GradleConsole_Terminated;
+
+	public static String JavaTypeLink_Title;
+
+	public static String JavaTypeLink_Not_found;
+
+	public static String BuildProblemsAction_Text;
+
+	public static String BuildProblemsAction_Tooltip;
+
+	public static String BuildProblemsAction_Select_title;
+
+	public static String BuildProblemsAction_Select_message;
+
+	public static String BuildProblemsAction_No_problems;
+
+	public static String BuildProblemsAction_Problem;
+
+	public static String BuildProblemsAction_Problem_in_task;
+
+	public static String BuildProblemsAction_Error;
+
+	public static String BuildProblemsAction_Warning;
+
+	public static String BuildProblemsAction_Failure;
+
+	public static String NextBuildProblemAction_Text;
+
+	public static String PreviousBuildProblemAction_Text;
+
+	public static String PagedTextStore_Lost_page;
+
+	static {
+		// load message values from bundle file
+		NLS.initializeMessages(BUNDLE_NAME, GradleConsoleMessages.class);
+	}
+}
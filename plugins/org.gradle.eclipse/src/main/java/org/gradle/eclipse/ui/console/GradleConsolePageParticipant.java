@@ -0,0 +1,85 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.ui.IActionBars;
+import org.eclipse.ui.console.IConsole;
+import org.eclipse.ui.console.IConsoleConstants;
+import org.eclipse.ui.console.IConsolePageParticipant;
+import org.eclipse.ui.console.TextConsolePage;
+import org.eclipse.ui.part.IPageBookViewPage;
+import org.gradle.eclipse.launchConfigurations.GradleProcess;
+
+/**
+ * Contributes the gradle specific actions to the console of a gradle process.
+ */
+public class GradleConsolePageParticipant implements IConsolePageParticipant {
+
+	private OpenPreviousBuildLogAction openPreviousBuildLogAction = null;
+	private GoToTaskOutputAction goToTaskOutputAction = null;
+	private CopyTaskOutputAction copyTaskOutputAction = null;
+	private BuildProblemsAction buildProblemsAction = null;
+	private BuildProblemNavigationAction nextBuildProblemAction = null;
+	private BuildProblemNavigationAction previousBuildProblemAction = null;
+
+	public void init(IPageBookViewPage page, IConsole console) {
+		IProcess process = null;
+		if (console instanceof org.eclipse.debug.ui.console.IConsole) {
+			process = ((org.eclipse.debug.ui.console.IConsole) console).getProcess();
+		} else if (console instanceof GradleConsole) {
+			process = ((GradleConsole) console).getProcess();
+		}
+		if (!(process instanceof GradleProcess)) {
+			return;
+		}
+		openPreviousBuildLogAction = new OpenPreviousBuildLogAction((GradleProcess) process, page.getSite().getShell());
+		IActionBars actionBars = page.getSite().getActionBars();
+		actionBars.getToolBarManager().appendToGroup(IConsoleConstants.LAUNCH_GROUP, openPreviousBuildLogAction);
+		if (page instanceof TextConsolePage) {
+			goToTaskOutputAction = new GoToTaskOutputAction((GradleProcess) process, (TextConsolePage) page);
+			copyTaskOutputAction = new CopyTaskOutputAction((GradleProcess) process, (TextConsolePage) page);
+			actionBars.getMenuManager().add(goToTaskOutputAction);
+			actionBars.getMenuManager().add(copyTaskOutputAction);
+			buildProblemsAction = new BuildProblemsAction((GradleProcess) process, (TextConsolePage) page);
+			nextBuildProblemAction = new BuildProblemNavigationAction((GradleProcess) process, (TextConsolePage) page, true);
+			previousBuildProblemAction = new BuildProblemNavigationAction((GradleProcess) process, (TextConsolePage) page, false);
+			actionBars.getMenuManager().add(buildProblemsAction);
+			actionBars.getToolBarManager().appendToGroup(IConsoleConstants.LAUNCH_GROUP, previousBuildProblemAction);
+			actionBars.getToolBarManager().appendToGroup(IConsoleConstants.LAUNCH_GROUP, nextBuildProblemAction);
+		}
+	}
+
+	public void dispose() {
+		openPreviousBuildLogAction = null;
+		goToTaskOutputAction = null;
+		copyTaskOutputAction = null;
+		buildProblemsAction = null;
+		nextBuildProblemAction = null;
+		previousBuildProblemAction = null;
+	}
+
+	public void activated() {
+	}
+
+	public void deactivated() {
+	}
+
+	@SuppressWarnings("unchecked")
+	public Object getAdapter(Class adapter) {
+		return null;
+	}
+}
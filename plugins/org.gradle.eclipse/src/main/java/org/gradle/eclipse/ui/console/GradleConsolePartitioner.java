@@ -0,0 +1,196 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TypedRegion;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.ui.console.IConsoleDocumentPartitioner;
+import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.launchConfigurations.GradleLogLevel;
+import org.gradle.eclipse.launchConfigurations.GradleLogLevelClassifier;
+import org.gradle.eclipse.preferences.IGradlePreferenceConstants;
+
+/**
+ * The partitioner of a {@link GradleConsole}. The whole document is one read-only partition. 
+ * Instead of remembering the stream of every character, the color of a line is derived from 
+ * its log level prefix when the line is drawn, so styling needs no memory per line. The 
+ * hyperlinks of the console are underlined the same way, looked up in its {@link ConsoleLinkStore}.
+ */
+public class GradleConsolePartitioner implements IConsoleDocumentPartitioner {
+
+	public static final String CONTENT_TYPE = GradlePlugin.PLUGIN_ID + ".gradleConsoleContent"; //$NON-NLS-1$
+
+	/**
+	 * number of characters of a line read to classify its log level
+	 */
+	private static final int PREFIX_LENGTH = 64;
+
+	private final ConsoleLinkStore fLinks;
+	private IDocument fDocument = null;
+
+	/**
+	 * @param links the hyperlinks of the console, underlined when drawn
+	 */
+	public GradleConsolePartitioner(ConsoleLinkStore links) {
+		fLinks = links;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.IDocumentPartitioner#connect(org.eclipse.jface.text.IDocument)
+	 */
+	public void connect(IDocument document) {
+		fDocument = document;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.IDocumentPartitioner#disconnect()
+	 */
+	public void disconnect() {
+		fDocument = null;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.IDocumentPartitioner#documentAboutToBeChanged(org.eclipse.jface.text.DocumentEvent)
+	 */
+	public void documentAboutToBeChanged(DocumentEvent event) {
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.IDocumentPartitioner#documentChanged(org.eclipse.jface.text.DocumentEvent)
+	 */
+	public boolean documentChanged(DocumentEvent event) {
+		return false;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.IDocumentPartitioner#getLegalContentTypes()
+	 */
+	public String[] getLegalContentTypes() {
+		return new String[] { CONTENT_TYPE };
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.IDocumentPartitioner#getContentType(int)
+	 */
+	public String getContentType(int offset) {
+		return CONTENT_TYPE;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.IDocumentPartitioner#computePartitioning(int, int)
+	 */
+	public ITypedRegion[] computePartitioning(int offset, int length) {
+		return new ITypedRegion[] { new TypedRegion(offset, length, CONTENT_TYPE) };
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.IDocumentPartitioner#getPartition(int)
+	 */
+	public ITypedRegion getPartition(int offset) {
+		return new TypedRegion(0, fDocument == null ? 0 : fDocument.getLength(), CONTENT_TYPE);
+	}
+
+	/**
+	 * @see org.eclipse.ui.console.IConsoleDocumentPartitioner#isReadOnly(int)
+	 */
+	public boolean isReadOnly(int offset) {
+		return true;
+	}
+
+	/**
+	 * @see org.eclipse.ui.console.IConsoleDocumentPartitioner#getStyleRanges(int, int)
+	 */
+	public StyleRange[] getStyleRanges(int offset, int length) {
+		IDocument document = fDocument;
+		if (document == null) {
+			return new StyleRange[0];
+		}
+		List<StyleRange> styles = new ArrayList<StyleRange>();
+		try {
+			int end = Math.min(offset + length, document.getLength());
+			int line = document.getLineOfOffset(offset);
+			int lineOffset = document.getLineOffset(line);
+			int lineCount = document.getNumberOfLines();
+			// offset and length pairs of the links in the range
+			int[] links = fLinks.getRanges(offset, end - offset);
+			int link = 0;
+			while (lineOffset < end && line < lineCount) {
+				int lineLength = document.getLineLength(line);
+				String prefix = document.get(lineOffset, Math.min(lineLength, PREFIX_LENGTH));
+				Color color = getColor(GradleLogLevelClassifier.classify(prefix));
+				int position = Math.max(lineOffset, offset);
+				int stop = Math.min(lineOffset + lineLength, end);
+				while (position < stop) {
+					while (link < links.length && links[link] + links[link + 1] <= position) {
+						link += 2;
+					}
+					if (link < links.length && links[link] <= position) {
+						int linkEnd = Math.min(links[link] + links[link + 1], stop);
+						addStyle(styles, position, linkEnd, color, true);
+						position = linkEnd;
+					} else {
+						int next = link < links.length ? Math.min(links[link], stop) : stop;
+						addStyle(styles, position, next, color, false);
+						position = next;
+					}
+				}
+				line++;
+				lineOffset += lineLength;
+			}
+		} catch (BadLocationException e) {
+			// the requested range is not in the document anymore
+		}
+		return styles.toArray(new StyleRange[styles.size()]);
+	}
+
+	private static void addStyle(List<StyleRange> styles, int start, int end, Color color, boolean underline) {
+		StyleRange last = styles.isEmpty() ? null : styles.get(styles.size() - 1);
+		if (last != null && last.foreground == color && last.underline == underline && last.start + last.length == start) {
+			last.length += end - start;
+		} else {
+			StyleRange style = new StyleRange(start, end - start, color, null);
+			style.underline = underline;
+			styles.add(style);
+		}
+	}
+
+	/**
+	 * the console color of the stream a line of the given level is written to
+	 */
+	private static Color getColor(GradleLogLevel level) {
+		switch (level) {
+		case ERROR:
+			return GradleConsoleStyleCache.getDefault().getColor(IGradlePreferenceConstants.CONSOLE_ERROR_COLOR);
+		case WARN:
+			return GradleConsoleStyleCache.getDefault().getColor(IGradlePreferenceConstants.CONSOLE_WARNING_COLOR);
+		case INFO:
+			return GradleConsoleStyleCache.getDefault().getColor(IGradlePreferenceConstants.CONSOLE_VERBOSE_COLOR);
+		case DEBUG:
+		case TRACE:
+			return GradleConsoleStyleCache.getDefault().getColor(IGradlePreferenceConstants.CONSOLE_DEBUG_COLOR);
+		default:
+			return GradleConsoleStyleCache.getDefault().getColor(IGradlePreferenceConstants.CONSOLE_INFO_COLOR);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.debug.ui.IDebugUIConstants;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.preference.PreferenceConverter;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.swt.graphics.Color;
+import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.launchConfigurations.GradleStreamsProxy;
+import org.gradle.eclipse.preferences.IGradlePreferenceConstants;
+import org.gradle.eclipse.util.ColorManager;
+
+/**
+ * Caches the console colors of the gradle streams. A color preference is converted and its color 
+ * allocated once, until the preference changes. Lookups take a hash lookup and may be done from 
+ * any thread, so connecting and restyling a console allocates nothing.
+ */
+public class GradleConsoleStyleCache implements IPropertyChangeListener {
+
+	/**
+	 * the color preference of every gradle stream
+	 */
+	private static final Map<String, String> STREAM_COLORS;
+
+	/**
+	 * the stream of every color preference
+	 */
+	private static final Map<String, String> COLOR_STREAMS;
+
+	static {
+		Map<String, String> streamColors = new HashMap<String, String>();
+		streamColors.put(IDebugUIConstants.ID_STANDARD_OUTPUT_STREAM, IGradlePreferenceConstants.CONSOLE_INFO_COLOR);
+		streamColors.put(IDebugUIConstants.ID_STANDARD_ERROR_STREAM, IGradlePreferenceConstants.CONSOLE_ERROR_COLOR);
+		streamColors.put(GradleStreamsProxy.GRADLE_DEBUG_STREAM, IGradlePreferenceConstants.CONSOLE_DEBUG_COLOR);
+		streamColors.put(GradleStreamsProxy.GRADLE_VERBOSE_STREAM, IGradlePreferenceConstants.CONSOLE_VERBOSE_COLOR);
+		streamColors.put(GradleStreamsProxy.GRADLE_WARNING_STREAM, IGradlePreferenceConstants.CONSOLE_WARNING_COLOR);
+		Map<String, String> colorStreams = new HashMap<String, String>();
+		for (Map.Entry<String, String> entry : streamColors.entrySet()) {
+			colorStreams.put(entry.getValue(), entry.getKey());
+		}
+		STREAM_COLORS = Collections.unmodifiableMap(streamColors);
+		COLOR_STREAMS = Collections.unmodifiableMap(colorStreams);
+	}
+
+	private static GradleConsoleStyleCache defaultCache = null;
+
+	private final IPreferenceStore store;
+	private final Map<String, Color> colors = new ConcurrentHashMap<String, Color>();
+
+	/**
+	 * @return the cache of the plugin preferences, registered for preference changes on first use
+	 */
+	public static synchronized GradleConsoleStyleCache getDefault() {
+		if (defaultCache == null) {
+			defaultCache = new GradleConsoleStyleCache(GradlePlugin.getDefault().getPreferenceStore());
+			defaultCache.store.addPropertyChangeListener(defaultCache);
+		}
+		return defaultCache;
+	}
+
+	/**
+	 * Unregisters the default cache, e.g. when the plugin is stopped.
+	 */
+	public static synchronized void shutdown() {
+		if (defaultCache != null) {
+			defaultCache.store.removePropertyChangeListener(defaultCache);
+			defaultCache = null;
+		}
+	}
+
+	private GradleConsoleStyleCache(IPreferenceStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * @param streamId the identifier of a stream of a gradle process
+	 * @return the color of the stream, <code>null</code> if it is no gradle stream
+	 */
+	public Color getStreamColor(String streamId) {
+		String colorPreference = STREAM_COLORS.get(streamId);
+		return colorPreference == null ? null : getColor(colorPreference);
+	}
+
+	/**
+	 * @param colorPreference one of the console color preferences, e.g. {@link IGradlePreferenceConstants#CONSOLE_ERROR_COLOR}
+	 * @return the color of the preference
+	 */
+	public Color getColor(String colorPreference) {
+		Color color = colors.get(colorPreference);
+		if (color == null) {
+			synchronized (this) {
+				// a concurrent preference change removes the color after it has been put
+				color = ColorManager.getDefault().getColor(PreferenceConverter.getColor(store, colorPreference));
+				colors.put(colorPreference, color);
+			}
+		}
+		return color;
+	}
+
+	/**
+	 * @return the identifier of the stream shown in the given color preference, 
+	 * <code>null</code> if the preference is no console color
+	 */
+	public static String getStreamId(String colorPreference) {
+		return COLOR_STREAMS.get(colorPreference);
+	}
+
+	/**
+	 * @see org.eclipse.jface.util.IPropertyChangeListener#propertyChange(org.eclipse.jface.util.PropertyChangeEvent)
+	 */
+	public void propertyChange(PropertyChangeEvent event) {
+		if (COLOR_STREAMS.containsKey(event.getProperty())) {
+			synchronized (this) {
+				colors.remove(event.getProperty());
+			}
+		}
+	}
+}
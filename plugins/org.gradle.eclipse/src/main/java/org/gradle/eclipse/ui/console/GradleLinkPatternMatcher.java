@@ -0,0 +1,85 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.debug.ui.console.FileLink;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.ui.console.IHyperlink;
+import org.eclipse.ui.console.IPatternMatchListenerDelegate;
+import org.eclipse.ui.console.PatternMatchEvent;
+import org.eclipse.ui.console.TextConsole;
+import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.util.WorkspaceFileResolver;
+
+/**
+ * The only pattern match listener of the gradle process console. It is notified once per line 
+ * qualified by {@link GradleConsoleLinkMatcher#LINE_QUALIFIER} and adds a hyperlink for 
+ * every link the {@link GradleConsoleLinkMatcher} finds in the line, so the console scans 
+ * its document once for all kinds of links.
+ */
+public class GradleLinkPatternMatcher implements IPatternMatchListenerDelegate {
+
+	private TextConsole console;
+
+	public void connect(TextConsole console) {
+		this.console = console;
+	}
+
+	public void disconnect() {
+		console = null;
+	}
+
+	public void matchFound(PatternMatchEvent event) {
+		TextConsole textConsole = console;
+		if (textConsole == null) {
+			return;
+		}
+		try {
+			String line = textConsole.getDocument().get(event.getOffset(), event.getLength());
+			for (GradleConsoleLinkMatcher.Link link : GradleConsoleLinkMatcher.match(line)) {
+				IHyperlink hyperlink = createHyperlink(link);
+				if (hyperlink != null) {
+					textConsole.addHyperlink(hyperlink, event.getOffset() + link.getOffset(), link.getLength());
+				}
+			}
+		} catch (BadLocationException e) {
+			GradlePlugin.log(e);
+		}
+	}
+
+	/**
+	 * @return the hyperlink opening the target of the given link, 
+	 * <code>null</code> if the target is a file outside of the workspace
+	 */
+	static IHyperlink createHyperlink(GradleConsoleLinkMatcher.Link link) {
+		switch (link.getKind()) {
+		case FILE:
+			IFile file = WorkspaceFileResolver.getDefault().getFile(link.getTarget());
+			if (file == null) {
+				return null;
+			}
+			return new FileLink(file, null, -1, -1, link.getLineNumber());
+		case JAVA_TYPE:
+			// resolved when the link is activated, not for every stack trace frame printed
+			return new JavaTypeLink(link.getTarget(), link.getLineNumber());
+		case URL:
+			return new ReportLink(link.getTarget(), true);
+		default:
+			return new ReportLink(link.getTarget(), false);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.ui.console.FileLink;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.console.IHyperlink;
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.util.JavaTypeFileIndex;
+
+/**
+ * Opens a java type of the workspace, e.g. of a stack trace frame or a failed test, 
+ * and reveals the given line. The source file of the type is looked up in the 
+ * {@link JavaTypeFileIndex} when the link is activated, secondary types and types of 
+ * libraries are searched in the java projects.
+ */
+public class JavaTypeLink implements IHyperlink {
+
+	private final String fTypeName;
+	private final int fLineNumber;
+
+	/**
+	 * @param typeName the qualified name of the type
+	 * @param lineNumber the 1-based line to reveal, <code>0</code> to reveal the type
+	 */
+	public JavaTypeLink(String typeName, int lineNumber) {
+		fTypeName = typeName;
+		fLineNumber = lineNumber;
+	}
+
+	public void linkEntered() {
+	}
+
+	public void linkExited() {
+	}
+
+	public void linkActivated() {
+		IFile source = JavaTypeFileIndex.getDefault().getFile(fTypeName);
+		if (source != null) {
+			new FileLink(source, null, -1, -1, fLineNumber).linkActivated();
+			return;
+		}
+		try {
+			IType type = findType();
+			if (type == null) {
+				MessageDialog.openInformation(GradlePlugin.getStandardDisplay().getActiveShell(), 
+						GradleConsoleMessages.JavaTypeLink_Title, NLS.bind(GradleConsoleMessages.JavaTypeLink_Not_found, fTypeName));
+				return;
+			}
+			IEditorPart editor = JavaUI.openInEditor(type);
+			if (fLineNumber > 0 && editor instanceof ITextEditor) {
+				ITextEditor textEditor = (ITextEditor) editor;
+				IDocument document = textEditor.getDocumentProvider().getDocument(textEditor.getEditorInput());
+				IRegion line = document.getLineInformation(fLineNumber - 1);
+				textEditor.selectAndReveal(line.getOffset(), line.getLength());
+			}
+		} catch (CoreException e) {
+			GradlePlugin.log(e);
+		} catch (BadLocationException e) {
+			// the source has changed since the output was written, the type is shown anyway
+		}
+	}
+
+	private IType findType() throws CoreException {
+		IJavaProject[] projects = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+		for (IJavaProject project : projects) {
+			IType type = project.findType(fTypeName);
+			if (type != null) {
+				return type;
+			}
+		}
+		return null;
+	}
+}
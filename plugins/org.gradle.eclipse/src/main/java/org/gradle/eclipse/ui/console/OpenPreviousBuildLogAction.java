@@ -0,0 +1,166 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.InputDialog;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.window.Window;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.console.ConsolePlugin;
+import org.eclipse.ui.console.IConsole;
+import org.eclipse.ui.console.MessageConsole;
+import org.eclipse.ui.console.MessageConsoleStream;
+import org.eclipse.ui.dialogs.ElementListSelectionDialog;
+import org.gradle.eclipse.GradlePlugin;
+import org.gradle.eclipse.launchConfigurations.BuildLogArchiveReader;
+import org.gradle.eclipse.launchConfigurations.BuildLogArchives;
+import org.gradle.eclipse.launchConfigurations.GradleProcess;
+
+/**
+ * Opens the archived log of an earlier build of the launch configuration in a new console, 
+ * starting shortly before its first error or the first line containing a search term. 
+ * Only the archive blocks up to the shown lines are inflated.
+ */
+public class OpenPreviousBuildLogAction extends Action {
+
+	/**
+	 * lines shown before the error or search result
+	 */
+	private static final int LINES_BEFORE = 20;
+
+	/**
+	 * lines shown in total
+	 */
+	private static final int LINES_SHOWN = 500;
+
+	private final GradleProcess process;
+	private final Shell shell;
+
+	public OpenPreviousBuildLogAction(GradleProcess process, Shell shell) {
+		super(GradleConsoleMessages.OpenPreviousBuildLogAction_Text);
+		this.process = process;
+		this.shell = shell;
+		setToolTipText(GradleConsoleMessages.OpenPreviousBuildLogAction_Tooltip);
+		setImageDescriptor(PlatformUI.getWorkbench().getSharedImages().getImageDescriptor(ISharedImages.IMG_OBJ_FILE));
+	}
+
+	@Override
+	public void run() {
+		ILaunchConfiguration configuration = process.getLaunch().getLaunchConfiguration();
+		if (configuration == null) {
+			return;
+		}
+		final String configurationName = configuration.getName();
+		List<File> archives = new ArrayList<File>();
+		for (File archive : BuildLogArchives.getArchives(configurationName)) {
+			if (!archive.equals(process.getArchiveFile())) {
+				archives.add(archive);
+			}
+		}
+		if (archives.isEmpty()) {
+			MessageDialog.openInformation(shell, GradleConsoleMessages.OpenPreviousBuildLogAction_Select_title, 
+					NLS.bind(GradleConsoleMessages.OpenPreviousBuildLogAction_No_archive, configurationName));
+			return;
+		}
+		ElementListSelectionDialog dialog = new ElementListSelectionDialog(shell, new LabelProvider() {
+			@Override
+			public String getText(Object element) {
+				return formatTimestamp((File) element);
+			}
+		});
+		dialog.setTitle(GradleConsoleMessages.OpenPreviousBuildLogAction_Select_title);
+		dialog.setMessage(GradleConsoleMessages.OpenPreviousBuildLogAction_Select_message);
+		dialog.setMultipleSelection(false);
+		dialog.setElements(archives.toArray());
+		dialog.setInitialSelections(new Object[] { archives.get(0) });
+		if (dialog.open() != Window.OK || dialog.getFirstResult() == null) {
+			return;
+		}
+		final File archive = (File) dialog.getFirstResult();
+		InputDialog searchDialog = new InputDialog(shell, GradleConsoleMessages.OpenPreviousBuildLogAction_Search_title, 
+				GradleConsoleMessages.OpenPreviousBuildLogAction_Search_message, "", null); //$NON-NLS-1$
+		if (searchDialog.open() != Window.OK) {
+			return;
+		}
+		final String searchTerm = searchDialog.getValue();
+		Job job = new Job(GradleConsoleMessages.OpenPreviousBuildLogAction_Reading) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					showLog(configurationName, archive, searchTerm);
+				} catch (IOException e) {
+					return new Status(IStatus.ERROR, GradlePlugin.PLUGIN_ID, e.getMessage(), e);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.schedule();
+	}
+
+	private void showLog(String configurationName, File archive, String searchTerm) throws IOException {
+		BuildLogArchiveReader reader = new BuildLogArchiveReader(archive);
+		StringBuilder text = new StringBuilder();
+		long line;
+		if (searchTerm == null || searchTerm.length() == 0) {
+			line = reader.getFirstErrorLine();
+			if (line == -1) {
+				text.append(GradleConsoleMessages.OpenPreviousBuildLogAction_No_error);
+			}
+		} else {
+			line = reader.find(searchTerm, 0);
+			if (line == -1) {
+				text.append(NLS.bind(GradleConsoleMessages.OpenPreviousBuildLogAction_Not_found, searchTerm));
+			}
+		}
+		long firstLine = Math.max(0, line - LINES_BEFORE);
+		long lastLine = Math.min(reader.getLineCount(), firstLine + LINES_SHOWN);
+		text.append(NLS.bind(GradleConsoleMessages.OpenPreviousBuildLogAction_Showing_lines, 
+				new Object[] { String.valueOf(firstLine + 1), String.valueOf(lastLine), String.valueOf(reader.getLineCount()) }));
+		text.append(reader.readLines(firstLine, LINES_SHOWN));
+
+		MessageConsole console = new MessageConsole(NLS.bind(GradleConsoleMessages.OpenPreviousBuildLogAction_Console_name, 
+				configurationName, formatTimestamp(archive)), null);
+		ConsolePlugin.getDefault().getConsoleManager().addConsoles(new IConsole[] { console });
+		MessageConsoleStream stream = console.newMessageStream();
+		try {
+			stream.print(text.toString());
+		} finally {
+			stream.close();
+		}
+		ConsolePlugin.getDefault().getConsoleManager().showConsoleView(console);
+	}
+
+	private static String formatTimestamp(File archive) {
+		return DateFormat.getDateTimeInstance().format(new Date(BuildLogArchives.getTimestamp(archive)));
+	}
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import org.eclipse.jface.text.AbstractDocument;
+
+/**
+ * The document of a {@link GradleConsole}, its text lives in a {@link PagedTextStore} 
+ * so only a few pages of a large build output occupy the heap.
+ */
+public class PagedConsoleDocument extends AbstractDocument {
+
+	private final PagedTextStore fStore;
+
+	public PagedConsoleDocument() {
+		this(new PagedTextStore());
+	}
+
+	PagedConsoleDocument(PagedTextStore store) {
+		fStore = store;
+		setTextStore(store);
+		setLineTracker(new PagedLineTracker(store));
+		completeInitialization();
+	}
+
+	/**
+	 * Deletes the pages of this document written to disk.
+	 */
+	public void dispose() {
+		fStore.dispose();
+	}
+}
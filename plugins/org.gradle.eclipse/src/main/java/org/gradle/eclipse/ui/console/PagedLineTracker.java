@@ -0,0 +1,280 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+/**
+ * A line tracker for documents backed by a {@link PagedTextStore}. Instead of one entry per 
+ * line it keeps the number of lines started before each page and locates line starts by 
+ * scanning single pages, whose line starts are cached for a few pages. Lines are delimited by 
+ * <code>\n</code> and <code>\r\n</code>. Like the store, the tracker is cheap for appended 
+ * text and rescans the store page by page on any other change.
+ */
+public class PagedLineTracker implements ILineTracker {
+
+	private static final String[] DELIMITERS = { "\n", "\r\n" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final int CACHED_PAGES = 8;
+
+	private final PagedTextStore fStore;
+	private final int fPageSize;
+
+	/**
+	 * number of line delimiters before the start of each page
+	 */
+	private int[] fLinesBeforePage = new int[16];
+	private int fPageCount = 1;
+	private int fDelimiterCount = 0;
+	private int fLength = 0;
+
+	/**
+	 * offsets of the line delimiters within recently scanned complete pages
+	 */
+	@SuppressWarnings("serial")
+	private final LinkedHashMap<Integer, int[]> fDelimiterOffsets = new LinkedHashMap<Integer, int[]>(CACHED_PAGES * 2, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest) {
+			return size() > CACHED_PAGES;
+		}
+	};
+
+	/**
+	 * @param store the store of the tracked document, changed before the tracker
+	 */
+	public PagedLineTracker(PagedTextStore store) {
+		fStore = store;
+		fPageSize = store.getPageSize();
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#getLegalLineDelimiters()
+	 */
+	public String[] getLegalLineDelimiters() {
+		return DELIMITERS.clone();
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#getLineDelimiter(int)
+	 */
+	public synchronized String getLineDelimiter(int line) throws BadLocationException {
+		checkLine(line);
+		if (line == fDelimiterCount) {
+			return null;
+		}
+		int delimiter = getDelimiterOffset(line);
+		if (delimiter > 0 && fStore.get(delimiter - 1) == '\r') {
+			return DELIMITERS[1];
+		}
+		return DELIMITERS[0];
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#computeNumberOfLines(java.lang.String)
+	 */
+	public int computeNumberOfLines(String text) {
+		int count = 0;
+		for (int i = text.indexOf('\n'); i != -1; i = text.indexOf('\n', i + 1)) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#getNumberOfLines()
+	 */
+	public synchronized int getNumberOfLines() {
+		return fDelimiterCount + 1;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#getNumberOfLines(int, int)
+	 */
+	public synchronized int getNumberOfLines(int offset, int length) throws BadLocationException {
+		if (length == 0) {
+			checkOffset(offset);
+			return 1;
+		}
+		return getLineNumberOfOffset(offset + length) - getLineNumberOfOffset(offset) + 1;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#getLineOffset(int)
+	 */
+	public synchronized int getLineOffset(int line) throws BadLocationException {
+		checkLine(line);
+		if (line == 0) {
+			return 0;
+		}
+		return getDelimiterOffset(line - 1) + 1;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#getLineLength(int)
+	 */
+	public synchronized int getLineLength(int line) throws BadLocationException {
+		int offset = getLineOffset(line);
+		int end = line == fDelimiterCount ? fLength : getDelimiterOffset(line) + 1;
+		return end - offset;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#getLineNumberOfOffset(int)
+	 */
+	public synchronized int getLineNumberOfOffset(int offset) throws BadLocationException {
+		checkOffset(offset);
+		if (offset == fLength) {
+			return fDelimiterCount;
+		}
+		int page = offset / fPageSize;
+		int[] delimiters = getDelimiterOffsets(page);
+		int position = Arrays.binarySearch(delimiters, offset - page * fPageSize);
+		// a delimiter belongs to the line it ends
+		int before = position >= 0 ? position : -position - 1;
+		return fLinesBeforePage[page] + before;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#getLineInformationOfOffset(int)
+	 */
+	public synchronized IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+		return getLineInformation(getLineNumberOfOffset(offset));
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#getLineInformation(int)
+	 */
+	public synchronized IRegion getLineInformation(int line) throws BadLocationException {
+		int offset = getLineOffset(line);
+		int length = getLineLength(line);
+		String delimiter = getLineDelimiter(line);
+		if (delimiter != null) {
+			length -= delimiter.length();
+		}
+		return new Region(offset, length);
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#replace(int, int, java.lang.String)
+	 */
+	public synchronized void replace(int offset, int length, String text) throws BadLocationException {
+		if (offset == fLength && length == 0) {
+			append(text == null ? "" : text); //$NON-NLS-1$
+		} else if (offset == 0 && length == fLength) {
+			set(text);
+		} else {
+			checkOffset(offset);
+			checkOffset(offset + length);
+			// the store has been changed already, its pages are rescanned one at a time
+			reset();
+			int storeLength = fStore.getLength();
+			for (int start = 0; start < storeLength; start += fPageSize) {
+				append(fStore.get(start, Math.min(fPageSize, storeLength - start)));
+			}
+		}
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ILineTracker#set(java.lang.String)
+	 */
+	public synchronized void set(String text) {
+		reset();
+		append(text == null ? "" : text); //$NON-NLS-1$
+	}
+
+	private void reset() {
+		fPageCount = 1;
+		fDelimiterCount = 0;
+		fLength = 0;
+		fDelimiterOffsets.clear();
+	}
+
+	private void append(String text) {
+		fDelimiterOffsets.remove(Integer.valueOf(fPageCount - 1));
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '\n') {
+				fDelimiterCount++;
+			}
+			fLength++;
+			if (fLength % fPageSize == 0) {
+				startPage();
+			}
+		}
+	}
+
+	private void startPage() {
+		if (fPageCount == fLinesBeforePage.length) {
+			fLinesBeforePage = Arrays.copyOf(fLinesBeforePage, fPageCount * 2);
+		}
+		fLinesBeforePage[fPageCount++] = fDelimiterCount;
+	}
+
+	/**
+	 * @return the offset of the delimiter ending the given line
+	 */
+	private int getDelimiterOffset(int line) {
+		// the last page whose preceding pages hold at most the given number of delimiters
+		int low = 0;
+		int high = fPageCount - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (fLinesBeforePage[middle] <= line) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		int[] delimiters = getDelimiterOffsets(low);
+		return low * fPageSize + delimiters[line - fLinesBeforePage[low]];
+	}
+
+	private int[] getDelimiterOffsets(int page) {
+		int[] delimiters = fDelimiterOffsets.get(Integer.valueOf(page));
+		if (delimiters == null) {
+			int count = (page + 1 < fPageCount ? fLinesBeforePage[page + 1] : fDelimiterCount) - fLinesBeforePage[page];
+			delimiters = new int[count];
+			char[] chars = fStore.getPage(page);
+			int end = Math.min(fPageSize, fLength - page * fPageSize);
+			int index = 0;
+			for (int i = 0; i < end && index < count; i++) {
+				if (chars[i] == '\n') {
+					delimiters[index++] = i;
+				}
+			}
+			fDelimiterOffsets.put(Integer.valueOf(page), delimiters);
+		}
+		return delimiters;
+	}
+
+	private void checkLine(int line) throws BadLocationException {
+		if (line < 0 || line > fDelimiterCount) {
+			throw new BadLocationException();
+		}
+	}
+
+	private void checkOffset(int offset) throws BadLocationException {
+		if (offset < 0 || offset > fLength) {
+			throw new BadLocationException();
+		}
+	}
+}
@@ -0,0 +1,369 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jface.text.ITextStore;
+import org.gradle.eclipse.GradlePlugin;
+
+/**
+ * A text store for append-only documents which keeps only the page currently appended to and 
+ * a few recently read pages in memory. Complete pages are written to a temporary file as 
+ * UTF-16 characters, so the position of every page in the file follows from its number, and 
+ * are read back when the document is scrolled or searched. Appending is cheap, any other 
+ * change of the text rewrites the store from the changed page on, one page at a time. A page 
+ * which cannot be read back is replaced by a notice keeping its number of lines.
+ */
+public class PagedTextStore implements ITextStore {
+
+	/**
+	 * default number of characters per page
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 64 * 1024;
+
+	/**
+	 * default number of complete pages kept in memory
+	 */
+	public static final int DEFAULT_CACHED_PAGES = 16;
+
+	private final int fPageSize;
+	private final int fCachedPages;
+
+	/**
+	 * the page appended to, never written to the page file
+	 */
+	private char[] fTail;
+	private int fTailPage = 0;
+	private int fLength = 0;
+
+	/**
+	 * recently read complete pages in access order
+	 */
+	private final LinkedHashMap<Integer, char[]> fCache;
+
+	/**
+	 * number of <code>\n</code> characters of each complete page and of the tail
+	 */
+	private int[] fPageLines = new int[16];
+
+	/**
+	 * complete pages which could not be written to or read from the page file
+	 */
+	private final Map<Integer, char[]> fUnwrittenPages = new HashMap<Integer, char[]>();
+
+	private File fFile = null;
+	private RandomAccessFile fPageFile = null;
+	private boolean fPageFileFailed = false;
+
+	public PagedTextStore() {
+		this(DEFAULT_PAGE_SIZE, DEFAULT_CACHED_PAGES);
+	}
+
+	/**
+	 * @param pageSize number of characters per page
+	 * @param cachedPages number of complete pages kept in memory
+	 */
+	@SuppressWarnings("serial")
+	public PagedTextStore(int pageSize, int cachedPages) {
+		fPageSize = pageSize;
+		fCachedPages = cachedPages;
+		fTail = new char[pageSize];
+		fCache = new LinkedHashMap<Integer, char[]>(cachedPages * 2, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, char[]> eldest) {
+				return size() > fCachedPages;
+			}
+		};
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ITextStore#get(int)
+	 */
+	public synchronized char get(int offset) {
+		checkRange(offset, 1);
+		return getPage(offset / fPageSize)[offset % fPageSize];
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ITextStore#get(int, int)
+	 */
+	public synchronized String get(int offset, int length) {
+		checkRange(offset, length);
+		StringBuilder text = new StringBuilder(length);
+		int end = offset + length;
+		while (offset < end) {
+			int pageOffset = offset % fPageSize;
+			int count = Math.min(fPageSize - pageOffset, end - offset);
+			text.append(getPage(offset / fPageSize), pageOffset, count);
+			offset += count;
+		}
+		return text.toString();
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ITextStore#getLength()
+	 */
+	public synchronized int getLength() {
+		return fLength;
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ITextStore#replace(int, int, java.lang.String)
+	 */
+	public synchronized void replace(int offset, int length, String text) {
+		checkRange(offset, length);
+		if (offset == fLength && length == 0) {
+			append(text);
+		} else if (offset == 0 && length == fLength) {
+			set(text);
+		} else {
+			// move the text behind the change aside without holding it in memory as a whole
+			PagedTextStore rest = new PagedTextStore(fPageSize, 1);
+			try {
+				copy(this, offset + length, rest);
+				truncate(offset);
+				append(text);
+				copy(rest, 0, this);
+			} finally {
+				rest.dispose();
+			}
+		}
+	}
+
+	/**
+	 * @see org.eclipse.jface.text.ITextStore#set(java.lang.String)
+	 */
+	public synchronized void set(String text) {
+		clear();
+		append(text);
+	}
+
+	/**
+	 * Appends the given text to the end of this store.
+	 */
+	public synchronized void append(String text) {
+		int position = 0;
+		int length = text.length();
+		while (position < length) {
+			int tailLength = fLength - fTailPage * fPageSize;
+			int count = Math.min(fPageSize - tailLength, length - position);
+			text.getChars(position, position + count, fTail, tailLength);
+			fPageLines[fTailPage] += countLines(fTail, tailLength, tailLength + count);
+			position += count;
+			fLength += count;
+			if (tailLength + count == fPageSize) {
+				writePage(fTailPage, fTail);
+				fTailPage++;
+				fTail = new char[fPageSize];
+				if (fTailPage == fPageLines.length) {
+					fPageLines = Arrays.copyOf(fPageLines, fTailPage * 2);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the characters of the given page, valid up to the length of this store
+	 */
+	synchronized char[] getPage(int page) {
+		if (page == fTailPage) {
+			return fTail;
+		}
+		char[] chars = fCache.get(Integer.valueOf(page));
+		if (chars == null) {
+			chars = fUnwrittenPages.get(Integer.valueOf(page));
+		}
+		if (chars == null) {
+			chars = readPage(page);
+		}
+		return chars;
+	}
+
+	/**
+	 * @return the number of characters per page
+	 */
+	int getPageSize() {
+		return fPageSize;
+	}
+
+	/**
+	 * @return the number of complete pages currently held in memory
+	 */
+	synchronized int getCachedPageCount() {
+		return fCache.size() + fUnwrittenPages.size();
+	}
+
+	private void writePage(int page, char[] chars) {
+		fCache.put(Integer.valueOf(page), chars);
+		if (!fPageFileFailed) {
+			try {
+				ByteBuffer buffer = ByteBuffer.allocate(fPageSize * 2);
+				buffer.asCharBuffer().put(chars);
+				FileChannel channel = getPageFile().getChannel();
+				long position = (long) page * fPageSize * 2;
+				while (buffer.hasRemaining()) {
+					position += channel.write(buffer, position);
+				}
+				return;
+			} catch (IOException e) {
+				fPageFileFailed = true;
+				GradlePlugin.log("Unable to write console page file, keeping the console output in memory", e); //$NON-NLS-1$
+			}
+		}
+		fUnwrittenPages.put(Integer.valueOf(page), chars);
+	}
+
+	private char[] readPage(int page) {
+		char[] chars = new char[fPageSize];
+		try {
+			ByteBuffer buffer = ByteBuffer.allocate(fPageSize * 2);
+			FileChannel channel = getPageFile().getChannel();
+			long position = (long) page * fPageSize * 2;
+			while (buffer.hasRemaining()) {
+				int read = channel.read(buffer, position);
+				if (read == -1) {
+					break;
+				}
+				position += read;
+			}
+			buffer.flip();
+			CharBuffer charBuffer = buffer.asCharBuffer();
+			charBuffer.get(chars, 0, charBuffer.remaining());
+			fCache.put(Integer.valueOf(page), chars);
+		} catch (IOException e) {
+			if (!fPageFileFailed) {
+				fPageFileFailed = true;
+				GradlePlugin.log("Unable to read console page file, keeping further console output in memory", e); //$NON-NLS-1$
+			}
+			chars = createLostPage(page);
+			fUnwrittenPages.put(Integer.valueOf(page), chars);
+		}
+		return chars;
+	}
+
+	/**
+	 * @return a page telling that the given page is lost, with the same number of lines so the 
+	 * lines of the document stay in line with its {@link PagedLineTracker}
+	 */
+	private char[] createLostPage(int page) {
+		char[] chars = new char[fPageSize];
+		Arrays.fill(chars, ' ');
+		int lines = fPageLines[page];
+		String notice = GradleConsoleMessages.PagedTextStore_Lost_page;
+		notice.getChars(0, Math.min(notice.length(), fPageSize - lines), chars, 0);
+		Arrays.fill(chars, fPageSize - lines, fPageSize, '\n');
+		return chars;
+	}
+
+	private static int countLines(char[] chars, int start, int end) {
+		int count = 0;
+		for (int i = start; i < end; i++) {
+			if (chars[i] == '\n') {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Appends the text of the given store from the given offset on to the target, page by page.
+	 */
+	private static void copy(PagedTextStore source, int offset, PagedTextStore target) {
+		int length = source.getLength();
+		while (offset < length) {
+			int count = Math.min(source.fPageSize - offset % source.fPageSize, length - offset);
+			target.append(source.get(offset, count));
+			offset += count;
+		}
+	}
+
+	/**
+	 * Cuts this store to the given length, the pages behind it are dropped.
+	 */
+	private void truncate(int length) {
+		int page = length / fPageSize;
+		if (page != fTailPage) {
+			char[] tail = new char[fPageSize];
+			System.arraycopy(getPage(page), 0, tail, 0, length - page * fPageSize);
+			for (int dropped = page; dropped < fTailPage; dropped++) {
+				fCache.remove(Integer.valueOf(dropped));
+				fUnwrittenPages.remove(Integer.valueOf(dropped));
+			}
+			Arrays.fill(fPageLines, page + 1, fTailPage + 1, 0);
+			fTail = tail;
+			fTailPage = page;
+		}
+		fLength = length;
+		fPageLines[page] = countLines(fTail, 0, length - page * fPageSize);
+	}
+
+	private RandomAccessFile getPageFile() throws IOException {
+		if (fPageFile == null) {
+			fFile = File.createTempFile("gradleConsole", ".pages"); //$NON-NLS-1$ //$NON-NLS-2$
+			fFile.deleteOnExit();
+			fPageFile = new RandomAccessFile(fFile, "rw"); //$NON-NLS-1$
+		}
+		return fPageFile;
+	}
+
+	private void clear() {
+		fCache.clear();
+		fUnwrittenPages.clear();
+		fPageLines = new int[16];
+		fTail = new char[fPageSize];
+		fTailPage = 0;
+		fLength = 0;
+		if (fPageFile != null) {
+			try {
+				fPageFile.setLength(0);
+			} catch (IOException e) {
+				GradlePlugin.log(e);
+			}
+		}
+	}
+
+	private void checkRange(int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > fLength) {
+			throw new IndexOutOfBoundsException(offset + ", " + length + " of " + fLength); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Releases the pages in memory and deletes the page file.
+	 */
+	public synchronized void dispose() {
+		clear();
+		if (fPageFile != null) {
+			try {
+				fPageFile.close();
+			} catch (IOException e) {
+				GradlePlugin.log(e);
+			}
+			fPageFile = null;
+			fFile.delete();
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.console.IHyperlink;
+import org.gradle.eclipse.GradlePlugin;
+
+/**
+ * Opens a URL or a report of the local file system, e.g. a test report, in the external browser.
+ */
+public class ReportLink implements IHyperlink {
+
+	private static final String REPORT_INDEX = "index.html"; //$NON-NLS-1$
+
+	private final String fTarget;
+	private final boolean fUrl;
+
+	/**
+	 * @param target the URL or the path of the report
+	 * @param url <code>true</code> if the target is a URL
+	 */
+	public ReportLink(String target, boolean url) {
+		fTarget = target;
+		fUrl = url;
+	}
+
+	public void linkEntered() {
+	}
+
+	public void linkExited() {
+	}
+
+	public void linkActivated() {
+		try {
+			PlatformUI.getWorkbench().getBrowserSupport().getExternalBrowser().openURL(getURL());
+		} catch (PartInitException e) {
+			GradlePlugin.log(e);
+		} catch (MalformedURLException e) {
+			GradlePlugin.log(e);
+		}
+	}
+
+	private URL getURL() throws MalformedURLException {
+		if (fUrl) {
+			return new URL(fTarget);
+		}
+		File report = new File(fTarget);
+		File index = new File(report, REPORT_INDEX);
+		if (report.isDirectory() && index.isFile()) {
+			report = index;
+		}
+		return report.toURI().toURL();
+	}
+}
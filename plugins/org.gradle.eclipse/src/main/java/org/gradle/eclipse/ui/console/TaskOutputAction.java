@@ -0,0 +1,96 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.ui.console;
+
+import java.util.List;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextSelection;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.window.Window;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.console.TextConsolePage;
+import org.eclipse.ui.console.TextConsoleViewer;
+import org.eclipse.ui.dialogs.ElementListSelectionDialog;
+import org.gradle.eclipse.launchConfigurations.GradleProcess;
+import org.gradle.eclipse.launchConfigurations.TaskOutputIndex;
+
+/**
+ * Lets the user select a task of the {@link TaskOutputIndex} of a gradle process 
+ * and passes the console range of its output to the subclass.
+ */
+abstract class TaskOutputAction extends Action {
+
+	private final GradleProcess fProcess;
+	private final TextConsolePage fPage;
+
+	TaskOutputAction(String text, GradleProcess process, TextConsolePage page) {
+		super(text);
+		fProcess = process;
+		fPage = page;
+	}
+
+	@Override
+	public void run() {
+		TextConsoleViewer viewer = fPage.getViewer();
+		if (viewer == null || viewer.getDocument() == null) {
+			return;
+		}
+		ConsoleOutputOffsets offsets = fProcess.getOutputOffsets();
+		if (offsets == null) {
+			return;
+		}
+		TaskOutputIndex index = fProcess.getTaskOutputIndex();
+		List<TaskOutputIndex.Range> ranges = index.getRanges();
+		if (ranges.isEmpty()) {
+			MessageDialog.openInformation(viewer.getControl().getShell(), 
+					GradleConsoleMessages.TaskOutputAction_Select_title, GradleConsoleMessages.TaskOutputAction_No_tasks);
+			return;
+		}
+		ElementListSelectionDialog dialog = new ElementListSelectionDialog(viewer.getControl().getShell(), new LabelProvider() {
+			@Override
+			public String getText(Object element) {
+				TaskOutputIndex.Range range = (TaskOutputIndex.Range) element;
+				if (range.isFinished()) {
+					return range.getTask();
+				}
+				return NLS.bind(GradleConsoleMessages.TaskOutputAction_Running, range.getTask());
+			}
+		});
+		dialog.setTitle(GradleConsoleMessages.TaskOutputAction_Select_title);
+		dialog.setMessage(GradleConsoleMessages.TaskOutputAction_Select_message);
+		dialog.setMultipleSelection(false);
+		dialog.setAllowDuplicates(true);
+		dialog.setElements(ranges.toArray());
+		TaskOutputIndex.Range current = index.getRange(offsets.toOutputOffset(((ITextSelection) viewer.getSelection()).getOffset()));
+		dialog.setInitialSelections(new Object[] { current != null ? current : ranges.get(ranges.size() - 1) });
+		if (dialog.open() != Window.OK || dialog.getFirstResult() == null) {
+			return;
+		}
+		TaskOutputIndex.Range range = (TaskOutputIndex.Range) dialog.getFirstResult();
+		IRegion region = offsets.toDocumentRegion(range.getOffset(), range.getLength());
+		run(viewer, region.getOffset(), region.getLength());
+	}
+
+	/**
+	 * @param viewer the viewer of the console
+	 * @param offset the start of the output of the selected task in the console document
+	 * @param length the length of the output of the selected task
+	 */
+	protected abstract void run(TextConsoleViewer viewer, int offset, int length);
+}
@@ -22,7 +22,7 @@ import java.util.Map;
 import org.eclipse.jface.text.source.ISharedTextColors;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.RGB;
-import org.eclipse.swt.widgets.Display;
+import org.gradle.eclipse.GradlePlugin;
 
 /**
  * @author Rene Groeschke
@@ -37,27 +37,32 @@ public class ColorManager implements ISharedTextColors {
 	private ColorManager() {
 	}
 	
-	public static ColorManager getDefault() {
+	public static synchronized ColorManager getDefault() {
 		if (colorManager == null) {
 			colorManager= new ColorManager();
 		}
 		return colorManager;
 	}
 	
-	public Color getColor(RGB rgb) {
+	/**
+	 * Returns the color of the given RGB, allocated on the workbench display. 
+	 * May be called from any thread.
+	 */
+	public synchronized Color getColor(RGB rgb) {
 		Color color = colorTable.get(rgb);
 		if (color == null) {
-			color= new Color(Display.getCurrent(), rgb);
+			color= new Color(GradlePlugin.getStandardDisplay(), rgb);
 			colorTable.put(rgb, color);
 		}
 		return color;
 	}
 	
-	public void dispose() {
+	public synchronized void dispose() {
 		Iterator<Color> e= colorTable.values().iterator();
 		while (e.hasNext()) {
 			 e.next().dispose();
 		}
+		colorTable.clear();
 	}
 }
 
@@ -0,0 +1,248 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaModel;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.gradle.eclipse.GradlePlugin;
+
+/**
+ * Resolves the qualified names of java types, e.g. of stack trace frames, to the source files of 
+ * the workspace declaring them.
+ * 
+ * The compilation units of the source folders of a java project are listed when a name is first 
+ * resolved after the project has been opened or its classpath has changed. Their names are not 
+ * parsed, so only the primary type of each compilation unit is found. The names of all projects 
+ * are merged into one map, every resolution is a single hash lookup. Added and removed compilation 
+ * units update the index of their project and the merged map, any other structural change of a 
+ * project drops its index.
+ */
+public class JavaTypeFileIndex implements IElementChangedListener {
+
+	private static JavaTypeFileIndex defaultIndex = null;
+
+	private final IJavaModel model;
+
+	/**
+	 * the source files by qualified type name of every indexed project
+	 */
+	private final Map<IJavaProject, Map<String, IFile>> projectIndexes = new HashMap<IJavaProject, Map<String, IFile>>();
+
+	/**
+	 * the source files of all projects, <code>null</code> when a project index has been dropped
+	 */
+	private Map<String, IFile> types = null;
+
+	/**
+	 * @return the index of the workspace, registered for java element changes on first use
+	 */
+	public static synchronized JavaTypeFileIndex getDefault() {
+		if (defaultIndex == null) {
+			defaultIndex = new JavaTypeFileIndex(JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()));
+			JavaCore.addElementChangedListener(defaultIndex, ElementChangedEvent.POST_CHANGE);
+		}
+		return defaultIndex;
+	}
+
+	/**
+	 * Unregisters the default index, e.g. when the plugin is stopped.
+	 */
+	public static synchronized void shutdown() {
+		if (defaultIndex != null) {
+			JavaCore.removeElementChangedListener(defaultIndex);
+			defaultIndex = null;
+		}
+	}
+
+	JavaTypeFileIndex(IJavaModel model) {
+		this.model = model;
+	}
+
+	/**
+	 * @param typeName the qualified name of a top level type
+	 * @return the source file declaring the type, <code>null</code> if it is not the primary 
+	 * type of a compilation unit in a source folder of the workspace
+	 */
+	public synchronized IFile getFile(String typeName) {
+		if (types == null) {
+			types = mergeProjectIndexes();
+		}
+		return types.get(typeName);
+	}
+
+	private Map<String, IFile> mergeProjectIndexes() {
+		Map<String, IFile> merged = new HashMap<String, IFile>();
+		IJavaProject[] projects;
+		try {
+			projects = model.getJavaProjects();
+		} catch (JavaModelException e) {
+			GradlePlugin.log(e);
+			return merged;
+		}
+		for (IJavaProject project : projects) {
+			if (!project.getProject().isOpen()) {
+				continue;
+			}
+			Map<String, IFile> projectIndex = projectIndexes.get(project);
+			if (projectIndex == null) {
+				projectIndex = indexProject(project);
+				projectIndexes.put(project, projectIndex);
+			}
+			for (Map.Entry<String, IFile> entry : projectIndex.entrySet()) {
+				// the type of the first project wins, as in a search of all projects
+				if (!merged.containsKey(entry.getKey())) {
+					merged.put(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+		return merged;
+	}
+
+	private Map<String, IFile> indexProject(IJavaProject project) {
+		Map<String, IFile> projectIndex = new HashMap<String, IFile>();
+		try {
+			for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+				if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+					continue;
+				}
+				for (IJavaElement child : root.getChildren()) {
+					for (ICompilationUnit unit : ((IPackageFragment) child).getCompilationUnits()) {
+						add(projectIndex, unit);
+					}
+				}
+			}
+		} catch (JavaModelException e) {
+			GradlePlugin.log(e);
+		}
+		return projectIndex;
+	}
+
+	private static void add(Map<String, IFile> projectIndex, ICompilationUnit unit) {
+		if (unit.getResource() instanceof IFile) {
+			projectIndex.put(getTypeName(unit), (IFile) unit.getResource());
+		}
+	}
+
+	private static String getTypeName(ICompilationUnit unit) {
+		String typeName = JavaCore.removeJavaLikeExtension(unit.getElementName());
+		String packageName = unit.getParent().getElementName();
+		return packageName.length() == 0 ? typeName : packageName + '.' + typeName;
+	}
+
+	/**
+	 * @see org.eclipse.jdt.core.IElementChangedListener#elementChanged(org.eclipse.jdt.core.ElementChangedEvent)
+	 */
+	public synchronized void elementChanged(ElementChangedEvent event) {
+		if (types != null || !projectIndexes.isEmpty()) {
+			processDelta(event.getDelta());
+		}
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		int kind = delta.getKind();
+		int flags = delta.getFlags();
+		switch (element.getElementType()) {
+		case IJavaElement.JAVA_MODEL:
+			break;
+		case IJavaElement.JAVA_PROJECT:
+			if (!projectIndexes.containsKey(element.getJavaProject())) {
+				if (kind == IJavaElementDelta.ADDED || (flags & IJavaElementDelta.F_OPENED) != 0) {
+					// merged with the next resolution
+					types = null;
+				}
+				return;
+			}
+			if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED 
+					| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+				dropProject(element.getJavaProject());
+				return;
+			}
+			break;
+		case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+		case IJavaElement.PACKAGE_FRAGMENT:
+			if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_ADDED_TO_CLASSPATH 
+					| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+				dropProject(element.getJavaProject());
+				return;
+			}
+			break;
+		case IJavaElement.COMPILATION_UNIT:
+			Map<String, IFile> projectIndex = projectIndexes.get(element.getJavaProject());
+			if (projectIndex != null && kind != IJavaElementDelta.CHANGED) {
+				ICompilationUnit unit = (ICompilationUnit) element;
+				if (kind == IJavaElementDelta.ADDED) {
+					add(projectIndex, unit);
+				} else {
+					projectIndex.remove(getTypeName(unit));
+				}
+				if (types != null) {
+					updateType(getTypeName(unit));
+				}
+			}
+			// the types declared in a compilation unit do not change its name
+			return;
+		default:
+			return;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child);
+		}
+	}
+
+	/**
+	 * Resolves the given type name again in the indexed projects, in the order of the merged map.
+	 */
+	private void updateType(String typeName) {
+		IJavaProject[] projects;
+		try {
+			projects = model.getJavaProjects();
+		} catch (JavaModelException e) {
+			GradlePlugin.log(e);
+			types = null;
+			return;
+		}
+		for (IJavaProject project : projects) {
+			Map<String, IFile> projectIndex = projectIndexes.get(project);
+			IFile file = projectIndex == null ? null : projectIndex.get(typeName);
+			if (file != null) {
+				types.put(typeName, file);
+				return;
+			}
+		}
+		types.remove(typeName);
+	}
+
+	private void dropProject(IJavaProject project) {
+		if (projectIndexes.remove(project) != null) {
+			types = null;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps directory locations to values and finds the value of the innermost directory 
+ * containing a path. Locations are kept sorted, so a lookup needs a few 
+ * {@link TreeMap#floorEntry(Object)} calls instead of comparing the path with every location.
+ * 
+ * Locations and paths are compared as strings. Locations must use the same separator 
+ * as the paths looked up. This class is not thread safe.
+ * 
+ * @param <T> the type of the mapped values
+ */
+public class LocationPrefixIndex<T> {
+
+	private final TreeMap<String, T> locations = new TreeMap<String, T>();
+	private final char separator;
+
+	/**
+	 * @param separator the separator of the indexed locations, e.g. <code>'/'</code>
+	 */
+	public LocationPrefixIndex(char separator) {
+		this.separator = separator;
+	}
+
+	/**
+	 * Maps the given directory to the given value, replacing a previous value of the directory.
+	 */
+	public void put(String location, T value) {
+		locations.put(normalize(location), value);
+	}
+
+	/**
+	 * @return the value previously mapped to the directory, <code>null</code> if there was none
+	 */
+	public T remove(String location) {
+		return locations.remove(normalize(location));
+	}
+
+	public void clear() {
+		locations.clear();
+	}
+
+	public int size() {
+		return locations.size();
+	}
+
+	/**
+	 * @return the location of the innermost indexed directory containing the given path, 
+	 * with a trailing separator, <code>null</code> if no indexed directory contains the path
+	 */
+	public String findLocation(String path) {
+		String key = path.length() > 0 && path.charAt(path.length() - 1) == separator ? path : path + separator;
+		while (true) {
+			Map.Entry<String, T> entry = locations.floorEntry(key);
+			if (entry == null) {
+				return null;
+			}
+			String location = entry.getKey();
+			if (key.startsWith(location)) {
+				return location;
+			}
+			// a sibling sorts between the path and its parents, continue with the common parent
+			int common = commonDirectoryLength(key, location);
+			if (common == 0) {
+				return null;
+			}
+			key = key.substring(0, common);
+			if (locations.containsKey(key)) {
+				return key;
+			}
+		}
+	}
+
+	/**
+	 * @return the value of the innermost indexed directory containing the given path, 
+	 * <code>null</code> if no indexed directory contains the path
+	 */
+	public T find(String path) {
+		String location = findLocation(path);
+		return location == null ? null : locations.get(location);
+	}
+
+	/**
+	 * @return the length of the longest common prefix of both strings ending with a separator
+	 */
+	private int commonDirectoryLength(String first, String second) {
+		int length = Math.min(first.length(), second.length());
+		int common = 0;
+		for (int i = 0; i < length; i++) {
+			char c = first.charAt(i);
+			if (c != second.charAt(i)) {
+				break;
+			}
+			if (c == separator) {
+				common = i + 1;
+			}
+		}
+		return common;
+	}
+
+	private String normalize(String location) {
+		return location.length() > 0 && location.charAt(location.length() - 1) == separator ? location : location + separator;
+	}
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.eclipse.util;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Resolves file system locations to workspace files for console hyperlinks and problem markers.
+ * 
+ * The locations of all open projects are kept in a {@link LocationPrefixIndex}, which is updated
+ * when projects are opened, closed, created, moved or deleted. A location is resolved against 
+ * the innermost project containing it; locations outside of all projects, e.g. in linked folders,
+ * fall back to {@link IWorkspaceRoot#findFilesForLocationURI(java.net.URI)}. The last 
+ * {@value #CACHE_SIZE} results are cached, including locations without workspace file.
+ */
+public class WorkspaceFileResolver implements IResourceChangeListener {
+
+	/**
+	 * number of cached resolutions
+	 */
+	static final int CACHE_SIZE = 4096;
+
+	private static WorkspaceFileResolver defaultResolver = null;
+
+	private final IWorkspaceRoot root;
+	private final LocationPrefixIndex<IProject> projectIndex = new LocationPrefixIndex<IProject>('/');
+	@SuppressWarnings("serial")
+	private final Map<String, IFile> cache = new LinkedHashMap<String, IFile>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, IFile> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * @return the resolver of the workspace, registered for resource changes on first use
+	 */
+	public static synchronized WorkspaceFileResolver getDefault() {
+		if (defaultResolver == null) {
+			defaultResolver = new WorkspaceFileResolver(ResourcesPlugin.getWorkspace().getRoot());
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(defaultResolver, 
+					IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+		}
+		return defaultResolver;
+	}
+
+	/**
+	 * Unregisters the default resolver, e.g. when the plugin is stopped.
+	 */
+	public static synchronized void shutdown() {
+		if (defaultResolver != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(defaultResolver);
+			defaultResolver = null;
+		}
+	}
+
+	WorkspaceFileResolver(IWorkspaceRoot root) {
+		this.root = root;
+		rebuildIndex();
+	}
+
+	/**
+	 * @param location an absolute file system path
+	 * @return the workspace file at the given location, <code>null</code> if the location is not 
+	 * inside the workspace. The file does not necessarily exist.
+	 */
+	public IFile getFile(String location) {
+		String path = new Path(location).toString();
+		synchronized (this) {
+			if (cache.containsKey(path)) {
+				return cache.get(path);
+			}
+			IFile file = null;
+			String projectLocation = projectIndex.findLocation(path);
+			if (projectLocation != null) {
+				IProject project = projectIndex.find(path);
+				String relativePath = path.substring(projectLocation.length());
+				if (relativePath.length() > 0) {
+					file = project.getFile(new Path(relativePath));
+				}
+			}
+			if (file == null) {
+				IFile[] files = root.findFilesForLocationURI(new File(location).toURI());
+				file = files.length > 0 ? files[0] : null;
+			}
+			cache.put(path, file);
+			return file;
+		}
+	}
+
+	/**
+	 * @param location a file system path
+	 * @param baseDirectory the directory relative locations are resolved against, may be <code>null</code>
+	 */
+	public IFile getFile(String location, File baseDirectory) {
+		File file = new File(location);
+		if (!file.isAbsolute() && baseDirectory != null) {
+			file = new File(baseDirectory, location);
+		}
+		return getFile(file.getAbsolutePath());
+	}
+
+	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getType() == IResourceChangeEvent.POST_CHANGE) {
+			IResourceDelta delta = event.getDelta();
+			if (delta == null) {
+				return;
+			}
+			IResourceDelta[] projectDeltas = delta.getAffectedChildren(IResourceDelta.ADDED | IResourceDelta.REMOVED | IResourceDelta.CHANGED);
+			for (int i = 0; i < projectDeltas.length; i++) {
+				int kind = projectDeltas[i].getKind();
+				if (kind != IResourceDelta.CHANGED || (projectDeltas[i].getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) {
+					rebuildIndex();
+					return;
+				}
+			}
+		} else if (event.getResource() != null && event.getResource().getType() == IResource.PROJECT) {
+			// closing or deleting project
+			removeProject((IProject) event.getResource());
+		}
+	}
+
+	private synchronized void removeProject(IProject project) {
+		IPath location = project.getLocation();
+		if (location != null) {
+			projectIndex.remove(location.toString());
+		}
+		cache.clear();
+	}
+
+	private synchronized void rebuildIndex() {
+		projectIndex.clear();
+		IProject[] projects = root.getProjects();
+		for (int i = 0; i < projects.length; i++) {
+			IPath location = projects[i].getLocation();
+			if (projects[i].isOpen() && location != null) {
+				projectIndex.put(location.toString(), projects[i]);
+			}
+		}
+		cache.clear();
+	}
+}